@@ -0,0 +1,204 @@
+package com.tkb.delab.bench;
+
+import com.tkb.delab.alg.BinaryEstimator;
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.EdgeDensityEstimator;
+import com.tkb.delab.alg.IncrementalBinaryEstimator;
+import com.tkb.delab.alg.ParallelEstimator;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.SequentialEstimator;
+import com.tkb.delab.alg.TriangleIndexer;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of the edge density estimators over the triangles of a random
+ * graph with planted cliques, so the graph has a known truss structure. It
+ * measures the time of a single sweep and the total time until convergence
+ * or the iteration limit. The iterations needed to converge and the number of
+ * edges whose lambda value differs from the exact decomposition given by
+ * peeling are computed once per trial and printed at its end, as they don't
+ * depend on the measurement iterations. Running with a low limit, for instance
+ * <code>-p iterations=5,10,20</code>, shows the accuracy lost.
+ *
+ * @author Akis Papadopoulos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstimatorBenchmark {
+
+    // Name of the estimator, binary, sequential, incremental binary, parallel or peeling
+    @Param({"Binary", "Sequential"})
+    public String estimator;
+
+    // Maximum number of iterations of the iterative estimators
+    @Param({"1000"})
+    public int iterations;
+
+    // Number of vertices
+    @Param({"20000"})
+    public int vertices;
+
+    // Average degree of the random graph the cliques are planted into
+    @Param({"8"})
+    public int degree;
+
+    // Skew of the degrees, zero for a uniform graph
+    @Param({"0.5"})
+    public double skew;
+
+    // Sizes of the planted cliques, separated by comma
+    @Param({"10,20,40"})
+    public String cliques;
+
+    // Seed of the random graph
+    @Param({"1"})
+    public long seed;
+
+    // The index of the edges of the triangles
+    private EdgeIndex index;
+
+    // The estimator run until convergence or the iteration limit
+    private EdgeDensityEstimator full;
+
+    // The estimator run for a single sweep
+    private EdgeDensityEstimator single;
+
+    // Number of iterations needed to converge, up to the limit
+    private int needed;
+
+    // Number of edges not given their exact lambda value
+    private int mismatched;
+
+    /**
+     * A method generating the graph, indexing its triangles and checking the
+     * estimator against the exact decomposition.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        // Planting the cliques into the random graph
+        String[] tokens = cliques.split(",");
+
+        int[] sizes = new int[tokens.length];
+
+        for (int i = 0; i < tokens.length; i++) {
+            sizes[i] = Integer.parseInt(tokens[i].trim());
+        }
+
+        int[] ends = Graphs.plant(vertices, degree, skew, sizes, seed);
+
+        TriangleIndexer indexer = new TriangleIndexer();
+
+        new CompactForward().list(new CompressedGraph(ends), indexer);
+
+        index = indexer.getIndex();
+
+        full = create(estimator, iterations);
+        single = create(estimator, 1);
+
+        // Comparing the estimated lambda values with the exact ones
+        LambdaBounds exact = new PeelingEstimator().estimate(index);
+        LambdaBounds bounds = full.estimate(index);
+
+        mismatched = 0;
+
+        for (int e = 0; e < index.size(); e++) {
+            if (bounds.upper[e] != exact.upper[e]) {
+                mismatched++;
+            }
+        }
+
+        // Searching the lowest limit giving the same bounds as the given limit
+        int lo = 1;
+        int hi = iterations;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            LambdaBounds partial = create(estimator, mid).estimate(index);
+
+            if (Arrays.equals(partial.lower, bounds.lower) && Arrays.equals(partial.upper, bounds.upper)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+
+        needed = lo;
+    }
+
+    /**
+     * A method running the estimator until convergence or the iteration
+     * limit.
+     *
+     * @return the bounds, so they are not eliminated.
+     */
+    @Benchmark
+    public LambdaBounds converge() {
+        return full.estimate(index);
+    }
+
+    /**
+     * A method printing the convergence of the estimator once per trial.
+     */
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.println();
+        System.out.println("Convergence of " + estimator + " limited to " + iterations
+                + " iterations: iterations=" + needed + ", mismatched=" + mismatched);
+    }
+
+    /**
+     * A method running a single sweep of the estimator over all the
+     * triangles, including the initial support computation.
+     *
+     * @return the bounds, so they are not eliminated.
+     */
+    @Benchmark
+    public LambdaBounds sweep() {
+        return single.estimate(index);
+    }
+
+    /**
+     * A method creating an estimator by name.
+     *
+     * @param name the name of the estimator.
+     * @param iterations the maximum number of iterations.
+     * @return the estimator.
+     */
+    private static EdgeDensityEstimator create(String name, int iterations) {
+        if (name.equals("Sequential")) {
+            return new SequentialEstimator(iterations);
+        } else if (name.equals("Peeling")) {
+            return new PeelingEstimator();
+        } else if (name.equals("IncrementalBinary")) {
+            return new IncrementalBinaryEstimator(iterations);
+        } else if (name.equals("Parallel")) {
+            return new ParallelEstimator(iterations, Runtime.getRuntime().availableProcessors());
+        } else if (name.equals("Binary")) {
+            return new BinaryEstimator(iterations);
+        }
+
+        throw new IllegalArgumentException("Unknown estimator " + name);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tkb.delab.bench;
+
+import com.tkb.delab.alg.EdgeSink;
+import com.tkb.delab.alg.ErdosRenyiGenerator;
+import com.tkb.delab.alg.GraphGenerator;
+import com.tkb.delab.alg.PlantedGenerator;
+import com.tkb.delab.alg.PowerLawGenerator;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeKey;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.hash.THashSet;
+import gnu.trove.set.hash.TLongHashSet;
+
+/**
+ * A helper generating the random undirected graphs used by the benchmarks, the
+ * degrees following a power law of the given skew. A skew of zero gives a
+ * uniform random graph, while a skew between zero and one gives a power law
+ * graph of exponent <code>1 + 1 / skew</code>, so a skew close to one gives a
+ * few hubs. Cliques can be planted into a graph, giving it a known truss
+ * structure.
+ *
+ * @author Akis Papadopoulos
+ */
+public final class Graphs {
+
+    /**
+     * A method generating the endpoints of a random graph, two per edge, with
+     * no loops and no duplicate edges.
+     *
+     * @param n the number of vertices.
+     * @param degree the average degree.
+     * @param skew the skew of the degrees, from 0 up to 1 exclusive.
+     * @param seed the seed of the random generator.
+     * @return the edge endpoints.
+     */
+    public static int[] generate(int n, int degree, double skew, long seed) {
+        return collect(generator(n, degree, skew, seed));
+    }
+
+    /**
+     * A method generating the endpoints of a random graph with planted cliques
+     * of the given sizes, two per edge, with no loops and no duplicate edges.
+     *
+     * @param n the number of vertices.
+     * @param degree the average degree.
+     * @param skew the skew of the degrees, from 0 up to 1 exclusive.
+     * @param sizes the sizes of the cliques.
+     * @param seed the seed of the random generator.
+     * @return the edge endpoints.
+     */
+    public static int[] plant(int n, int degree, double skew, int[] sizes, long seed) {
+        return collect(new PlantedGenerator(generator(n, degree, skew, seed), sizes, seed));
+    }
+
+    /**
+     * A method creating the generator of a random graph of the given skew.
+     *
+     * @param n the number of vertices.
+     * @param degree the average degree.
+     * @param skew the skew of the degrees, from 0 up to 1 exclusive.
+     * @param seed the seed of the random generator.
+     * @return the graph generator.
+     */
+    private static GraphGenerator generator(int n, int degree, double skew, long seed) {
+        if (skew <= 0.0) {
+            return new ErdosRenyiGenerator(n, (double) degree / (n - 1), seed);
+        }
+
+        return new PowerLawGenerator(n, (long) n * degree / 2, 1.0 + 1.0 / skew, seed);
+    }
+
+    /**
+     * A method collecting the edges of a generator, dropping any loops and
+     * duplicate edges.
+     *
+     * @param generator the graph generator.
+     * @return the edge endpoints.
+     */
+    private static int[] collect(GraphGenerator generator) {
+        final TIntArrayList ends = new TIntArrayList();
+
+        final TLongHashSet keys = new TLongHashSet();
+
+        generator.generate(0, 1, new EdgeSink() {
+            @Override
+            public void edge(int v, int u) {
+                if (v != u && keys.add(EdgeKey.mix(EdgeKey.of(v, u)))) {
+                    ends.add(v);
+                    ends.add(u);
+                }
+            }
+        });
+
+        return ends.toArray();
+    }
+
+    /**
+     * A method collecting the endpoints of a graph into an edge set, each edge
+     * given by its lower vertex first as the undirected input is.
+     *
+     * @param ends the edge endpoints, two per edge.
+     * @return the edge set.
+     */
+    public static THashSet<Edge> edges(int[] ends) {
+        THashSet<Edge> edges = new THashSet<Edge>(ends.length / 2);
+
+        for (int k = 0; k < ends.length; k += 2) {
+            edges.add(new Edge(Math.min(ends[k], ends[k + 1]), Math.max(ends[k], ends[k + 1])));
+        }
+
+        return edges;
+    }
+}
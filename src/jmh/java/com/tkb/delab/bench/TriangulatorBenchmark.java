@@ -0,0 +1,142 @@
+package com.tkb.delab.bench;
+
+import com.tkb.delab.alg.TriangleSink;
+import com.tkb.delab.alg.Triangulator;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of the triangulators listing all the triangles of a random graph
+ * of the given size and skew, measuring the lists per second along with the
+ * triangles per second. Any triangulator within the algorithms package having
+ * a default constructor can be given by its class name, for instance by
+ * <code>-p triangulator=CompactForward</code>.
+ *
+ * @author Akis Papadopoulos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TriangulatorBenchmark {
+
+    // Class name of the triangulator
+    @Param({"Forward", "NodeIterator", "CompactForward", "ParallelForward"})
+    public String triangulator;
+
+    // Number of vertices
+    @Param({"10000"})
+    public int vertices;
+
+    // Average degree
+    @Param({"16"})
+    public int degree;
+
+    // Skew of the degrees, zero for a uniform graph
+    @Param({"0.0", "0.8"})
+    public double skew;
+
+    // Seed of the random graph
+    @Param({"1"})
+    public long seed;
+
+    // The triangulator under test
+    private Triangulator instance;
+
+    // The graph as an edge set
+    private THashSet<Edge> edges;
+
+    // The graph in compressed sparse row form
+    private CompressedGraph graph;
+
+    /**
+     * A method generating the graph and creating the triangulator.
+     *
+     * @throws Exception if the triangulator can't be created.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int[] ends = Graphs.generate(vertices, degree, skew, seed);
+
+        edges = Graphs.edges(ends);
+        graph = new CompressedGraph(ends);
+
+        instance = (Triangulator) Class.forName("com.tkb.delab.alg." + triangulator).newInstance();
+    }
+
+    /**
+     * A method listing the triangles of the compressed graph into a counting
+     * sink, as the local reducers do.
+     *
+     * @param counter the counter of the triangles listed.
+     */
+    @Benchmark
+    public void listGraph(Counter counter) {
+        instance.list(graph, counter);
+    }
+
+    /**
+     * A method listing the triangles of the edge set into a triangle set.
+     *
+     * @param counter the counter of the triangles listed.
+     * @return the triangles, so they are not eliminated.
+     */
+    @Benchmark
+    public THashSet<Triangle> listEdges(Counter counter) {
+        THashSet<Triangle> triangles = instance.list(edges);
+
+        counter.triangles += triangles.size();
+
+        return triangles;
+    }
+
+    /**
+     * A sink counting the triangles listed, reported by the benchmark as
+     * triangles per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counter implements TriangleSink {
+
+        // Number of triangles listed within the iteration
+        public long triangles;
+
+        /**
+         * A method resetting the counter before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            triangles = 0;
+        }
+
+        /**
+         * A method counting the next triangle.
+         *
+         * @param v the first vertex.
+         * @param u the second vertex.
+         * @param w the third vertex.
+         */
+        @Override
+        public void triangle(int v, int u, int w) {
+            triangles++;
+        }
+    }
+}
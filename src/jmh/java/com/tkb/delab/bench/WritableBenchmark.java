@@ -0,0 +1,289 @@
+package com.tkb.delab.bench;
+
+import com.tkb.delab.io.DecreasingIntComparator;
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.io.Quad;
+import com.tkb.delab.io.RankedVertex;
+import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
+import com.tkb.delab.io.TaggedVertex;
+import com.tkb.delab.io.Triple;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Writable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of the writables of the io package, writing a batch of records
+ * into a buffer and reading them back into a single reused record, as the
+ * shuffle of a job does. The support record is measured next to the sequence
+ * of six integers it replaces in the lambda estimation. The tagged and ranked
+ * vertices shuffled by the vertex compaction are measured along with their
+ * raw comparators, next to the raw decreasing comparator over serialized
+ * integers.
+ *
+ * @author Akis Papadopoulos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WritableBenchmark {
+
+    // Number of records written and read per invocation
+    private static final int BATCH = 1024;
+
+    // The buffer the records are written into
+    private final DataOutputBuffer out = new DataOutputBuffer();
+
+    // The buffer the records are read from
+    private final DataInputBuffer in = new DataInputBuffer();
+
+    // The records of each type
+    private Pair[] pairs;
+    private Triple[] triples;
+    private Quad[] quads;
+    private Sequence<IntWritable>[] sequences;
+    private SupportRecordWritable[] records;
+    private TaggedVertex[] tagged;
+    private RankedVertex[] ranked;
+
+    // Two serialized integers compared by the raw comparator
+    private byte[] a, b;
+
+    // Two serialized tagged vertices of the same id and different tags
+    private byte[] ta, tb;
+
+    // Two serialized ranked vertices of the same rank and different ids
+    private byte[] ra, rb;
+
+    // The raw decreasing comparator
+    private final DecreasingIntComparator comparator = new DecreasingIntComparator();
+
+    // The raw comparators of the tagged vertices, sorting and grouping
+    private final TaggedVertex.Comparator taggedComparator = new TaggedVertex.Comparator();
+    private final TaggedVertex.GroupingComparator groupingComparator = new TaggedVertex.GroupingComparator();
+
+    // The raw comparator of the ranked vertices
+    private final RankedVertex.Comparator rankedComparator = new RankedVertex.Comparator();
+
+    /**
+     * A method creating the records of each type.
+     *
+     * @throws IOException if the integers can't be serialized.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        pairs = new Pair[BATCH];
+        triples = new Triple[BATCH];
+        quads = new Quad[BATCH];
+
+        // Generic arrays can't be created, so the raw array is cast once
+        @SuppressWarnings("unchecked")
+        Sequence<IntWritable>[] batch = new Sequence[BATCH];
+
+        sequences = batch;
+        records = new SupportRecordWritable[BATCH];
+        tagged = new TaggedVertex[BATCH];
+        ranked = new RankedVertex[BATCH];
+
+        for (int i = 0; i < BATCH; i++) {
+            pairs[i] = new Pair(i, i + 1);
+            triples[i] = new Triple(i, i + 1, i + 2);
+            quads[i] = new Quad(i, i + 1, i + 2, i + 3);
+            sequences[i] = new Sequence<IntWritable>(new IntWritable(i), new IntWritable(i + 1),
+                    new IntWritable(i + 2), new IntWritable(i + 3), new IntWritable(i + 4), new IntWritable(i & 1));
+            records[i] = new SupportRecordWritable(i, i + 1, i + 2, i + 3, i + 4, i & 1);
+            tagged[i] = new TaggedVertex(5000000000L + i, i & 1);
+            ranked[i] = new RankedVertex(-(i & 31), 5000000000L + i);
+        }
+
+        a = serialize(new IntWritable(17));
+        b = serialize(new IntWritable(42));
+
+        ta = serialize(new TaggedVertex(5000000017L, 0));
+        tb = serialize(new TaggedVertex(5000000017L, 1));
+
+        ra = serialize(new RankedVertex(-3, 5000000017L));
+        rb = serialize(new RankedVertex(-3, 5000000042L));
+    }
+
+    /**
+     * A method writing and reading back a batch of pairs.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable pair() throws IOException {
+        return roundTrip(pairs, new Pair());
+    }
+
+    /**
+     * A method writing and reading back a batch of triples.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable triple() throws IOException {
+        return roundTrip(triples, new Triple());
+    }
+
+    /**
+     * A method writing and reading back a batch of quadruplets.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable quad() throws IOException {
+        return roundTrip(quads, new Quad());
+    }
+
+    /**
+     * A method writing and reading back a batch of sequences of six integers.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable sequence() throws IOException {
+        return roundTrip(sequences, new Sequence<IntWritable>());
+    }
+
+    /**
+     * A method writing and reading back a batch of support records.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable supportRecord() throws IOException {
+        return roundTrip(records, new SupportRecordWritable());
+    }
+
+    /**
+     * A method writing and reading back a batch of tagged vertices.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable taggedVertex() throws IOException {
+        return roundTrip(tagged, new TaggedVertex());
+    }
+
+    /**
+     * A method writing and reading back a batch of ranked vertices.
+     *
+     * @return the last record read.
+     * @throws IOException if the records can't be written or read.
+     */
+    @Benchmark
+    public Writable rankedVertex() throws IOException {
+        return roundTrip(ranked, new RankedVertex());
+    }
+
+    /**
+     * A method comparing two serialized integers in decreasing order.
+     *
+     * @return the result of the comparison.
+     */
+    @Benchmark
+    public int decreasingCompare() {
+        return comparator.compare(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * A method comparing two serialized tagged vertices by id and then by tag,
+     * as the sort of a join does.
+     *
+     * @return the result of the comparison.
+     */
+    @Benchmark
+    public int taggedCompare() {
+        return taggedComparator.compare(ta, 0, ta.length, tb, 0, tb.length);
+    }
+
+    /**
+     * A method comparing two serialized tagged vertices by id only, as the
+     * grouping of a join does.
+     *
+     * @return the result of the comparison.
+     */
+    @Benchmark
+    public int taggedGroupingCompare() {
+        return groupingComparator.compare(ta, 0, ta.length, tb, 0, tb.length);
+    }
+
+    /**
+     * A method comparing two serialized ranked vertices by rank and then by
+     * id, as the sort of the vertex indexing does.
+     *
+     * @return the result of the comparison.
+     */
+    @Benchmark
+    public int rankedCompare() {
+        return rankedComparator.compare(ra, 0, ra.length, rb, 0, rb.length);
+    }
+
+    /**
+     * A method writing a batch of records into the buffer and reading them
+     * back into a single record.
+     *
+     * @param batch the records to write.
+     * @param record the record to read into.
+     * @return the last record read, so it is not eliminated.
+     * @throws IOException if the records can't be written or read.
+     */
+    private Writable roundTrip(Writable[] batch, Writable record) throws IOException {
+        out.reset();
+
+        for (Writable w : batch) {
+            w.write(out);
+        }
+
+        in.reset(out.getData(), out.getLength());
+
+        for (int i = 0; i < batch.length; i++) {
+            record.readFields(in);
+        }
+
+        return record;
+    }
+
+    /**
+     * A method serializing a record into a byte array.
+     *
+     * @param record the record.
+     * @return the bytes of the record.
+     * @throws IOException if the record can't be written.
+     */
+    private static byte[] serialize(Writable record) throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer();
+
+        record.write(buffer);
+
+        byte[] bytes = new byte[buffer.getLength()];
+
+        System.arraycopy(buffer.getData(), 0, bytes, 0, bytes.length);
+
+        return bytes;
+    }
+}
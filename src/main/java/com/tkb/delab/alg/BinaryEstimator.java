@@ -2,11 +2,11 @@ package com.tkb.delab.alg;
 
 import com.tkb.delab.model.AugmentedRange;
 import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
 import com.tkb.delab.model.Triangle;
-import gnu.trove.iterator.hash.TObjectHashIterator;
 import gnu.trove.map.hash.THashMap;
 import gnu.trove.set.hash.THashSet;
-import java.util.Map.Entry;
 
 /**
  * An edge neighborhood density estimator based on triangulation using a
@@ -46,33 +46,33 @@ public class BinaryEstimator implements EdgeDensityEstimator {
      */
     @Override
     public THashMap<Edge, AugmentedRange> estimate(THashSet<Triangle> triangles) {
-        THashMap<Edge, AugmentedRange> edges = new THashMap<Edge, AugmentedRange>();
+        EdgeIndex index = new EdgeIndex(triangles);
 
-        // Scoring each edge with the number of triangles belongs to
-        for (Triangle t : triangles) {
-            Edge e1 = new Edge(t.v, t.u);
+        return index.toMap(estimate(index));
+    }
 
-            if (edges.contains(e1)) {
-                edges.get(e1).upper += 1;
-            } else {
-                edges.put(e1, new AugmentedRange(1, 1, 0));
-            }
+    /**
+     * A method scoring each edge of an edge index with a neighborhood density
+     * value, keeping the bounds and the support values in arrays by edge id.
+     *
+     * @param index the index of the edges of the triangles within the graph.
+     * @return the lambda density bounds by edge id.
+     */
+    @Override
+    public LambdaBounds estimate(EdgeIndex index) {
+        LambdaBounds bounds = new LambdaBounds(index.size());
 
-            Edge e2 = new Edge(t.u, t.w);
+        int[] lower = bounds.lower;
+        int[] upper = bounds.upper;
 
-            if (edges.contains(e2)) {
-                edges.get(e2).upper += 1;
-            } else {
-                edges.put(e2, new AugmentedRange(1, 1, 0));
-            }
+        // Scoring each edge with the number of triangles belongs to
+        int[] support = index.support();
 
-            Edge e3 = new Edge(t.v, t.w);
+        for (int e = 0; e < index.size(); e++) {
+            lower[e] = 1;
+            upper[e] = support[e];
 
-            if (edges.contains(e3)) {
-                edges.get(e3).upper += 1;
-            } else {
-                edges.put(e3, new AugmentedRange(1, 1, 0));
-            }
+            support[e] = 0;
         }
 
         // Estimating density values in a 2-phase repetitive process
@@ -85,47 +85,36 @@ public class BinaryEstimator implements EdgeDensityEstimator {
             converged = true;
 
             // Iterating triangles re-calculating each edge support value
-            TObjectHashIterator<Triangle> tit = triangles.iterator();
-
-            while (tit.hasNext()) {
-                Triangle triangle = tit.next();
-
-                // Extracting the triangle's edges
-                Edge[] e = new Edge[3];
-                e[0] = new Edge(triangle.v, triangle.u);
-                e[1] = new Edge(triangle.u, triangle.w);
-                e[2] = new Edge(triangle.v, triangle.w);
-
-                for (int i = 0; i < e.length; i++) {
-                    // Getting next edge lambda bound range
-                    AugmentedRange range = edges.get(e[i]);
+            for (int t = 0; t < index.triangles(); t++) {
+                for (int i = 0; i < 3; i++) {
+                    // Getting the edge ids of the pivot and the incident edges
+                    int ei = index.edge(t, i);
+                    int e1 = index.edge(t, (i + 1) % 3);
+                    int e2 = index.edge(t, (i + 2) % 3);
 
                     // Getting the lambda medium of each incident edge
-                    int mi = range.medium();
-                    int m1 = edges.get(e[(i + 1) % 3]).medium();
-                    int m2 = edges.get(e[(i + 2) % 3]).medium();
+                    int mi = (lower[ei] + upper[ei] + 1) / 2;
+                    int m1 = (lower[e1] + upper[e1] + 1) / 2;
+                    int m2 = (lower[e2] + upper[e2] + 1) / 2;
 
                     // Increasing the support value of the pivot edge
                     if (mi <= Math.min(m1, m2)) {
-                        range.support += 1;
+                        support[ei] += 1;
                     }
                 }
             }
 
             // Iterating edges re-calculating the lambda bounds
-            for (Entry<Edge, AugmentedRange> entry : edges.entrySet()) {
-                // Getting the lambda bound range of the next edge
-                AugmentedRange range = entry.getValue();
-
+            for (int e = 0; e < index.size(); e++) {
                 // Checking if the edge converged to a valid lambda bound
-                if (range.lower < range.upper) {
+                if (lower[e] < upper[e]) {
                     // Updating the bounds of the lambda range
-                    int m = range.medium();
+                    int m = (lower[e] + upper[e] + 1) / 2;
 
-                    if (range.support < m) {
-                        range.upper = m - 1;
+                    if (support[e] < m) {
+                        upper[e] = m - 1;
                     } else {
-                        range.lower = m;
+                        lower[e] = m;
                     }
 
                     // Marking the process as not converged
@@ -133,12 +122,12 @@ public class BinaryEstimator implements EdgeDensityEstimator {
                 }
 
                 // Resetting the support of the edge
-                range.support = 0;
+                support[e] = 0;
             }
 
             it++;
         } while (!converged && it <= iterations - 1);
 
-        return edges;
+        return bounds;
     }
 }
@@ -0,0 +1,118 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import com.tkb.delab.util.SortedArrays;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * A triangulator implementing the compact forward algorithm listing all
+ * triangles within a given graph. Edges are oriented by the same degree rank
+ * used by the forward algorithm and the triangles are found by intersecting
+ * the sorted oriented neighborhoods of the two vertices of each edge.
+ *
+ * @author Akis Papadopoulos
+ */
+public class CompactForward implements Triangulator {
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the compact forward method.
+     *
+     * @param edges edge set graph induced by.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(THashSet<Edge> edges) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(edges, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the compact forward method.
+     *
+     * @param graph the compressed graph.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(CompressedGraph graph) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(graph, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the compact forward method, passing each triangle to the sink.
+     *
+     * @param edges edge set graph induced by.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(THashSet<Edge> edges, TriangleSink sink) {
+        if (edges == null || edges.size() <= 2) {
+            return;
+        }
+
+        list(new CompressedGraph(edges), sink);
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the compact forward method, passing each triangle to the
+     * sink.
+     *
+     * @param graph the compressed graph.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(CompressedGraph graph, TriangleSink sink) {
+        if (graph == null || graph.volume() <= 4) {
+            return;
+        }
+
+        // Orienting each edge towards the vertex ranked later
+        CompressedGraph o = graph.orient();
+
+        int[] a = new int[o.volume()];
+
+        for (int p = 0; p < a.length; p++) {
+            a[p] = o.neighbor(p);
+        }
+
+        // Creating the buffers of the intersection positions
+        int max = 0;
+
+        for (int u = 0; u < o.size(); u++) {
+            max = Math.max(max, o.degree(u));
+        }
+
+        int[] pu = new int[max];
+        int[] pv = new int[max];
+
+        // Iterating through the oriented edges (v, u) where v is ranked before u
+        for (int u = 0; u < o.size(); u++) {
+            int start = o.offset(u);
+            int end = start + o.degree(u);
+
+            for (int p = start; p < end; p++) {
+                int v = a[p];
+
+                // Intersecting the neighbors ranked before u with the neighbors ranked before v
+                int count = SortedArrays.intersect(a, start, end, a, o.offset(v), o.offset(v) + o.degree(v), pu, pv);
+
+                for (int k = 0; k < count; k++) {
+                    // Passing the triangle induced by the found vertices
+                    Forward.emit(sink, o.id(a[pu[k]]), o.id(v), o.id(u));
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.tkb.delab.alg;
 
 import com.tkb.delab.model.AugmentedRange;
 import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
 import com.tkb.delab.model.Triangle;
 import gnu.trove.map.hash.THashMap;
 import gnu.trove.set.hash.THashSet;
@@ -23,4 +25,13 @@ public interface EdgeDensityEstimator {
      * @return a map of lambda density values for each edge.
      */
     public THashMap<Edge, AugmentedRange> estimate(THashSet<Triangle> triangles);
+
+    /**
+     * A method scoring each edge of an edge index with a neighborhood density
+     * value, the triangles given by the ids of their edges.
+     *
+     * @param index the index of the edges of the triangles within the graph.
+     * @return the lambda density bounds by edge id.
+     */
+    public LambdaBounds estimate(EdgeIndex index);
 }
@@ -0,0 +1,18 @@
+package com.tkb.delab.alg;
+
+/**
+ * A callback interface receiving each edge as soon as it is generated, without
+ * materializing the edge as an object.
+ *
+ * @author Akis Papadopoulos
+ */
+public interface EdgeSink {
+
+    /**
+     * A method accepting the next edge generated.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     */
+    public void edge(int v, int u);
+}
@@ -0,0 +1,127 @@
+package com.tkb.delab.alg;
+
+import java.util.Random;
+
+/**
+ * A random graph generator implementing the G(n, p) model, each of the pairs
+ * of vertices joined by an edge independently with probability p. The pairs
+ * are visited in order skipping a geometrically distributed number of pairs
+ * between successive edges, so the cost is linear to the number of edges, and
+ * the pairs are split into chunks of equal size.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ErdosRenyiGenerator implements GraphGenerator {
+
+    // Number of vertices
+    private int n;
+
+    // Probability of each edge
+    private double p;
+
+    // Seed of the random streams
+    private long seed;
+
+    /**
+     * A constructor creating a generator given the number of vertices, the
+     * edge probability and the seed.
+     *
+     * @param n the number of vertices.
+     * @param p the probability of each edge.
+     * @param seed the seed of the random streams.
+     */
+    public ErdosRenyiGenerator(int n, double p, long seed) {
+        this.n = Math.max(0, n);
+        this.p = Math.max(0.0, Math.min(1.0, p));
+        this.seed = seed;
+    }
+
+    /**
+     * A method returning the number of vertices the ids are drawn from.
+     *
+     * @return the number of vertices.
+     */
+    @Override
+    public int vertices() {
+        return n;
+    }
+
+    /**
+     * A method generating the edges of a chunk of the pairs of vertices, the
+     * pairs <code>(w, v)</code> with <code>w &lt; v</code> ordered by v and
+     * then by w.
+     *
+     * @param chunk the index of the chunk, from 0 to chunks - 1.
+     * @param chunks the number of chunks the graph is split into.
+     * @param sink the sink receiving the edges.
+     */
+    @Override
+    public void generate(int chunk, int chunks, EdgeSink sink) {
+        if (p <= 0.0 || n < 2) {
+            return;
+        }
+
+        Random random = new Random(seed + 0x9E3779B97F4A7C15L * chunk);
+
+        // Getting the range of pair indices of the chunk
+        long pairs = (long) n * (n - 1) / 2;
+
+        long start = split(pairs, chunk, chunks);
+        long end = split(pairs, chunk + 1, chunks);
+
+        // Finding the row of the first pair
+        int v = (int) ((1.0 + Math.sqrt(1.0 + 8.0 * start)) / 2.0);
+
+        while (v > 1 && row(v) > start) {
+            v--;
+        }
+
+        while (v < n - 1 && row(v + 1) <= start) {
+            v++;
+        }
+
+        double logq = Math.log(1.0 - p);
+
+        long index = start - 1;
+
+        while (true) {
+            // Skipping the pairs left without an edge
+            long skip = p >= 1.0 ? 0L : (long) Math.floor(Math.log(1.0 - random.nextDouble()) / logq);
+
+            if (skip >= end - index - 1) {
+                break;
+            }
+
+            index += 1 + skip;
+
+            while (row(v + 1) <= index) {
+                v++;
+            }
+
+            sink.edge((int) (index - row(v)), v);
+        }
+    }
+
+    /**
+     * A method returning the index of the first pair of a row.
+     *
+     * @param v the row given by the greater vertex.
+     * @return the index of the pair <code>(0, v)</code>.
+     */
+    private static long row(int v) {
+        return (long) v * (v - 1) / 2;
+    }
+
+    /**
+     * A method returning the first index of a chunk of a range.
+     *
+     * @param total the length of the range.
+     * @param chunk the index of the chunk.
+     * @param chunks the number of chunks.
+     * @return the first index of the chunk.
+     */
+    static long split(long total, int chunk, int chunks) {
+        // Avoiding the overflow of the product on huge ranges
+        return (total / chunks) * chunk + (total % chunks) * chunk / chunks;
+    }
+}
@@ -1,5 +1,6 @@
 package com.tkb.delab.alg;
 
+import com.tkb.delab.model.CompressedGraph;
 import com.tkb.delab.model.Edge;
 import com.tkb.delab.model.Triangle;
 import gnu.trove.iterator.hash.TObjectHashIterator;
@@ -26,12 +27,41 @@ public class Forward implements Triangulator {
      */
     @Override
     public THashSet<Triangle> list(THashSet<Edge> edges) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(edges, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the forward method.
+     *
+     * @param graph the compressed graph.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(CompressedGraph graph) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(graph, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the forward method, passing each triangle to the sink.
+     *
+     * @param edges edge set graph induced by.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(THashSet<Edge> edges, TriangleSink sink) {
         if (edges == null || edges.size() <= 2) {
-            return new THashSet<Triangle>();
+            return;
         }
-        
-        // Creating an empty set of triangles
-        THashSet<Triangle> triangles = new THashSet<Triangle>();
 
         // Creating an empty vertex neighborhood map
         TIntObjectHashMap<TIntHashSet> n = new TIntObjectHashMap<TIntHashSet>();
@@ -179,14 +209,8 @@ public class Forward implements Triangulator {
                             for (int k = 0; k < w.length; k++) {
                                 // Checking if next beta neighbor contained within v's beta hood
                                 if (av.contains(w[k])) {
-                                    // Creating a new triangle induced by the found vertices
-                                    Triangle triangle = new Triangle(v, u, w[k]);
-
-                                    // Ordering vertices within the triangle
-                                    triangle.sort();
-
-                                    // Adding found triangle into the set
-                                    triangles.add(triangle);
+                                    // Passing the triangle induced by the found vertices
+                                    emit(sink, v, u, w[k]);
                                 }
                             }
                         }
@@ -206,7 +230,111 @@ public class Forward implements Triangulator {
                 }
             }
         }
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the forward method, where beta neighborhoods are kept as
+     * slices of a single array instead of per vertex hash sets.
+     *
+     * @param graph the compressed graph.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(CompressedGraph graph, TriangleSink sink) {
+        if (graph == null || graph.volume() <= 4) {
+            return;
+        }
+
+        int n = graph.size();
+
+        // Ranking the vertices by degree in descending order, ties by id
+        int[] order = graph.rank();
+
+        int[] rank = new int[n];
+
+        for (int r = 0; r < n; r++) {
+            rank[order[r]] = r;
+        }
+
+        // Creating the beta neighborhoods within the neighborhood slices
+        int[] a = new int[graph.volume()];
+
+        int[] size = new int[n];
+
+        // Marking the beta neighborhood of the current vertex
+        int[] mark = new int[n];
+
+        Arrays.fill(mark, -1);
+
+        // Iterating through the ranked vertex set
+        for (int r = 0; r < n; r++) {
+            // Getting r-th ranked vertex
+            int v = order[r];
+
+            int av = graph.offset(v);
+
+            for (int k = av; k < av + size[v]; k++) {
+                mark[a[k]] = v;
+            }
+
+            // Iterating through it's neighbors
+            int end = graph.offset(v) + graph.degree(v);
+
+            for (int p = graph.offset(v); p < end; p++) {
+                // Getting the next neighbor
+                int u = graph.neighbor(p);
+
+                // Checking if the neighbor is ranked after the vertex
+                if (rank[u] > r) {
+                    int au = graph.offset(u);
+
+                    // Iterating through the beta neighbors of u
+                    for (int k = au; k < au + size[u]; k++) {
+                        int w = a[k];
+
+                        // Checking if next beta neighbor contained within v's beta hood
+                        if (mark[w] == v) {
+                            // Passing the triangle induced by the found vertices
+                            emit(sink, graph.id(v), graph.id(u), graph.id(w));
+                        }
+                    }
+
+                    // Adding vertex v into the u's beta neighborhood
+                    a[au + size[u]++] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * A method passing a triangle to the sink with its vertices sorted by id
+     * in ascending order.
+     *
+     * @param sink the sink receiving the triangle.
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param w the third vertex.
+     */
+    static void emit(TriangleSink sink, int v, int u, int w) {
+        if (u < v) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+
+        if (w < u) {
+            int t = w;
+            w = u;
+            u = t;
+        }
+
+        if (u < v) {
+            int t = u;
+            u = v;
+            v = t;
+        }
 
-        return triangles;
+        sink.triangle(v, u, w);
     }
 }
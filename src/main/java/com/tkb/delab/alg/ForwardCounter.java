@@ -0,0 +1,112 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.TriangleSupport;
+import com.tkb.delab.util.SortedArrays;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * A triangle counter based on the compact forward algorithm. The positions of
+ * the matches found intersecting two oriented neighborhoods are the positions
+ * of the other two edges of each triangle, so the counts are accumulated into
+ * plain arrays without any triangle object or edge lookup.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ForwardCounter implements TriangleCounter {
+
+    /**
+     * A method counting the triangles within a graph represented by a given
+     * edge set using the compact forward method.
+     *
+     * @param edges edge set graph induced by.
+     * @return the per edge, per vertex and total triangle counts.
+     */
+    @Override
+    public TriangleSupport count(THashSet<Edge> edges) {
+        return count(new CompressedGraph(edges != null ? edges : new THashSet<Edge>()));
+    }
+
+    /**
+     * A method counting the triangles within a graph given in compressed sparse
+     * row form using the compact forward method.
+     *
+     * @param graph the compressed graph.
+     * @return the per edge, per vertex and total triangle counts.
+     */
+    @Override
+    public TriangleSupport count(CompressedGraph graph) {
+        // Orienting each edge towards the vertex ranked later
+        CompressedGraph o = graph.orient();
+
+        TriangleSupport support = new TriangleSupport(o);
+
+        if (o.volume() <= 2) {
+            return support;
+        }
+
+        int[] a = new int[o.volume()];
+
+        for (int p = 0; p < a.length; p++) {
+            a[p] = o.neighbor(p);
+        }
+
+        // Creating the buffers of the intersection positions
+        int max = 0;
+
+        for (int u = 0; u < o.size(); u++) {
+            max = Math.max(max, o.degree(u));
+        }
+
+        int[] pu = new int[max];
+        int[] pv = new int[max];
+
+        // Iterating through the oriented edges (v, u) where v is ranked before u
+        for (int u = 0; u < o.size(); u++) {
+            int start = o.offset(u);
+            int end = start + o.degree(u);
+
+            for (int p = start; p < end; p++) {
+                int v = a[p];
+
+                // Intersecting the neighbors ranked before u with the neighbors ranked before v
+                int count = SortedArrays.intersect(a, start, end, a, o.offset(v), o.offset(v) + o.degree(v), pu, pv);
+
+                for (int k = 0; k < count; k++) {
+                    int w = a[pu[k]];
+
+                    if (accept(o.id(w), o.id(v), o.id(u))) {
+                        // Counting the triangle on each of its edges
+                        support.edges[p]++;
+                        support.edges[pu[k]]++;
+                        support.edges[pv[k]]++;
+
+                        // Counting the triangle on each of its vertices
+                        support.vertices[u]++;
+                        support.vertices[v]++;
+                        support.vertices[w]++;
+
+                        support.total++;
+                    }
+                }
+            }
+        }
+
+        return support;
+    }
+
+    /**
+     * A method deciding if a found triangle should be counted, by default every
+     * triangle is counted. Subclasses may override it in order to count only a
+     * subset of the triangles, like the triangles owned by a partition.
+     *
+     * @param v the id of the first vertex.
+     * @param u the id of the second vertex.
+     * @param w the id of the third vertex.
+     * @return true if the triangle is counted, false otherwise.
+     */
+    protected boolean accept(int v, int u, int w) {
+        return true;
+    }
+}
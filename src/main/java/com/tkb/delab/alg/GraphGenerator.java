@@ -0,0 +1,30 @@
+package com.tkb.delab.alg;
+
+/**
+ * A random graph generator streaming the edges of a synthetic graph. The work
+ * is split into any number of chunks generated independently of each other,
+ * each by its own random stream derived from the seed, so the chunks can be
+ * generated by parallel tasks and the same seed and number of chunks always
+ * give the same graph. Be aware a generator may give loops or duplicate
+ * edges, which are removed by the edge undirection.
+ *
+ * @author Akis Papadopoulos
+ */
+public interface GraphGenerator {
+
+    /**
+     * A method returning the number of vertices the ids are drawn from.
+     *
+     * @return the number of vertices.
+     */
+    public int vertices();
+
+    /**
+     * A method generating the edges of a chunk of the graph.
+     *
+     * @param chunk the index of the chunk, from 0 to chunks - 1.
+     * @param chunks the number of chunks the graph is split into.
+     * @param sink the sink receiving the edges.
+     */
+    public void generate(int chunk, int chunks, EdgeSink sink);
+}
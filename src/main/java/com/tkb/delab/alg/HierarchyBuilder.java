@@ -0,0 +1,162 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.DisjointSet;
+import gnu.trove.iterator.TIntIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+
+/**
+ * A builder of the nested hierarchy of dense subgraphs, given the edges level
+ * by level in decreasing order of lambda. The dense subgraphs at a lambda
+ * level are the connected subgraphs induced by the edges of that or a higher
+ * lambda, so they are found joining the vertices of each edge within a single
+ * disjoint set forest kept across the levels. A subgraph is created at each
+ * level it grows, the subgraph it grows from becoming its child, which gives
+ * the full tree in one pass with no edge copied into any other level.
+ *
+ * @author Akis Papadopoulos
+ */
+public class HierarchyBuilder {
+
+    // Dense vertex index by vertex id
+    private final TIntIntHashMap index = new TIntIntHashMap(16, 0.5f, 0, -1);
+
+    // The disjoint set forest of the vertices
+    private final DisjointSet set = new DisjointSet(0);
+
+    // The current subgraph of each root
+    private final TIntIntHashMap nodes = new TIntIntHashMap(16, 0.5f, -1, -1);
+
+    // Lambda level of each subgraph
+    private final TIntArrayList levels = new TIntArrayList();
+
+    // Root of each subgraph at the level it is created
+    private final TIntArrayList roots = new TIntArrayList();
+
+    // The last level given
+    private int level = Integer.MAX_VALUE;
+
+    // The sink receiving the hierarchy
+    private final HierarchySink sink;
+
+    /**
+     * A constructor creating an empty hierarchy.
+     *
+     * @param sink the sink receiving the hierarchy.
+     */
+    public HierarchyBuilder(HierarchySink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * A method adding the edges of the next lower lambda level, passing each
+     * edge along with its subgraph and each subgraph grown at this level along
+     * with its new enclosing subgraph to the sink.
+     *
+     * @param lambda the lambda level.
+     * @param ends the edge endpoints, two per edge.
+     * @param length the number of endpoints given.
+     */
+    public void level(int lambda, int[] ends, int length) {
+        if (lambda >= level) {
+            throw new IllegalArgumentException("Lambda levels must be given in decreasing order");
+        }
+
+        level = lambda;
+
+        // Joining the vertices of each edge, collecting the grown subgraphs
+        TIntHashSet grown = new TIntHashSet();
+
+        for (int i = 0; i + 1 < length; i += 2) {
+            int iv = vertex(ends[i]);
+            int iu = vertex(ends[i + 1]);
+
+            int nv = nodes.get(set.find(iv));
+            int nu = nodes.get(set.find(iu));
+
+            if (nv >= 0) {
+                grown.add(nv);
+            }
+
+            if (nu >= 0) {
+                grown.add(nu);
+            }
+
+            set.union(iv, iu);
+        }
+
+        // Creating a subgraph for each root touched at this level
+        TIntIntHashMap created = new TIntIntHashMap(16, 0.5f, -1, -1);
+
+        for (int i = 0; i + 1 < length; i += 2) {
+            int root = set.find(index.get(ends[i]));
+
+            int node = created.get(root);
+
+            if (node < 0) {
+                node = levels.size();
+
+                levels.add(lambda);
+                roots.add(root);
+
+                created.put(root, node);
+            }
+
+            sink.edge(ends[i], ends[i + 1], lambda, node);
+        }
+
+        // Nesting each grown subgraph into the subgraph of its new root
+        int[] children = grown.toArray();
+
+        for (int i = 0; i < children.length; i++) {
+            int child = children[i];
+
+            nodes.remove(roots.get(child));
+
+            sink.node(child, levels.get(child), created.get(set.find(roots.get(child))));
+        }
+
+        TIntIntIterator it = created.iterator();
+
+        while (it.hasNext()) {
+            it.advance();
+
+            nodes.put(it.key(), it.value());
+        }
+    }
+
+    /**
+     * A method ending the hierarchy, passing each subgraph not nested into any
+     * other to the sink as a top one.
+     */
+    public void finish() {
+        TIntIntIterator it = nodes.iterator();
+
+        while (it.hasNext()) {
+            it.advance();
+
+            sink.node(it.value(), levels.get(it.value()), -1);
+        }
+
+        nodes.clear();
+    }
+
+    /**
+     * A method returning the dense index of a vertex, adding it if not seen.
+     *
+     * @param id the id of the vertex.
+     * @return the dense index of the vertex.
+     */
+    private int vertex(int id) {
+        int i = index.get(id);
+
+        if (i < 0) {
+            i = set.add();
+
+            index.put(id, i);
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tkb.delab.alg;
+
+/**
+ * A callback interface receiving the dense subgraph hierarchy as it is built,
+ * each edge attached to the subgraph it joins and each subgraph attached to
+ * the subgraph it is nested into.
+ *
+ * @author Akis Papadopoulos
+ */
+public interface HierarchySink {
+
+    /**
+     * A method accepting an edge along with the subgraph it joins at its own
+     * lambda level.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param lambda the lambda value of the edge.
+     * @param node the id of the subgraph.
+     */
+    public void edge(int v, int u, int lambda, int node);
+
+    /**
+     * A method accepting a subgraph along with the subgraph it is nested into
+     * at a lower lambda level.
+     *
+     * @param node the id of the subgraph.
+     * @param lambda the lambda level the subgraph is created at.
+     * @param parent the id of the enclosing subgraph, -1 if it is a top one.
+     */
+    public void node(int node, int lambda, int parent);
+}
@@ -0,0 +1,161 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * An edge neighborhood density estimator based on triangulation using a
+ * repetitive binary search mode, giving the same bounds as the binary
+ * estimator. The support of a converged edge is never used again, so instead
+ * of sweeping all the triangles each iteration it keeps a worklist of the
+ * edges not yet converged and re-examines only the triangles incident to
+ * them. An edge still in the worklist moves its medium on every update, so
+ * its support is always recomputed.
+ *
+ * @author Akis Papadopoulos
+ */
+public class IncrementalBinaryEstimator implements EdgeDensityEstimator {
+
+    // Maximum number of iterations
+    private int iterations;
+
+    /**
+     * A default constructor creating an incremental binary edge density
+     * estimator setting the default maximum number of iterations.
+     */
+    public IncrementalBinaryEstimator() {
+        this.iterations = 10;
+    }
+
+    /**
+     * A constructor creating an incremental binary edge density estimator
+     * given the number of maximum iterations.
+     *
+     * @param iterations the maximum numbers of iterations.
+     */
+    public IncrementalBinaryEstimator(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * A method scoring each edge with a neighborhood density value given the
+     * set of triangles of the graph.
+     *
+     * @param triangles the set of the triangles within the graph.
+     * @return a map of lambda density values for each edge.
+     */
+    @Override
+    public THashMap<Edge, AugmentedRange> estimate(THashSet<Triangle> triangles) {
+        EdgeIndex index = new EdgeIndex(triangles);
+
+        return index.toMap(estimate(index));
+    }
+
+    /**
+     * A method scoring each edge of an edge index with a neighborhood density
+     * value, re-examining each iteration only the triangles of the edges not
+     * yet converged.
+     *
+     * @param index the index of the edges of the triangles within the graph.
+     * @return the lambda density bounds by edge id.
+     */
+    @Override
+    public LambdaBounds estimate(EdgeIndex index) {
+        LambdaBounds bounds = new LambdaBounds(index.size());
+
+        int[] lower = bounds.lower;
+        int[] upper = bounds.upper;
+
+        // Scoring each edge with the number of triangles belongs to
+        int[] support = index.support();
+
+        // Collecting the edges not yet converged into the worklist
+        int[] worklist = new int[index.size()];
+
+        int size = 0;
+
+        for (int e = 0; e < index.size(); e++) {
+            lower[e] = 1;
+            upper[e] = support[e];
+
+            if (lower[e] < upper[e]) {
+                worklist[size++] = e;
+            }
+        }
+
+        // Estimating density values in a 2-phase repetitive process
+        boolean converged;
+
+        int it = 0;
+
+        do {
+            // Resetting the converge indicator
+            converged = true;
+
+            // Re-calculating the support value of each edge in the worklist
+            for (int i = 0; i < size; i++) {
+                int e = worklist[i];
+
+                int me = (lower[e] + upper[e] + 1) / 2;
+
+                int count = 0;
+
+                for (int p = index.offset(e); p < index.offset(e) + index.count(e); p++) {
+                    int t = index.triangle(p);
+
+                    // Getting the lambda medium of the other edges of the triangle
+                    int min = Integer.MAX_VALUE;
+
+                    for (int k = 0; k < 3; k++) {
+                        int ek = index.edge(t, k);
+
+                        if (ek != e) {
+                            min = Math.min(min, (lower[ek] + upper[ek] + 1) / 2);
+                        }
+                    }
+
+                    // Increasing the support value of the pivot edge
+                    if (me <= min) {
+                        count++;
+                    }
+                }
+
+                support[e] = count;
+            }
+
+            // Re-calculating the lambda bounds, keeping the unconverged edges
+            int next = 0;
+
+            for (int i = 0; i < size; i++) {
+                int e = worklist[i];
+
+                // Updating the bounds of the lambda range
+                int m = (lower[e] + upper[e] + 1) / 2;
+
+                if (support[e] < m) {
+                    upper[e] = m - 1;
+                } else {
+                    lower[e] = m;
+                }
+
+                // Marking the process as not converged
+                converged = false;
+
+                if (lower[e] < upper[e]) {
+                    worklist[next++] = e;
+                }
+            }
+
+            size = next;
+
+            it++;
+        } while (!converged && it <= iterations - 1);
+
+        return bounds;
+    }
+}
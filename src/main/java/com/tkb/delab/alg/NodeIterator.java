@@ -1,5 +1,6 @@
 package com.tkb.delab.alg;
 
+import com.tkb.delab.model.CompressedGraph;
 import com.tkb.delab.model.Edge;
 import com.tkb.delab.model.Triangle;
 import gnu.trove.iterator.hash.TObjectHashIterator;
@@ -26,9 +27,105 @@ public class NodeIterator implements Triangulator {
      */
     @Override
     public THashSet<Triangle> list(THashSet<Edge> edges) {
-        // Creating an empty set of triangles
-        THashSet<Triangle> triangles = new THashSet<Triangle>();
+        TriangleCollector collector = new TriangleCollector();
 
+        list(edges, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the node iteration plus method.
+     *
+     * @param graph the compressed graph.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(CompressedGraph graph) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(graph, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the node iteration plus method, passing each triangle to the
+     * sink.
+     *
+     * @param edges edge set graph induced by.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(THashSet<Edge> edges, TriangleSink sink) {
+        // Creating the vertex neighborhood map
+        TIntObjectHashMap<TIntHashSet> n = neighborhoods(edges);
+
+        // Getting the vertex set
+        int[] vertices = n.keys();
+
+        // Creating a single edge probing the edge set
+        Edge edge = new Edge(0, 0);
+
+        // Iterating through the vertex set
+        for (int i = 0; i < vertices.length; i++) {
+            // Getting the next vertex
+            int v = vertices[i];
+
+            // Getting the neighborhood of the vertex
+            int[] nv = n.get(v).toArray();
+
+            // Getting the degree of the vertex
+            int dv = nv.length;
+
+            // Iterating through all possible vertex neighbor pairs
+            for (int j = 0; j < nv.length; j++) {
+                // Getting the next neighbor
+                int u = nv[j];
+
+                // Getting the degree of the vertex
+                int du = n.get(u).size();
+
+                // Checking vertices by degree
+                if (du > dv || (du == dv && v < u)) {
+                    for (int k = 0; k < nv.length; k++) {
+                        // Getting the next neighbor
+                        int w = nv[k];
+
+                        // Getting the degree of the vertex
+                        int dw = n.get(w).size();
+
+                        // Checking vertices by degree
+                        if (dw > du || (dw == du && u < w)) {
+                            // Reusing the probe edge for the found vertex pair
+                            edge.v = u;
+                            edge.u = w;
+
+                            // Sorting edge vertices
+                            edge.sort();
+
+                            // Checking if the edge exist
+                            if (edges.contains(edge)) {
+                                // Passing the found triangle
+                                Forward.emit(sink, v, u, w);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A method mapping each vertex of a graph represented by a given edge set
+     * to the set of its neighbors.
+     *
+     * @param edges edge set graph induced by.
+     * @return the neighborhood of each vertex.
+     */
+    static TIntObjectHashMap<TIntHashSet> neighborhoods(THashSet<Edge> edges) {
         // Creating an empty vertex neighborhood map
         TIntObjectHashMap<TIntHashSet> n = new TIntObjectHashMap<TIntHashSet>();
 
@@ -77,62 +174,56 @@ public class NodeIterator implements Triangulator {
             }
         }
 
-        // Getting the vertex set
-        int[] vertices = n.keys();
-
-        // Iterating through the vertex set
-        for (int i = 0; i < vertices.length; i++) {
-            // Getting the next vertex
-            int v = vertices[i];
+        return n;
+    }
 
-            // Getting the neighborhood of the vertex
-            int[] nv = n.get(v).toArray();
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the node iteration plus method, where the closing edge of
+     * each wedge is looked up by binary search within the sorted neighborhood.
+     *
+     * @param graph the compressed graph.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(CompressedGraph graph, TriangleSink sink) {
+        if (graph == null) {
+            return;
+        }
 
+        // Iterating through the vertex set
+        for (int v = 0; v < graph.size(); v++) {
             // Getting the degree of the vertex
-            int dv = nv.length;
+            int dv = graph.degree(v);
+
+            int start = graph.offset(v);
+            int end = start + dv;
 
             // Iterating through all possible vertex neighbor pairs
-            for (int j = 0; j < nv.length; j++) {
+            for (int j = start; j < end; j++) {
                 // Getting the next neighbor
-                int u = nv[j];
+                int u = graph.neighbor(j);
 
                 // Getting the degree of the vertex
-                int du = n.get(u).size();
+                int du = graph.degree(u);
 
                 // Checking vertices by degree
                 if (du > dv || (du == dv && v < u)) {
-                    for (int k = 0; k < nv.length; k++) {
+                    for (int k = start; k < end; k++) {
                         // Getting the next neighbor
-                        int w = nv[k];
+                        int w = graph.neighbor(k);
 
                         // Getting the degree of the vertex
-                        int dw = n.get(w).size();
-
-                        // Checking vertices by degree
-                        if (dw > du || (dw == du && u < w)) {
-                            // Creating the edge iinduced by the found vertex pair
-                            Edge edge = new Edge(u, w);
-
-                            // Sorting edge vertices
-                            edge.sort();
+                        int dw = graph.degree(w);
 
-                            // Checking if the edge exist
-                            if (edges.contains(edge)) {
-                                // Creating the found triangle
-                                Triangle triangle = new Triangle(v, u, w);
-
-                                // Sorting the triangle
-                                triangle.sort();
-
-                                // Adding the triangle into the set
-                                triangles.add(triangle);
-                            }
+                        // Checking vertices by degree and if the edge exist
+                        if ((dw > du || (dw == du && u < w)) && graph.contains(u, w)) {
+                            // Passing the found triangle
+                            Forward.emit(sink, graph.id(v), graph.id(u), graph.id(w));
                         }
                     }
                 }
             }
         }
-
-        return triangles;
     }
 }
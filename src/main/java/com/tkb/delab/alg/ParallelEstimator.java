@@ -0,0 +1,292 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A multi-threaded edge neighborhood density estimator based on triangulation
+ * using a repetitive binary search mode, giving the same bounds as the binary
+ * estimator. Each thread sweeps its own range of triangles increasing the
+ * support values held in an atomic array, then after a barrier updates the
+ * bounds of its own range of edges and waits on a second barrier checking for
+ * convergence. The bounds are written only between these two barriers, so they
+ * are kept in plain arrays. An interrupted worker fails the whole estimation,
+ * so unconverged bounds are never returned.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ParallelEstimator implements EdgeDensityEstimator {
+
+    // Maximum number of iterations
+    private int iterations;
+
+    // Number of threads
+    private int threads;
+
+    /**
+     * A default constructor creating a parallel edge density estimator setting
+     * the default maximum number of iterations and using as many threads as the
+     * available processors.
+     */
+    public ParallelEstimator() {
+        this.iterations = 10;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * A constructor creating a parallel edge density estimator given the
+     * number of maximum iterations and the number of threads.
+     *
+     * @param iterations the maximum numbers of iterations.
+     * @param threads the number of threads.
+     */
+    public ParallelEstimator(int iterations, int threads) {
+        this.iterations = iterations;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * A method scoring each edge with a neighborhood density value given the
+     * set of triangles of the graph.
+     *
+     * @param triangles the set of the triangles within the graph.
+     * @return a map of lambda density values for each edge.
+     */
+    @Override
+    public THashMap<Edge, AugmentedRange> estimate(THashSet<Triangle> triangles) {
+        EdgeIndex index = new EdgeIndex(triangles);
+
+        return index.toMap(estimate(index));
+    }
+
+    /**
+     * A method scoring each edge of an edge index with a neighborhood density
+     * value, sweeping the triangles and updating the edges in parallel.
+     *
+     * @param index the index of the edges of the triangles within the graph.
+     * @return the lambda density bounds by edge id.
+     */
+    @Override
+    public LambdaBounds estimate(EdgeIndex index) {
+        final Sweep sweep = new Sweep(index);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(sweep.worker(i)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Estimation interrupted", exc);
+        } catch (ExecutionException exc) {
+            throw new IllegalStateException("Estimation failed", exc.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return sweep.bounds;
+    }
+
+    /**
+     * A shared estimation state over an edge index, holding the bounds, the
+     * support values and the phase barriers of the worker threads.
+     */
+    private class Sweep {
+
+        // The index of the edges of the triangles
+        private final EdgeIndex index;
+
+        // The lambda bounds by edge id
+        private final LambdaBounds bounds;
+
+        // The support values by edge id
+        private final AtomicIntegerArray support;
+
+        // The barrier ending the support phase of an iteration
+        private final CyclicBarrier swept;
+
+        // The barrier ending the update phase of an iteration
+        private final CyclicBarrier updated;
+
+        // Number of edges not converged in the current iteration, by thread
+        private final int[] open;
+
+        // Number of iterations done
+        private int it;
+
+        // Indicator the process is over, set by the barrier action
+        private boolean done;
+
+        /**
+         * A constructor scoring each edge with the number of triangles belongs
+         * to as the initial upper bound.
+         *
+         * @param index the index of the edges of the triangles.
+         */
+        Sweep(EdgeIndex index) {
+            this.index = index;
+
+            bounds = new LambdaBounds(index.size());
+
+            int[] count = index.support();
+
+            for (int e = 0; e < index.size(); e++) {
+                bounds.lower[e] = 1;
+                bounds.upper[e] = count[e];
+            }
+
+            support = new AtomicIntegerArray(index.size());
+
+            open = new int[threads];
+
+            swept = new CyclicBarrier(threads);
+
+            // Checking for convergence once all the threads updated their edges
+            updated = new CyclicBarrier(threads, new Runnable() {
+                @Override
+                public void run() {
+                    int unconverged = 0;
+
+                    for (int i = 0; i < open.length; i++) {
+                        unconverged += open[i];
+                    }
+
+                    it++;
+
+                    done = unconverged == 0 || it > iterations - 1;
+                }
+            });
+        }
+
+        /**
+         * A method creating the worker sweeping the given share of the
+         * triangles and the edges.
+         *
+         * @param id the index of the worker thread.
+         * @return the worker task.
+         */
+        Runnable worker(final int id) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        iterate(id);
+                    } catch (InterruptedException exc) {
+                        // Releasing the threads waiting on the barriers
+                        swept.reset();
+                        updated.reset();
+
+                        // Restoring the interrupt status of the worker thread
+                        Thread.currentThread().interrupt();
+
+                        // Failing the estimation instead of returning partial bounds
+                        throw new CancellationException("Estimation cancelled at iteration " + it);
+                    } catch (BrokenBarrierException exc) {
+                        throw new IllegalStateException(exc);
+                    } catch (RuntimeException exc) {
+                        // Releasing the threads waiting on the barriers
+                        swept.reset();
+                        updated.reset();
+
+                        throw exc;
+                    }
+                }
+            };
+        }
+
+        /**
+         * A method running the two phases of each iteration over the share of
+         * the given worker thread until the process is over.
+         *
+         * @param id the index of the worker thread.
+         * @throws InterruptedException if the thread is interrupted waiting.
+         * @throws BrokenBarrierException if another thread failed.
+         */
+        private void iterate(int id) throws InterruptedException, BrokenBarrierException {
+            int[] lower = bounds.lower;
+            int[] upper = bounds.upper;
+
+            int triangles = index.triangles();
+            int edges = index.size();
+
+            int fromT = (int) ((long) triangles * id / threads);
+            int toT = (int) ((long) triangles * (id + 1) / threads);
+
+            int fromE = (int) ((long) edges * id / threads);
+            int toE = (int) ((long) edges * (id + 1) / threads);
+
+            do {
+                // Iterating triangles re-calculating each edge support value
+                for (int t = fromT; t < toT; t++) {
+                    for (int i = 0; i < 3; i++) {
+                        // Getting the edge ids of the pivot and the incident edges
+                        int ei = index.edge(t, i);
+                        int e1 = index.edge(t, (i + 1) % 3);
+                        int e2 = index.edge(t, (i + 2) % 3);
+
+                        // Getting the lambda medium of each incident edge
+                        int mi = (lower[ei] + upper[ei] + 1) / 2;
+                        int m1 = (lower[e1] + upper[e1] + 1) / 2;
+                        int m2 = (lower[e2] + upper[e2] + 1) / 2;
+
+                        // Increasing the support value of the pivot edge
+                        if (mi <= Math.min(m1, m2)) {
+                            support.incrementAndGet(ei);
+                        }
+                    }
+                }
+
+                swept.await();
+
+                // Iterating edges re-calculating the lambda bounds
+                int unconverged = 0;
+
+                for (int e = fromE; e < toE; e++) {
+                    // Checking if the edge converged to a valid lambda bound
+                    if (lower[e] < upper[e]) {
+                        // Updating the bounds of the lambda range
+                        int m = (lower[e] + upper[e] + 1) / 2;
+
+                        if (support.get(e) < m) {
+                            upper[e] = m - 1;
+                        } else {
+                            lower[e] = m;
+                        }
+
+                        unconverged++;
+                    }
+
+                    // Resetting the support of the edge
+                    support.set(e, 0);
+                }
+
+                open[id] = unconverged;
+
+                updated.await();
+            } while (!done);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import com.tkb.delab.util.SortedArrays;
+import gnu.trove.set.hash.THashSet;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A triangulator implementing a multi-threaded compact forward algorithm,
+ * splitting the vertex set in index order into ranges of equal estimated work
+ * over a fork join pool. Each thread hands the triangles it finds over to the
+ * calling thread in chunks of bounded size through a bounded queue, so the
+ * sink receives the triangles while the listing goes on and no more than a
+ * few chunks per thread are held in memory at once.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ParallelForward implements Triangulator {
+
+    // Number of ranges per thread the work is split into
+    private static final int RANGES_PER_THREAD = 8;
+
+    // Number of triangles per chunk handed over to the calling thread
+    private static final int CHUNK_SIZE = 4096;
+
+    // Number of chunks per thread the queue may hold
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    // An empty chunk marking the end of the listing
+    private static final int[] END = new int[0];
+
+    // Number of threads
+    private int threads;
+
+    /**
+     * A default constructor creating a parallel triangulator using as many
+     * threads as the available processors.
+     */
+    public ParallelForward() {
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * A constructor creating a parallel triangulator given the number of
+     * threads.
+     *
+     * @param threads the number of threads.
+     */
+    public ParallelForward(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the parallel compact forward method.
+     *
+     * @param edges edge set graph induced by.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(THashSet<Edge> edges) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(edges, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the parallel compact forward method.
+     *
+     * @param graph the compressed graph.
+     * @return a set of all triangles within the graph.
+     */
+    @Override
+    public THashSet<Triangle> list(CompressedGraph graph) {
+        TriangleCollector collector = new TriangleCollector();
+
+        list(graph, collector);
+
+        return collector.getTriangles();
+    }
+
+    /**
+     * A method listing all triangles within a graph represented by a given edge
+     * set using the parallel compact forward method, passing each triangle to
+     * the sink from the calling thread.
+     *
+     * @param edges edge set graph induced by.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(THashSet<Edge> edges, TriangleSink sink) {
+        if (edges == null || edges.size() <= 2) {
+            return;
+        }
+
+        list(new CompressedGraph(edges), sink);
+    }
+
+    /**
+     * A method listing all triangles within a graph given in compressed sparse
+     * row form using the parallel compact forward method, passing each
+     * triangle to the sink from the calling thread as the chunks of the worker
+     * threads arrive.
+     *
+     * @param graph the compressed graph.
+     * @param sink the sink receiving the triangles.
+     */
+    @Override
+    public void list(CompressedGraph graph, TriangleSink sink) {
+        if (graph == null || graph.volume() <= 4) {
+            return;
+        }
+
+        final Listing listing = new Listing(graph.orient());
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            // Listing all the ranges, marking the end once all are done or failed
+            ForkJoinTask<Void> task = pool.submit(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    try {
+                        listing.range(0, listing.o.size()).invoke();
+                    } finally {
+                        listing.handOver(END);
+                    }
+                }
+            });
+
+            // Draining the chunks of vertex triplets into the sink as they arrive
+            int[] chunk;
+
+            while ((chunk = listing.chunks.take()) != END) {
+                for (int k = 0; k < chunk.length; k += 3) {
+                    Forward.emit(sink, chunk[k], chunk[k + 1], chunk[k + 2]);
+                }
+            }
+
+            // Rethrowing any failure of the worker threads
+            task.join();
+        } catch (InterruptedException exc) {
+            // Restoring the interrupt status of the calling thread
+            Thread.currentThread().interrupt();
+
+            throw new UncheckedIOException(new InterruptedIOException(exc.getMessage()));
+        } finally {
+            // Releasing any worker blocked on a full queue given the sink failed
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * A shared listing state over an oriented graph, holding the estimated work
+     * of each vertex and the queue of the chunks handed over.
+     */
+    private class Listing {
+
+        // The oriented graph, indexed as the given graph
+        private final CompressedGraph o;
+
+        // The oriented neighbors of all the vertices
+        private final int[] a;
+
+        // Cumulative estimated work up to each vertex
+        private final long[] work;
+
+        // Minimum estimated work of a range listed without splitting
+        private final long grain;
+
+        // The chunks of vertex triplets handed over to the calling thread
+        private final BlockingQueue<int[]> chunks = new ArrayBlockingQueue<int[]>(threads * CHUNKS_PER_THREAD);
+
+        /**
+         * A constructor estimating the work of each vertex as the total
+         * length of the neighborhoods it intersects.
+         *
+         * @param o the oriented graph.
+         */
+        Listing(CompressedGraph o) {
+            this.o = o;
+
+            a = new int[o.volume()];
+
+            for (int p = 0; p < a.length; p++) {
+                a[p] = o.neighbor(p);
+            }
+
+            work = new long[o.size() + 1];
+
+            for (int u = 0; u < o.size(); u++) {
+                long du = o.degree(u);
+                long cost = du * du + du;
+
+                for (int p = o.offset(u); p < o.offset(u) + du; p++) {
+                    cost += o.degree(a[p]);
+                }
+
+                work[u + 1] = work[u] + cost;
+            }
+
+            grain = Math.max(1L, work[o.size()] / ((long) threads * RANGES_PER_THREAD));
+        }
+
+        /**
+         * A method creating the task listing the triangles closed by the
+         * vertices within the given index range.
+         *
+         * @param from the first index, inclusive.
+         * @param to the last index, exclusive.
+         * @return the listing task.
+         */
+        RecursiveAction range(final int from, final int to) {
+            return new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    if (to - from <= 1 || work[to] - work[from] <= grain) {
+                        list(from, to);
+                    } else {
+                        // Splitting where half of the range work is reached
+                        int mid = split(from, to);
+
+                        invokeAll(range(from, mid), range(mid, to));
+                    }
+                }
+            };
+        }
+
+        /**
+         * A method finding the index splitting a range into two ranges of about
+         * equal estimated work.
+         *
+         * @param from the first index, inclusive.
+         * @param to the last index, exclusive.
+         * @return the splitting index, strictly within the range.
+         */
+        private int split(int from, int to) {
+            long half = work[from] + (work[to] - work[from]) / 2;
+
+            int lo = from + 1;
+            int hi = to - 1;
+
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+
+                if (work[mid] < half) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            return lo;
+        }
+
+        /**
+         * A method handing a chunk over to the calling thread, waiting while the
+         * queue is full.
+         *
+         * @param chunk the chunk of vertex triplets.
+         * @throws CancellationException if the thread is interrupted waiting.
+         */
+        private void handOver(int[] chunk) {
+            try {
+                chunks.put(chunk);
+            } catch (InterruptedException exc) {
+                // Restoring the interrupt status of the worker thread
+                Thread.currentThread().interrupt();
+
+                throw new CancellationException("Listing cancelled while handing over a chunk");
+            }
+        }
+
+        /**
+         * A method listing the triangles closed by the vertices within the given
+         * index range, handing them over in chunks to the calling thread.
+         *
+         * @param from the first index, inclusive.
+         * @param to the last index, exclusive.
+         */
+        private void list(int from, int to) {
+            int[] out = new int[3 * CHUNK_SIZE];
+            int n = 0;
+
+            int max = 0;
+
+            for (int u = from; u < to; u++) {
+                max = Math.max(max, o.degree(u));
+            }
+
+            int[] pu = new int[max];
+            int[] pv = new int[max];
+
+            // Iterating through the oriented edges (v, u) where v is ranked before u
+            for (int u = from; u < to; u++) {
+                int start = o.offset(u);
+                int end = start + o.degree(u);
+
+                for (int p = start; p < end; p++) {
+                    int v = a[p];
+
+                    int count = SortedArrays.intersect(a, start, end, a, o.offset(v), o.offset(v) + o.degree(v), pu, pv);
+
+                    for (int k = 0; k < count; k++) {
+                        // Handing the chunk over once full
+                        if (n == out.length) {
+                            handOver(out);
+
+                            out = new int[3 * CHUNK_SIZE];
+                            n = 0;
+                        }
+
+                        out[n++] = o.id(a[pu[k]]);
+                        out[n++] = o.id(v);
+                        out[n++] = o.id(u);
+                    }
+                }
+            }
+
+            // Handing over the triangles left in the last chunk
+            if (n > 0) {
+                handOver(Arrays.copyOf(out, n));
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * An edge neighborhood density estimator based on triangulation, peeling the
+ * edges in ascending order of support using a bucket queue. Each edge is
+ * removed once, its support at removal time is its exact lambda value and the
+ * support of the edges sharing a triangle with it is decreased, so the lambda
+ * values are found in one pass without any iteration limit.
+ *
+ * @author Akis Papadopoulos
+ */
+public class PeelingEstimator implements EdgeDensityEstimator {
+
+    /**
+     * A method scoring each edge with a neighborhood density value given the
+     * set of triangles of the graph.
+     *
+     * @param triangles the set of the triangles within the graph.
+     * @return a map of lambda density values for each edge.
+     */
+    @Override
+    public THashMap<Edge, AugmentedRange> estimate(THashSet<Triangle> triangles) {
+        EdgeIndex index = new EdgeIndex(triangles);
+
+        return index.toMap(estimate(index));
+    }
+
+    /**
+     * A method scoring each edge of an edge index with its exact lambda value,
+     * setting both lower and upper bounds to it.
+     *
+     * @param index the index of the edges of the triangles within the graph.
+     * @return the lambda density bounds by edge id.
+     */
+    @Override
+    public LambdaBounds estimate(EdgeIndex index) {
+        int m = index.size();
+
+        LambdaBounds bounds = new LambdaBounds(m);
+
+        // Scoring each edge with the number of triangles belongs to
+        int[] support = index.support();
+
+        int max = 0;
+
+        for (int e = 0; e < m; e++) {
+            max = Math.max(max, support[e]);
+        }
+
+        // Sorting the edges by support into consecutive buckets
+        int[] bucket = new int[max + 2];
+
+        for (int e = 0; e < m; e++) {
+            bucket[support[e] + 1]++;
+        }
+
+        for (int s = 0; s <= max; s++) {
+            bucket[s + 1] += bucket[s];
+        }
+
+        int[] order = new int[m];
+        int[] position = new int[m];
+
+        for (int e = 0; e < m; e++) {
+            position[e] = bucket[support[e]]++;
+            order[position[e]] = e;
+        }
+
+        // Restoring the start of each bucket
+        for (int s = max; s > 0; s--) {
+            bucket[s] = bucket[s - 1];
+        }
+
+        bucket[0] = 0;
+
+        boolean[] removed = new boolean[m];
+
+        // Removing the edges in ascending order of support
+        for (int i = 0; i < m; i++) {
+            int e = order[i];
+
+            int lambda = support[e];
+
+            bounds.lower[e] = lambda;
+            bounds.upper[e] = lambda;
+
+            // Iterating through the triangles the edge still participates
+            for (int p = index.offset(e); p < index.offset(e) + index.count(e); p++) {
+                int t = index.triangle(p);
+
+                int e1 = -1;
+                int e2 = -1;
+
+                for (int k = 0; k < 3; k++) {
+                    int ek = index.edge(t, k);
+
+                    if (ek != e) {
+                        if (e1 < 0) {
+                            e1 = ek;
+                        } else {
+                            e2 = ek;
+                        }
+                    }
+                }
+
+                if (removed[e1] || removed[e2]) {
+                    continue;
+                }
+
+                // Decreasing the support of the other edges of the triangle
+                decrease(e1, lambda, support, bucket, order, position);
+                decrease(e2, lambda, support, bucket, order, position);
+            }
+
+            removed[e] = true;
+        }
+
+        return bounds;
+    }
+
+    /**
+     * A method decreasing the support of an edge by one, moving it into the
+     * previous bucket, unless its support is already no more than the lambda
+     * value of the edge being removed.
+     *
+     * @param e the id of the edge.
+     * @param lambda the lambda value of the edge being removed.
+     * @param support the current support by edge id.
+     * @param bucket the start of each bucket within the order.
+     * @param order the edges in ascending order of support.
+     * @param position the position of each edge within the order.
+     */
+    private void decrease(int e, int lambda, int[] support, int[] bucket, int[] order, int[] position) {
+        int s = support[e];
+
+        if (s <= lambda) {
+            return;
+        }
+
+        // Swapping the edge with the first edge of its bucket
+        int first = order[bucket[s]];
+
+        int pe = position[e];
+        int pf = bucket[s];
+
+        order[pe] = first;
+        position[first] = pe;
+
+        order[pf] = e;
+        position[e] = pf;
+
+        // Moving the bucket start past the edge
+        bucket[s]++;
+
+        support[e] = s - 1;
+    }
+}
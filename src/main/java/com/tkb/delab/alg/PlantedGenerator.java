@@ -0,0 +1,157 @@
+package com.tkb.delab.alg;
+
+import java.util.Random;
+
+/**
+ * A random graph generator planting cliques of given sizes into the graph of
+ * another generator, each clique over its own set of vertices scattered
+ * across the id range. Every edge of a clique of size k lies within a k truss,
+ * so its lambda value is at least k - 2, exactly k - 2 unless the background
+ * adds further triangles around it, which makes the planted cliques an oracle
+ * for the density estimation. The edges of the cliques are dealt round robin
+ * among the chunks of the background.
+ *
+ * @author Akis Papadopoulos
+ */
+public class PlantedGenerator implements GraphGenerator {
+
+    // The generator of the background graph
+    private GraphGenerator background;
+
+    // Sizes of the cliques
+    private int[] sizes;
+
+    // First position of each clique within the scattered order of the vertices
+    private long[] firsts;
+
+    // Multiplier and shift scattering the positions over the vertices
+    private long step, shift;
+
+    /**
+     * A constructor creating a generator given the background generator, the
+     * sizes of the cliques and the seed.
+     *
+     * @param background the generator of the background graph.
+     * @param sizes the sizes of the cliques, each at least 2.
+     * @param seed the seed of the scattering of the cliques.
+     */
+    public PlantedGenerator(GraphGenerator background, int[] sizes, long seed) {
+        this.background = background;
+        this.sizes = sizes.clone();
+
+        int n = background.vertices();
+
+        // Placing the cliques one after the other
+        firsts = new long[sizes.length];
+
+        long first = 0;
+
+        for (int k = 0; k < sizes.length; k++) {
+            if (sizes[k] < 2) {
+                throw new IllegalArgumentException("Clique sizes should be at least 2, given " + sizes[k]);
+            }
+
+            firsts[k] = first;
+
+            first += sizes[k];
+        }
+
+        if (first > n) {
+            throw new IllegalArgumentException("Cliques of " + first + " vertices in total exceed the " + n + " vertices");
+        }
+
+        // Choosing a multiplier coprime to the number of vertices
+        Random random = new Random(seed);
+
+        step = 1;
+        shift = 0;
+
+        if (n > 1) {
+            do {
+                step = 1 + (long) (random.nextDouble() * (n - 1));
+            } while (gcd(step, n) != 1);
+
+            shift = (long) (random.nextDouble() * n);
+        }
+    }
+
+    /**
+     * A method returning the number of vertices the ids are drawn from.
+     *
+     * @return the number of vertices.
+     */
+    @Override
+    public int vertices() {
+        return background.vertices();
+    }
+
+    /**
+     * A method returning the vertices of a planted clique.
+     *
+     * @param k the index of the clique.
+     * @return the vertices of the clique.
+     */
+    public int[] clique(int k) {
+        int[] vertices = new int[sizes[k]];
+
+        for (int i = 0; i < sizes[k]; i++) {
+            vertices[i] = vertex(firsts[k] + i);
+        }
+
+        return vertices;
+    }
+
+    /**
+     * A method generating the edges of a chunk of the background graph along
+     * with its share of the edges of the cliques.
+     *
+     * @param chunk the index of the chunk, from 0 to chunks - 1.
+     * @param chunks the number of chunks the graph is split into.
+     * @param sink the sink receiving the edges.
+     */
+    @Override
+    public void generate(int chunk, int chunks, EdgeSink sink) {
+        background.generate(chunk, chunks, sink);
+
+        long count = 0;
+
+        for (int k = 0; k < sizes.length; k++) {
+            int[] vertices = clique(k);
+
+            for (int i = 0; i < vertices.length; i++) {
+                for (int j = i + 1; j < vertices.length; j++) {
+                    if (count++ % chunks == chunk) {
+                        sink.edge(vertices[i], vertices[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A method scattering a position over the vertices.
+     *
+     * @param position the position.
+     * @return the vertex at the position.
+     */
+    private int vertex(long position) {
+        return (int) ((position * step + shift) % background.vertices());
+    }
+
+    /**
+     * A method returning the greatest common divisor of two numbers.
+     *
+     * @param x the first number.
+     * @param y the second number.
+     * @return the greatest common divisor.
+     */
+    private static long gcd(long x, long y) {
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+
+        return x;
+    }
+}
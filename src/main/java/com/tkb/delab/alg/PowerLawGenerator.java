@@ -0,0 +1,104 @@
+package com.tkb.delab.alg;
+
+import java.util.Random;
+
+/**
+ * A random graph generator implementing the Chung-Lu model of given expected
+ * degrees, following a power law of the given exponent. Vertex i is given a
+ * weight of about <code>(i + 1)^(-1 / (exponent - 1))</code> and both
+ * endpoints of each edge are drawn with probability proportional to their
+ * weights, by inverting the cumulative weight in closed form, so no memory is
+ * needed per vertex. The edges are split into chunks of equal size.
+ *
+ * @author Akis Papadopoulos
+ */
+public class PowerLawGenerator implements GraphGenerator {
+
+    // Number of vertices
+    private int n;
+
+    // Number of edges
+    private long edges;
+
+    // One minus the exponent of the weights
+    private double beta;
+
+    // Cumulative weight of all the vertices
+    private double total;
+
+    // Seed of the random streams
+    private long seed;
+
+    /**
+     * A constructor creating a generator given the number of vertices, the
+     * number of edges, the exponent of the degree distribution and the seed.
+     *
+     * @param n the number of vertices.
+     * @param edges the number of edges.
+     * @param exponent the exponent of the degree distribution, greater than 2.
+     * @param seed the seed of the random streams.
+     */
+    public PowerLawGenerator(int n, long edges, double exponent, long seed) {
+        if (exponent <= 2.0) {
+            throw new IllegalArgumentException("Exponent should be greater than 2, given " + exponent);
+        }
+
+        this.n = Math.max(0, n);
+        this.edges = Math.max(0L, edges);
+        this.beta = 1.0 - 1.0 / (exponent - 1.0);
+        this.total = Math.pow(this.n + 1.0, beta) - 1.0;
+        this.seed = seed;
+    }
+
+    /**
+     * A method returning the number of vertices the ids are drawn from.
+     *
+     * @return the number of vertices.
+     */
+    @Override
+    public int vertices() {
+        return n;
+    }
+
+    /**
+     * A method generating the edges of a chunk of the graph, drawing again any
+     * loop.
+     *
+     * @param chunk the index of the chunk, from 0 to chunks - 1.
+     * @param chunks the number of chunks the graph is split into.
+     * @param sink the sink receiving the edges.
+     */
+    @Override
+    public void generate(int chunk, int chunks, EdgeSink sink) {
+        if (n < 2) {
+            return;
+        }
+
+        Random random = new Random(seed + 0x9E3779B97F4A7C15L * chunk);
+
+        long count = ErdosRenyiGenerator.split(edges, chunk + 1, chunks) - ErdosRenyiGenerator.split(edges, chunk, chunks);
+
+        for (long k = 0; k < count; k++) {
+            int v = draw(random);
+            int u = draw(random);
+
+            while (u == v) {
+                u = draw(random);
+            }
+
+            sink.edge(v, u);
+        }
+    }
+
+    /**
+     * A method drawing a vertex with probability proportional to its weight.
+     *
+     * @param random the random stream.
+     * @return the vertex drawn.
+     */
+    private int draw(Random random) {
+        double x = Math.pow(1.0 + random.nextDouble() * total, 1.0 / beta) - 1.0;
+
+        return Math.min((int) x, n - 1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.EdgeKey;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import java.util.Random;
+
+/**
+ * A streaming estimator of the global and per vertex triangle counts of an
+ * unbounded edge stream, keeping a fixed size reservoir of edges. Each
+ * arriving edge first closes the triangles with the edges within the
+ * reservoir, each found triangle weighted by the inverse probability both its
+ * other edges are still sampled, then the edge is sampled into the reservoir
+ * replacing a random edge. The estimates are unbiased at any time, given there
+ * is no duplicate edges within the stream. The reservoir never holds more
+ * than the given number of edges, so memory stays bounded as long as the per
+ * vertex estimates are not kept.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ReservoirEstimator {
+
+    // Maximum number of edges within the reservoir
+    private int size;
+
+    // Packed keys of the sampled edges by reservoir slot
+    private long[] keys;
+
+    // The neighborhoods of the sampled edges
+    private TIntObjectHashMap<TIntHashSet> n;
+
+    // Estimated triangles per vertex, null if not kept
+    private TIntDoubleHashMap local;
+
+    // Estimated number of triangles
+    private double global;
+
+    // Number of edges seen so far
+    private long time;
+
+    // Random generator sampling the edges
+    private Random random;
+
+    /**
+     * A constructor creating an estimator given the size of the reservoir.
+     *
+     * @param size the maximum number of edges within the reservoir.
+     * @param local true to keep the per vertex estimates otherwise false.
+     * @param seed the seed of the random generator.
+     */
+    public ReservoirEstimator(int size, boolean local, long seed) {
+        this.size = Math.max(2, size);
+        this.keys = new long[this.size];
+        this.n = new TIntObjectHashMap<TIntHashSet>();
+        this.local = local ? new TIntDoubleHashMap() : null;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * A method adding the next edge of the stream, discarding loops and the
+     * duplicates of the edges still within the reservoir.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     */
+    public void add(int v, int u) {
+        if (v == u) {
+            return;
+        }
+
+        TIntHashSet nv = n.get(v);
+        TIntHashSet nu = n.get(u);
+
+        if (nv != null && nv.contains(u)) {
+            return;
+        }
+
+        time++;
+
+        // Counting the triangles the edge closes with the reservoir
+
+        if (nv != null && nu != null) {
+            double weight = Math.max(1.0, (double) (time - 1) * (time - 2) / ((double) size * (size - 1)));
+
+            // Iterating through the smaller neighborhood
+            if (nu.size() < nv.size()) {
+                TIntHashSet t = nv;
+                nv = nu;
+                nu = t;
+            }
+
+            TIntIterator it = nv.iterator();
+
+            while (it.hasNext()) {
+                int w = it.next();
+
+                if (nu.contains(w)) {
+                    global += weight;
+
+                    if (local != null) {
+                        local.adjustOrPutValue(v, weight, weight);
+                        local.adjustOrPutValue(u, weight, weight);
+                        local.adjustOrPutValue(w, weight, weight);
+                    }
+                }
+            }
+        }
+
+        // Sampling the edge into the reservoir
+        if (time <= size) {
+            insert((int) (time - 1), v, u);
+        } else if (random.nextDouble() * time < size) {
+            int slot = random.nextInt(size);
+
+            long key = keys[slot];
+
+            unlink(EdgeKey.v(key), EdgeKey.u(key));
+            unlink(EdgeKey.u(key), EdgeKey.v(key));
+
+            insert(slot, v, u);
+        }
+    }
+
+    /**
+     * A method returning the estimated number of triangles so far.
+     *
+     * @return the estimated number of triangles.
+     */
+    public double global() {
+        return global;
+    }
+
+    /**
+     * A method returning the estimated number of triangles of each vertex so
+     * far, for the vertices found within at least one triangle.
+     *
+     * @return the estimates by vertex, null if not kept.
+     */
+    public TIntDoubleHashMap local() {
+        return local;
+    }
+
+    /**
+     * A method returning the number of edges seen so far.
+     *
+     * @return the number of edges.
+     */
+    public long time() {
+        return time;
+    }
+
+    /**
+     * A method placing an edge into a reservoir slot.
+     *
+     * @param slot the reservoir slot.
+     * @param v the first vertex.
+     * @param u the second vertex.
+     */
+    private void insert(int slot, int v, int u) {
+        keys[slot] = EdgeKey.of(v, u);
+
+        link(v, u);
+        link(u, v);
+    }
+
+    /**
+     * A method adding a vertex into the neighborhood of another vertex.
+     *
+     * @param v the vertex.
+     * @param u the neighbor.
+     */
+    private void link(int v, int u) {
+        TIntHashSet set = n.get(v);
+
+        if (set == null) {
+            set = new TIntHashSet();
+
+            n.put(v, set);
+        }
+
+        set.add(u);
+    }
+
+    /**
+     * A method removing a vertex from the neighborhood of another vertex,
+     * dropping the neighborhood once empty.
+     *
+     * @param v the vertex.
+     * @param u the neighbor.
+     */
+    private void unlink(int v, int u) {
+        TIntHashSet set = n.get(v);
+
+        set.remove(u);
+
+        if (set.isEmpty()) {
+            n.remove(v);
+        }
+    }
+}
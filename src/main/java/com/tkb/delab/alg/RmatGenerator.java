@@ -0,0 +1,102 @@
+package com.tkb.delab.alg;
+
+import java.util.Random;
+
+/**
+ * A random graph generator implementing the recursive matrix (R-MAT) model, a
+ * stochastic Kronecker graph of <code>2^scale</code> vertices. Each edge is
+ * placed by descending the adjacency matrix one bit of the vertices at a time,
+ * choosing the top left, top right, bottom left or bottom right quadrant with
+ * probabilities a, b, c and 1 - a - b - c, giving a skewed degree distribution
+ * along with a community structure. The edges are split into chunks of equal
+ * size.
+ *
+ * @author Akis Papadopoulos
+ */
+public class RmatGenerator implements GraphGenerator {
+
+    // Number of bits of the vertex ids
+    private int scale;
+
+    // Number of edges
+    private long edges;
+
+    // Cumulative probabilities of the first three quadrants
+    private double a, ab, abc;
+
+    // Seed of the random streams
+    private long seed;
+
+    /**
+     * A constructor creating a generator given the scale, the number of edges,
+     * the probabilities of the quadrants and the seed.
+     *
+     * @param scale the number of bits of the vertex ids, from 1 to 30.
+     * @param edges the number of edges.
+     * @param a the probability of the top left quadrant.
+     * @param b the probability of the top right quadrant.
+     * @param c the probability of the bottom left quadrant.
+     * @param seed the seed of the random streams.
+     */
+    public RmatGenerator(int scale, long edges, double a, double b, double c, long seed) {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("Scale should be from 1 to 30, given " + scale);
+        }
+
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1.0) {
+            throw new IllegalArgumentException("Invalid quadrant probabilities " + a + ", " + b + ", " + c);
+        }
+
+        this.scale = scale;
+        this.edges = Math.max(0L, edges);
+        this.a = a;
+        this.ab = a + b;
+        this.abc = a + b + c;
+        this.seed = seed;
+    }
+
+    /**
+     * A method returning the number of vertices the ids are drawn from.
+     *
+     * @return the number of vertices.
+     */
+    @Override
+    public int vertices() {
+        return 1 << scale;
+    }
+
+    /**
+     * A method generating the edges of a chunk of the graph.
+     *
+     * @param chunk the index of the chunk, from 0 to chunks - 1.
+     * @param chunks the number of chunks the graph is split into.
+     * @param sink the sink receiving the edges.
+     */
+    @Override
+    public void generate(int chunk, int chunks, EdgeSink sink) {
+        Random random = new Random(seed + 0x9E3779B97F4A7C15L * chunk);
+
+        long count = ErdosRenyiGenerator.split(edges, chunk + 1, chunks) - ErdosRenyiGenerator.split(edges, chunk, chunks);
+
+        for (long k = 0; k < count; k++) {
+            int v = 0;
+            int u = 0;
+
+            // Descending into a quadrant per bit
+            for (int bit = 1 << (scale - 1); bit != 0; bit >>>= 1) {
+                double r = random.nextDouble();
+
+                if (r >= abc) {
+                    v |= bit;
+                    u |= bit;
+                } else if (r >= ab) {
+                    v |= bit;
+                } else if (r >= a) {
+                    u |= bit;
+                }
+            }
+
+            sink.edge(v, u);
+        }
+    }
+}
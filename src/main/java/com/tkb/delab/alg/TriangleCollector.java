@@ -0,0 +1,36 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * A triangle sink collecting all the triangles into a set.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TriangleCollector implements TriangleSink {
+
+    // The set of triangles collected
+    private final THashSet<Triangle> triangles = new THashSet<Triangle>();
+
+    /**
+     * A method adding the next triangle into the set.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param w the third vertex.
+     */
+    @Override
+    public void triangle(int v, int u, int w) {
+        triangles.add(new Triangle(v, u, w));
+    }
+
+    /**
+     * A method returning the set of triangles collected so far.
+     *
+     * @return the set of triangles.
+     */
+    public THashSet<Triangle> getTriangles() {
+        return triangles;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.TriangleSupport;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * An abstract triangle counting interface, counting the triangles each edge
+ * and each vertex participates without listing them.
+ *
+ * @author Akis Papadopoulos
+ */
+public interface TriangleCounter {
+
+    /**
+     * A method counting the triangles within a graph represented by a given
+     * edge set.
+     *
+     * @param edges edge set graph induced by.
+     * @return the per edge, per vertex and total triangle counts.
+     */
+    public TriangleSupport count(THashSet<Edge> edges);
+
+    /**
+     * A method counting the triangles within a graph given in compressed
+     * sparse row form.
+     *
+     * @param graph the compressed graph.
+     * @return the per edge, per vertex and total triangle counts.
+     */
+    public TriangleSupport count(CompressedGraph graph);
+}
@@ -0,0 +1,37 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.EdgeIndex;
+
+/**
+ * A triangle sink indexing the edges of all the triangles, so an edge density
+ * estimator can be applied without holding the triangles in a set. Be aware
+ * the triangles should be passed only once each, as any triangulator does.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TriangleIndexer implements TriangleSink {
+
+    // The index of the edges of the triangles
+    private final EdgeIndex index = new EdgeIndex(0);
+
+    /**
+     * A method adding the next triangle into the index.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param w the third vertex.
+     */
+    @Override
+    public void triangle(int v, int u, int w) {
+        index.add(v, u, w);
+    }
+
+    /**
+     * A method returning the index of the triangles passed so far.
+     *
+     * @return the edge index.
+     */
+    public EdgeIndex getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tkb.delab.alg;
+
+/**
+ * A callback interface receiving each triangle as soon as it is found by a
+ * triangulator, without materializing the triangle as an object.
+ *
+ * @author Akis Papadopoulos
+ */
+public interface TriangleSink {
+
+    /**
+     * A method accepting the next triangle found, given by its vertices sorted
+     * by id in ascending order.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param w the third vertex.
+     */
+    public void triangle(int v, int u, int w);
+}
@@ -1,5 +1,6 @@
 package com.tkb.delab.alg;
 
+import com.tkb.delab.model.CompressedGraph;
 import com.tkb.delab.model.Edge;
 import com.tkb.delab.model.Triangle;
 import gnu.trove.set.hash.THashSet;
@@ -19,4 +20,32 @@ public interface Triangulator {
      * @return a set of all triangles within the graph.
      */
     public THashSet<Triangle> list(THashSet<Edge> edges);
+
+    /**
+     * A method listing all triangles within a graph given in compressed
+     * sparse row form.
+     *
+     * @param graph the compressed graph.
+     * @return a set of all triangles within the graph.
+     */
+    public THashSet<Triangle> list(CompressedGraph graph);
+
+    /**
+     * A method listing all triangles within a graph represented by a given
+     * edge set, passing each triangle to the sink as soon as it is found.
+     *
+     * @param edges edge set graph induced by.
+     * @param sink the sink receiving the triangles.
+     */
+    public void list(THashSet<Edge> edges, TriangleSink sink);
+
+    /**
+     * A method listing all triangles within a graph given in compressed
+     * sparse row form, passing each triangle to the sink as soon as it is
+     * found.
+     *
+     * @param graph the compressed graph.
+     * @param sink the sink receiving the triangles.
+     */
+    public void list(CompressedGraph graph, TriangleSink sink);
 }
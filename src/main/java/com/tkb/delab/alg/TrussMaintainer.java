@@ -0,0 +1,459 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.EdgeKey;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import gnu.trove.set.hash.TLongHashSet;
+
+/**
+ * A dynamic graph engine keeping the adjacency, the support and the exact
+ * lambda value of each edge in memory, updating only the affected
+ * neighborhood on each edge insertion or deletion.
+ *
+ * The lambda value of an edge is the largest k such that the edge belongs to
+ * at least k triangles whose other edges have lambda at least k, so the lambda
+ * values are the largest fixpoint of this h-index rule and iterating the rule
+ * from any upper bounds converges to them.
+ *
+ * A deletion only lowers lambda values, so the rule is iterated from the old
+ * values starting at the edges sharing a triangle with the deleted edge. An
+ * insertion raises lambda values by at most 1, and only for edges of some
+ * value k reachable from the new edge through triangles whose edges have
+ * lambda at least k, moving only across edges of value exactly k. Those edges
+ * are raised to upper bounds first, along with the new edge raised to its
+ * support, and then the rule is iterated from them.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TrussMaintainer {
+
+    // The neighborhood of each vertex
+    private TIntObjectHashMap<TIntHashSet> n;
+
+    // Support by scrambled packed key
+    private TLongIntHashMap support;
+
+    // Lambda value by scrambled packed key
+    private TLongIntHashMap lambda;
+
+    // Number of edges
+    private int size;
+
+    /**
+     * A constructor creating an empty engine.
+     */
+    public TrussMaintainer() {
+        this.n = new TIntObjectHashMap<TIntHashSet>();
+        this.support = new TLongIntHashMap(16, 0.5f, 0L, -1);
+        this.lambda = new TLongIntHashMap(16, 0.5f, 0L, -1);
+    }
+
+    /**
+     * A method loading an edge along with a known lambda value, keeping the
+     * supports up to date but not maintaining any lambda value. Loading an
+     * edge twice keeps the largest value.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param value the lambda value of the edge.
+     */
+    public void load(int v, int u, int value) {
+        if (v == u) {
+            return;
+        }
+
+        if (!contains(v, u)) {
+            link(v, u);
+        }
+
+        long key = EdgeKey.mix(EdgeKey.of(v, u));
+
+        lambda.put(key, Math.max(lambda.get(key), value));
+    }
+
+    /**
+     * A method iterating the h-index rule from every edge, so the loaded values
+     * converge to the exact lambda values given they are upper bounds, like the
+     * bounds of an estimation stopped before converging. Loaded values already
+     * exact are checked in a single pass over the triangles.
+     *
+     * @return the number of times a lambda value was lowered.
+     */
+    public int settle() {
+        TLongArrayList queue = new TLongArrayList(size);
+
+        for (int v : n.keys()) {
+            TIntIterator it = n.get(v).iterator();
+
+            while (it.hasNext()) {
+                int u = it.next();
+
+                if (v < u) {
+                    queue.add(EdgeKey.of(v, u));
+                }
+            }
+        }
+
+        return descend(queue);
+    }
+
+    /**
+     * A method inserting an edge, updating the supports and the lambda values
+     * of the affected edges.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return true if the edge is inserted, false if it is a loop or exists.
+     */
+    public boolean insert(int v, int u) {
+        if (v == u || contains(v, u)) {
+            return false;
+        }
+
+        int[] common = link(v, u);
+
+        // Bounding the new edge by its support
+        int bound = common.length;
+
+        lambda.put(EdgeKey.mix(EdgeKey.of(v, u)), bound);
+
+        // Seeding the edges sharing a triangle with the new edge that may rise
+        TLongHashSet visited = new TLongHashSet();
+        TLongArrayList queue = new TLongArrayList();
+
+        for (int w : common) {
+            int a = lambda(v, w);
+            int b = lambda(u, w);
+
+            if (a < bound && b >= a && visited.add(EdgeKey.of(v, w))) {
+                queue.add(EdgeKey.of(v, w));
+            }
+
+            if (b < bound && a >= b && visited.add(EdgeKey.of(u, w))) {
+                queue.add(EdgeKey.of(u, w));
+            }
+        }
+
+        // Spreading across the edges of the same value through dense enough triangles
+        for (int head = 0; head < queue.size(); head++) {
+            long key = queue.get(head);
+
+            int x = EdgeKey.v(key);
+            int y = EdgeKey.u(key);
+
+            int k = lambda(x, y);
+
+            for (int z : common(x, y)) {
+                int a = lambda(x, z);
+                int b = lambda(y, z);
+
+                if (a >= k && b >= k) {
+                    if (a == k && visited.add(EdgeKey.of(x, z))) {
+                        queue.add(EdgeKey.of(x, z));
+                    }
+
+                    if (b == k && visited.add(EdgeKey.of(y, z))) {
+                        queue.add(EdgeKey.of(y, z));
+                    }
+                }
+            }
+        }
+
+        // Raising the reached edges to their upper bounds
+        for (int i = 0; i < queue.size(); i++) {
+            lambda.adjustValue(EdgeKey.mix(queue.get(i)), 1);
+        }
+
+        queue.add(EdgeKey.of(v, u));
+
+        descend(queue);
+
+        return true;
+    }
+
+    /**
+     * A method deleting an edge, updating the supports and the lambda values
+     * of the affected edges.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return true if the edge is deleted, false if it does not exist.
+     */
+    public boolean delete(int v, int u) {
+        if (v == u || !contains(v, u)) {
+            return false;
+        }
+
+        int[] common = unlink(v, u);
+
+        // Lowering the edges sharing a triangle with the deleted edge
+        TLongArrayList queue = new TLongArrayList();
+
+        for (int w : common) {
+            queue.add(EdgeKey.of(v, w));
+            queue.add(EdgeKey.of(u, w));
+        }
+
+        descend(queue);
+
+        return true;
+    }
+
+    /**
+     * A method checking if an edge exists.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return true if the edge exists, false otherwise.
+     */
+    public boolean contains(int v, int u) {
+        TIntHashSet nv = n.get(v);
+
+        return nv != null && nv.contains(u);
+    }
+
+    /**
+     * A method returning the lambda value of an edge.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the lambda value, -1 if the edge does not exist.
+     */
+    public int lambda(int v, int u) {
+        return lambda.get(EdgeKey.mix(EdgeKey.of(v, u)));
+    }
+
+    /**
+     * A method returning the number of triangles an edge belongs to.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the support, -1 if the edge does not exist.
+     */
+    public int support(int v, int u) {
+        return support.get(EdgeKey.mix(EdgeKey.of(v, u)));
+    }
+
+    /**
+     * A method returning the number of edges.
+     *
+     * @return the number of edges.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A method returning the vertices having at least one edge.
+     *
+     * @return the vertices.
+     */
+    public int[] vertices() {
+        return n.keys();
+    }
+
+    /**
+     * A method returning the neighbors of a vertex.
+     *
+     * @param v the vertex.
+     * @return the neighbors, empty if the vertex has no edge.
+     */
+    public int[] neighbors(int v) {
+        TIntHashSet nv = n.get(v);
+
+        return nv != null ? nv.toArray() : new int[0];
+    }
+
+    /**
+     * A method returning the common neighbors of two vertices, iterating the
+     * smaller neighborhood.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the common neighbors.
+     */
+    public int[] common(int v, int u) {
+        TIntHashSet nv = n.get(v);
+        TIntHashSet nu = n.get(u);
+
+        if (nv == null || nu == null) {
+            return new int[0];
+        }
+
+        if (nu.size() < nv.size()) {
+            TIntHashSet t = nv;
+            nv = nu;
+            nu = t;
+        }
+
+        TIntArrayList common = new TIntArrayList();
+
+        TIntIterator it = nv.iterator();
+
+        while (it.hasNext()) {
+            int w = it.next();
+
+            if (nu.contains(w)) {
+                common.add(w);
+            }
+        }
+
+        return common.toArray();
+    }
+
+    /**
+     * A method iterating the h-index rule from the given edges, lowering each
+     * edge above its h-index and queueing the edges sharing a triangle with it
+     * that may be lowered in turn.
+     *
+     * @param queue the packed keys of the edges to start from.
+     * @return the number of times a lambda value was lowered.
+     */
+    private int descend(TLongArrayList queue) {
+        TLongHashSet queued = new TLongHashSet(queue);
+
+        int lowered = 0;
+
+        for (int head = 0; head < queue.size(); head++) {
+            long key = queue.get(head);
+
+            queued.remove(key);
+
+            int x = EdgeKey.v(key);
+            int y = EdgeKey.u(key);
+
+            int[] common = common(x, y);
+
+            // Counting the triangles by the lower value of their other edges
+            int[] counts = new int[common.length + 1];
+
+            for (int z : common) {
+                counts[Math.min(common.length, Math.min(lambda(x, z), lambda(y, z)))]++;
+            }
+
+            // Finding the largest k having at least k triangles of value k
+            int h = common.length;
+            int above = counts[h];
+
+            while (above < h) {
+                h--;
+                above += counts[h];
+            }
+
+            if (h < lambda(x, y)) {
+                lambda.put(EdgeKey.mix(key), h);
+
+                lowered++;
+
+                for (int z : common) {
+                    if (lambda(x, z) > h && queued.add(EdgeKey.of(x, z))) {
+                        queue.add(EdgeKey.of(x, z));
+                    }
+
+                    if (lambda(y, z) > h && queued.add(EdgeKey.of(y, z))) {
+                        queue.add(EdgeKey.of(y, z));
+                    }
+                }
+            }
+        }
+
+        return lowered;
+    }
+
+    /**
+     * A method adding an edge into the adjacency, updating the supports of the
+     * edges of the triangles it closes.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the vertices closing a triangle with the edge.
+     */
+    private int[] link(int v, int u) {
+        int[] common = common(v, u);
+
+        add(v, u);
+        add(u, v);
+
+        for (int w : common) {
+            support.adjustValue(EdgeKey.mix(EdgeKey.of(v, w)), 1);
+            support.adjustValue(EdgeKey.mix(EdgeKey.of(u, w)), 1);
+        }
+
+        long key = EdgeKey.mix(EdgeKey.of(v, u));
+
+        support.put(key, common.length);
+        lambda.put(key, 0);
+
+        size++;
+
+        return common;
+    }
+
+    /**
+     * A method removing an edge from the adjacency, updating the supports of
+     * the edges of the triangles it breaks.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the vertices closing a triangle with the edge.
+     */
+    private int[] unlink(int v, int u) {
+        int[] common = common(v, u);
+
+        remove(v, u);
+        remove(u, v);
+
+        for (int w : common) {
+            support.adjustValue(EdgeKey.mix(EdgeKey.of(v, w)), -1);
+            support.adjustValue(EdgeKey.mix(EdgeKey.of(u, w)), -1);
+        }
+
+        long key = EdgeKey.mix(EdgeKey.of(v, u));
+
+        support.remove(key);
+        lambda.remove(key);
+
+        size--;
+
+        return common;
+    }
+
+    /**
+     * A method adding a vertex into the neighborhood of another vertex.
+     *
+     * @param v the vertex.
+     * @param u the neighbor.
+     */
+    private void add(int v, int u) {
+        TIntHashSet set = n.get(v);
+
+        if (set == null) {
+            set = new TIntHashSet();
+
+            n.put(v, set);
+        }
+
+        set.add(u);
+    }
+
+    /**
+     * A method removing a vertex from the neighborhood of another vertex,
+     * dropping the neighborhood once empty.
+     *
+     * @param v the vertex.
+     * @param u the neighbor.
+     */
+    private void remove(int v, int u) {
+        TIntHashSet set = n.get(v);
+
+        set.remove(u);
+
+        if (set.isEmpty()) {
+            n.remove(v);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * An in memory pruner stripping the edges that can never reach a given truss
+ * number k before any triangulation or estimation. First the vertices of
+ * degree less than k - 1 are stripped iteratively, then the edges of support
+ * less than k - 2 are peeled iteratively, so the remaining edges form the
+ * k-truss of the graph. Be aware any k less than 3 is taken as 3, since edges
+ * within no triangle never contribute to the density of a subgraph.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TrussPruner {
+
+    // Minimum degree of a remaining vertex
+    private int degree;
+
+    // Minimum support of a remaining edge
+    private int support;
+
+    /**
+     * A constructor creating a pruner given the truss number.
+     *
+     * @param k the truss number of the query.
+     */
+    public TrussPruner(int k) {
+        k = Math.max(3, k);
+
+        this.degree = k - 1;
+        this.support = k - 2;
+    }
+
+    /**
+     * A method pruning the given edge set down to the k-truss.
+     *
+     * @param edges edge set graph induced by.
+     * @return the edges of the k-truss, sorted in ascending order.
+     */
+    public THashSet<Edge> prune(THashSet<Edge> edges) {
+        THashSet<Edge> cored = strip(new CompressedGraph(edges));
+
+        return peel(new CompactForward().list(cored));
+    }
+
+    /**
+     * A method stripping iteratively the vertices of degree less than the
+     * minimum degree, so the remaining edges form the k - 1 core.
+     *
+     * @param graph the compressed graph.
+     * @return the edges between the remaining vertices.
+     */
+    private THashSet<Edge> strip(CompressedGraph graph) {
+        int n = graph.size();
+
+        int[] degrees = new int[n];
+
+        // Queueing the vertices of low degree
+        int[] queue = new int[n];
+        boolean[] removed = new boolean[n];
+
+        int tail = 0;
+
+        for (int i = 0; i < n; i++) {
+            degrees[i] = graph.degree(i);
+
+            if (degrees[i] < degree) {
+                removed[i] = true;
+                queue[tail++] = i;
+            }
+        }
+
+        // Removing each queued vertex decreasing the degree of its neighbors
+        for (int head = 0; head < tail; head++) {
+            int i = queue[head];
+
+            for (int p = graph.offset(i); p < graph.offset(i) + graph.degree(i); p++) {
+                int j = graph.neighbor(p);
+
+                if (!removed[j] && --degrees[j] < degree) {
+                    removed[j] = true;
+                    queue[tail++] = j;
+                }
+            }
+        }
+
+        // Collecting the edges between the remaining vertices
+        THashSet<Edge> cored = new THashSet<Edge>();
+
+        for (int i = 0; i < n; i++) {
+            if (!removed[i]) {
+                for (int p = graph.offset(i); p < graph.offset(i) + graph.degree(i); p++) {
+                    int j = graph.neighbor(p);
+
+                    if (i < j && !removed[j]) {
+                        cored.add(new Edge(graph.id(i), graph.id(j)));
+                    }
+                }
+            }
+        }
+
+        return cored;
+    }
+
+    /**
+     * A method peeling iteratively the edges of support less than the minimum
+     * support, removing the triangles each peeled edge belongs to.
+     *
+     * @param triangles the triangles of the graph.
+     * @return the edges of the remaining triangles.
+     */
+    private THashSet<Edge> peel(THashSet<Triangle> triangles) {
+        EdgeIndex index = new EdgeIndex(triangles);
+
+        int m = index.size();
+
+        int[] supports = index.support();
+
+        // Queueing the edges of low support
+        int[] queue = new int[m];
+        boolean[] removed = new boolean[m];
+        boolean[] broken = new boolean[index.triangles()];
+
+        int tail = 0;
+
+        for (int e = 0; e < m; e++) {
+            if (supports[e] < support) {
+                removed[e] = true;
+                queue[tail++] = e;
+            }
+        }
+
+        // Removing each queued edge decreasing the support of its triangle neighbors
+        for (int head = 0; head < tail; head++) {
+            int e = queue[head];
+
+            for (int p = index.offset(e); p < index.offset(e) + index.count(e); p++) {
+                int t = index.triangle(p);
+
+                if (!broken[t]) {
+                    broken[t] = true;
+
+                    for (int i = 0; i < 3; i++) {
+                        int f = index.edge(t, i);
+
+                        if (!removed[f] && --supports[f] < support) {
+                            removed[f] = true;
+                            queue[tail++] = f;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Collecting the remaining edges
+        THashSet<Edge> truss = new THashSet<Edge>();
+
+        for (int e = 0; e < m; e++) {
+            if (!removed[e]) {
+                long key = index.key(e);
+
+                truss.add(new Edge(EdgeKey.v(key), EdgeKey.u(key)));
+            }
+        }
+
+        return truss;
+    }
+}
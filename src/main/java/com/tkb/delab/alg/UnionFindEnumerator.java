@@ -0,0 +1,68 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.DisjointSet;
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.THashSet;
+
+/**
+ * A class implementing an algorithm enumerating all the connected subgraphs
+ * induced by an edge set, joining the vertices of each edge within a disjoint
+ * set forest. Each connected subgraph is the set of edges whose vertices end
+ * up under the same root, found in near linear time.
+ *
+ * @author Akis Papadopoulos
+ */
+public class UnionFindEnumerator implements Enumerator {
+
+    /**
+     * A method enumerating all the connected subgraphs induced by an edge set,
+     * mapping each subgraph with an identifier number given in order of the
+     * first edge of each subgraph.
+     *
+     * @param edges a set of edges.
+     * @return the list of connected subgraphs induced by edges within edge set.
+     */
+    @Override
+    public TIntObjectHashMap<THashSet<Edge>> enumerate(THashSet<Edge> edges) {
+        // Creating an empty hashmap of subgraphs induced by an edge set
+        TIntObjectHashMap<THashSet<Edge>> subgraphs = new TIntObjectHashMap<THashSet<Edge>>();
+
+        // Giving each vertex a dense index
+        TIntIntHashMap index = new TIntIntHashMap(2 * edges.size(), 0.5f, 0, -1);
+
+        for (Edge e : edges) {
+            index.putIfAbsent(e.v, index.size());
+            index.putIfAbsent(e.u, index.size());
+        }
+
+        // Joining the vertices of each edge
+        DisjointSet set = new DisjointSet(index.size());
+
+        for (Edge e : edges) {
+            set.union(index.get(e.v), index.get(e.u));
+        }
+
+        // Mapping each root to the id of its subgraph
+        TIntIntHashMap ids = new TIntIntHashMap(16, 0.5f, -1, -1);
+
+        for (Edge e : edges) {
+            int root = set.find(index.get(e.v));
+
+            int id = ids.get(root);
+
+            if (id < 0) {
+                id = ids.size();
+
+                ids.put(root, id);
+
+                subgraphs.put(id, new THashSet<Edge>());
+            }
+
+            subgraphs.get(id).add(e);
+        }
+
+        return subgraphs;
+    }
+}
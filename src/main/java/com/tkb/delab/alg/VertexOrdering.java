@@ -0,0 +1,246 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.CompressedGraph;
+import java.util.Arrays;
+
+/**
+ * A vertex ordering renumbering the vertices of a compressed graph for memory
+ * locality, so the neighborhoods intersected together are stored close to each
+ * other. Vertices can be ordered by degree in descending order, by reverse
+ * Cuthill-McKee breadth first search or grouped by the communities found by
+ * label propagation. The ids of the vertices are kept, so any triangulator run
+ * on the reordered graph gives the same triangles.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexOrdering {
+
+    // Keeping the vertices in order of their ids
+    public static final int NONE = 0;
+
+    // Ordering the vertices by degree in descending order
+    public static final int DEGREE = 1;
+
+    // Ordering the vertices by reverse Cuthill-McKee breadth first search
+    public static final int BFS = 2;
+
+    // Grouping the vertices by community, by degree within each community
+    public static final int COMMUNITY = 3;
+
+    // Maximum number of label propagation rounds
+    private static final int ROUNDS = 8;
+
+    // The ordering mode
+    private int mode;
+
+    /**
+     * A constructor creating a vertex ordering given the mode.
+     *
+     * @param mode none (0), degree (1), bfs (2) or community (3) mode.
+     */
+    public VertexOrdering(int mode) {
+        this.mode = mode >= NONE && mode <= COMMUNITY ? mode : NONE;
+    }
+
+    /**
+     * A method renumbering the vertices of a graph.
+     *
+     * @param graph the compressed graph.
+     * @return the reordered graph, the same graph given no ordering.
+     */
+    public CompressedGraph apply(CompressedGraph graph) {
+        if (mode == NONE || graph == null || graph.size() == 0) {
+            return graph;
+        }
+
+        return graph.reorder(order(graph));
+    }
+
+    /**
+     * A method ordering the vertices of a graph.
+     *
+     * @param graph the compressed graph.
+     * @return the vertex indices in the new order.
+     */
+    public int[] order(CompressedGraph graph) {
+        if (mode == DEGREE) {
+            return graph.rank();
+        } else if (mode == BFS) {
+            return bfs(graph);
+        } else if (mode == COMMUNITY) {
+            return community(graph);
+        }
+
+        int[] order = new int[graph.size()];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        return order;
+    }
+
+    /**
+     * A method ordering the vertices by reverse Cuthill-McKee, that is a breadth
+     * first search started from a vertex of lowest degree in each component,
+     * visiting the neighbors of each vertex in ascending order of degree, with
+     * the visiting order reversed at the end.
+     *
+     * @param graph the compressed graph.
+     * @return the vertex indices in the new order.
+     */
+    private int[] bfs(CompressedGraph graph) {
+        int n = graph.size();
+
+        // Getting the vertices by degree in ascending order
+        int[] rank = graph.rank();
+
+        int[] order = new int[n];
+
+        boolean[] visited = new boolean[n];
+
+        // Buffer of neighbors keyed by degree and index
+        long[] keys = new long[0];
+
+        int tail = 0;
+
+        for (int s = n - 1; s >= 0; s--) {
+            int root = rank[s];
+
+            if (visited[root]) {
+                continue;
+            }
+
+            visited[root] = true;
+            order[tail++] = root;
+
+            // Using the order as the queue of the search
+            for (int head = tail - 1; head < tail; head++) {
+                int v = order[head];
+
+                int count = 0;
+
+                if (keys.length < graph.degree(v)) {
+                    keys = new long[graph.degree(v)];
+                }
+
+                for (int p = graph.offset(v); p < graph.offset(v) + graph.degree(v); p++) {
+                    int u = graph.neighbor(p);
+
+                    if (!visited[u]) {
+                        visited[u] = true;
+
+                        keys[count++] = ((long) graph.degree(u) << 32) | u;
+                    }
+                }
+
+                // Queueing the new neighbors in ascending order of degree
+                Arrays.sort(keys, 0, count);
+
+                for (int k = 0; k < count; k++) {
+                    order[tail++] = (int) keys[k];
+                }
+            }
+        }
+
+        // Reversing the visiting order
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+
+        return order;
+    }
+
+    /**
+     * A method grouping the vertices by the communities found by label
+     * propagation, each vertex adopting the most frequent label among its
+     * neighbors, ties by the lowest label. Communities are ordered by label
+     * and the vertices within each by degree in descending order.
+     *
+     * @param graph the compressed graph.
+     * @return the vertex indices in the new order.
+     */
+    private int[] community(CompressedGraph graph) {
+        int n = graph.size();
+
+        int[] label = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            label[v] = v;
+        }
+
+        // Frequency of each label around the current vertex
+        int[] frequency = new int[n];
+
+        int[] touched = new int[0];
+
+        boolean changed = true;
+
+        for (int round = 0; round < ROUNDS && changed; round++) {
+            changed = false;
+
+            for (int v = 0; v < n; v++) {
+                int dv = graph.degree(v);
+
+                if (dv == 0) {
+                    continue;
+                }
+
+                if (touched.length < dv) {
+                    touched = new int[dv];
+                }
+
+                int count = 0;
+
+                int best = label[v];
+                int max = 0;
+
+                for (int p = graph.offset(v); p < graph.offset(v) + dv; p++) {
+                    int l = label[graph.neighbor(p)];
+
+                    if (frequency[l]++ == 0) {
+                        touched[count++] = l;
+                    }
+
+                    if (frequency[l] > max || (frequency[l] == max && l < best)) {
+                        max = frequency[l];
+                        best = l;
+                    }
+                }
+
+                // Resetting the frequencies of the labels seen
+                for (int k = 0; k < count; k++) {
+                    frequency[touched[k]] = 0;
+                }
+
+                if (best != label[v]) {
+                    label[v] = best;
+
+                    changed = true;
+                }
+            }
+        }
+
+        // Counting the vertices of each community
+        int[] start = new int[n + 1];
+
+        for (int v = 0; v < n; v++) {
+            start[label[v] + 1]++;
+        }
+
+        for (int l = 0; l < n; l++) {
+            start[l + 1] += start[l];
+        }
+
+        // Placing the vertices into their communities in degree order
+        int[] order = new int[n];
+
+        for (int v : graph.rank()) {
+            order[start[label[v]]++] = v;
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,249 @@
+package com.tkb.delab.alg;
+
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.THashSet;
+import gnu.trove.set.hash.TIntHashSet;
+import java.util.Random;
+
+/**
+ * An estimator of the global and local clustering coefficients of a graph by
+ * wedge sampling, where a wedge is a path of two edges centered at a vertex.
+ * Wedges are drawn uniformly at random, picking the center weighted by the
+ * number of its wedges and then two distinct neighbors of it, and each wedge
+ * is checked for closure against the neighborhood map. The fraction of closed
+ * wedges is an unbiased estimate of the transitivity, its standard error is
+ * no more than 1 / (2 sqrt(samples)) no matter the size of the graph.
+ *
+ * @author Akis Papadopoulos
+ */
+public class WedgeSampler {
+
+    // Number of wedges sampled
+    private int samples;
+
+    // Random generator drawing the wedges
+    private Random random;
+
+    /**
+     * A constructor creating a wedge sampler given the sample budget.
+     *
+     * @param samples the number of wedges sampled.
+     * @param seed the seed of the random generator.
+     */
+    public WedgeSampler(int samples, long seed) {
+        this.samples = Math.max(1, samples);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * A method estimating the transitivity of a graph, the fraction of its
+     * wedges closed into triangles.
+     *
+     * @param edges edge set graph induced by.
+     * @return the estimated transitivity, zero if there is no wedge.
+     */
+    public double transitivity(THashSet<Edge> edges) {
+        return new Wedges(edges).transitivity();
+    }
+
+    /**
+     * A method estimating the number of triangles of a graph, given each
+     * triangle closes three wedges.
+     *
+     * @param edges edge set graph induced by.
+     * @return the estimated number of triangles.
+     */
+    public double triangles(THashSet<Edge> edges) {
+        Wedges wedges = new Wedges(edges);
+
+        return wedges.transitivity() * wedges.total() / 3;
+    }
+
+    /**
+     * A method estimating the local clustering coefficient of each vertex, the
+     * fraction of its wedges closed into triangles. Vertices having no more
+     * wedges than the sample budget are checked exhaustively, otherwise as
+     * many wedges as the budget are sampled uniformly.
+     *
+     * @param edges edge set graph induced by.
+     * @return the coefficient of each vertex of degree at least 2.
+     */
+    public TIntDoubleHashMap clustering(THashSet<Edge> edges) {
+        Wedges wedges = new Wedges(edges);
+
+        TIntDoubleHashMap coefficients = new TIntDoubleHashMap();
+
+        for (int i = 0; i < wedges.ids.length; i++) {
+            int[] nv = wedges.neighbors[i];
+
+            long count = (long) nv.length * (nv.length - 1) / 2;
+
+            if (count == 0) {
+                continue;
+            }
+
+            long closed = 0;
+
+            if (count <= samples) {
+                // Checking all the wedges of the vertex
+                for (int j = 0; j < nv.length; j++) {
+                    for (int k = j + 1; k < nv.length; k++) {
+                        if (wedges.closed(nv[j], nv[k])) {
+                            closed++;
+                        }
+                    }
+                }
+            } else {
+                // Sampling wedges of the vertex uniformly
+                for (int s = 0; s < samples; s++) {
+                    if (wedges.sample(i)) {
+                        closed++;
+                    }
+                }
+
+                count = samples;
+            }
+
+            coefficients.put(wedges.ids[i], (double) closed / count);
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * The wedges of a graph, built once on the neighborhood map of the graph.
+     */
+    private class Wedges {
+
+        // The vertex ids by vertex index
+        private final int[] ids;
+
+        // The neighbors of each vertex by vertex index
+        private final int[][] neighbors;
+
+        // The neighborhood map of the graph
+        private final TIntObjectHashMap<TIntHashSet> n;
+
+        // Cumulative number of wedges up to each vertex index
+        private final long[] cumulative;
+
+        /**
+         * A constructor building the wedges given the edge set.
+         *
+         * @param edges edge set graph induced by.
+         */
+        Wedges(THashSet<Edge> edges) {
+            n = NodeIterator.neighborhoods(edges);
+
+            ids = n.keys();
+
+            neighbors = new int[ids.length][];
+
+            cumulative = new long[ids.length + 1];
+
+            for (int i = 0; i < ids.length; i++) {
+                neighbors[i] = n.get(ids[i]).toArray();
+
+                long d = neighbors[i].length;
+
+                cumulative[i + 1] = cumulative[i] + d * (d - 1) / 2;
+            }
+        }
+
+        /**
+         * A method returning the total number of wedges.
+         *
+         * @return the number of wedges.
+         */
+        long total() {
+            return cumulative[ids.length];
+        }
+
+        /**
+         * A method estimating the transitivity, sampling wedges centered at
+         * vertices picked by the number of their wedges.
+         *
+         * @return the fraction of the sampled wedges found closed.
+         */
+        double transitivity() {
+            long total = total();
+
+            if (total == 0) {
+                return 0;
+            }
+
+            int closed = 0;
+
+            for (int s = 0; s < samples; s++) {
+                // Picking the center weighted by its number of wedges
+                long r = (long) (random.nextDouble() * total);
+
+                if (sample(center(r))) {
+                    closed++;
+                }
+            }
+
+            return (double) closed / samples;
+        }
+
+        /**
+         * A method finding the vertex the given wedge is centered at, by binary
+         * search of the last vertex whose cumulative number of wedges is not
+         * greater than the wedge.
+         *
+         * @param r a wedge within [0, total).
+         * @return the index of the center vertex.
+         */
+        int center(long r) {
+            int lo = 0;
+            int hi = ids.length - 1;
+
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+
+                if (cumulative[mid] <= r) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            return lo;
+        }
+
+        /**
+         * A method sampling a wedge centered at a vertex uniformly, checking if
+         * it is closed.
+         *
+         * @param i the index of the center vertex, having at least 2 neighbors.
+         * @return true if the wedge is closed, false otherwise.
+         */
+        boolean sample(int i) {
+            int[] nv = neighbors[i];
+
+            // Picking two distinct neighbors uniformly
+            int j = random.nextInt(nv.length);
+            int k = random.nextInt(nv.length - 1);
+
+            if (k >= j) {
+                k++;
+            }
+
+            return closed(nv[j], nv[k]);
+        }
+
+        /**
+         * A method checking if two neighbors of a vertex are adjacent, closing
+         * the wedge into a triangle.
+         *
+         * @param u the first neighbor.
+         * @param w the second neighbor.
+         * @return true if the neighbors are adjacent, false otherwise.
+         */
+        boolean closed(int u, int w) {
+            return n.get(u).contains(w);
+        }
+    }
+}
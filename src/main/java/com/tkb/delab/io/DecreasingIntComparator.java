@@ -0,0 +1,44 @@
+package com.tkb.delab.io;
+
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.WritableComparable;
+
+/**
+ * A raw comparator sorting int writable keys in decreasing order, comparing
+ * the serialized bytes without deserializing the keys.
+ *
+ * @author Akis Papadopoulos
+ */
+public class DecreasingIntComparator extends IntWritable.Comparator {
+
+    /**
+     * A method comparing two deserialized keys in decreasing order.
+     *
+     * @param a the first key.
+     * @param b the second key.
+     * @return a negative, zero or positive integer as the first key is greater
+     * than, equal to or less than the second key.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public int compare(WritableComparable a, WritableComparable b) {
+        return -super.compare(a, b);
+    }
+
+    /**
+     * A method comparing two serialized keys in decreasing order.
+     *
+     * @param b1 the first byte array.
+     * @param s1 the start of the first key.
+     * @param l1 the length of the first key.
+     * @param b2 the second byte array.
+     * @param s2 the start of the second key.
+     * @param l2 the length of the second key.
+     * @return a negative, zero or positive integer as the first key is greater
+     * than, equal to or less than the second key.
+     */
+    @Override
+    public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+        return -super.compare(b1, s1, l1, b2, s2, l2);
+    }
+}
@@ -0,0 +1,78 @@
+package com.tkb.delab.io;
+
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.util.VertexIds;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A line oriented reader of an edge list, one edge per line with its vertices
+ * separated by a delimiter, discarding loops and invalid malformed lines the
+ * same way the edge partitioning mapper does.
+ *
+ * @author Akis Papadopoulos
+ */
+public class EdgeReader implements Closeable {
+
+    // The underlying line reader
+    private BufferedReader in;
+
+    // Input delimiter character
+    private String delimiter;
+
+    /**
+     * A constructor creating an edge reader.
+     *
+     * @param in the reader of the edge list.
+     * @param delimiter the regular expression separating the vertices.
+     */
+    public EdgeReader(Reader in, String delimiter) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * A method reading the next valid edge into the given edge.
+     *
+     * @param edge the edge to fill in.
+     * @return true if an edge is read, false if the end of the input is reached.
+     * @throws IOException if the underlying reader fails.
+     */
+    public boolean next(Edge edge) throws IOException {
+        String line;
+
+        while ((line = in.readLine()) != null) {
+            // Extracting the vertices of the edge
+            String[] tokens = line.split(delimiter);
+
+            if (tokens.length == 2) {
+                try {
+                    int v = VertexIds.parse(tokens[0]);
+                    int u = VertexIds.parse(tokens[1]);
+
+                    if (v != u) {
+                        edge.v = v;
+                        edge.u = u;
+
+                        return true;
+                    }
+                } catch (NumberFormatException exc) {
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A method closing the underlying reader.
+     *
+     * @throws IOException if the underlying reader fails.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
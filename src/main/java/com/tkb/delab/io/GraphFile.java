@@ -0,0 +1,405 @@
+package com.tkb.delab.io;
+
+import com.tkb.delab.model.CompressedGraph;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A binary file format of a compressed graph, so a graph is loaded without
+ * parsing any text. The file starts with a header holding the magic number,
+ * the version, the flags, the number of vertices, the total length of the
+ * neighborhoods and the length of the neighbors in bytes, followed by the
+ * vertex ids, the neighborhood offsets and the neighbors. All values are big
+ * endian. The neighbors are stored either as plain ints or delta encoded, each
+ * neighborhood as its first neighbor followed by the gaps between successive
+ * neighbors minus one, in variable length bytes of 7 bits each.
+ *
+ * @author Akis Papadopoulos
+ */
+public final class GraphFile {
+
+    // Magic number of the format, DSGB in ascii
+    public static final int MAGIC = 0x44534742;
+
+    // Version of the format
+    public static final int VERSION = 1;
+
+    // Flag marking delta encoded neighbors
+    public static final int DELTA = 1;
+
+    // Length of the header in bytes
+    private static final int HEADER = 28;
+
+    // Number of neighbors per mapped region, as a power of two
+    private static final int REGION_BITS = 28;
+
+    /**
+     * A method writing a graph in binary form.
+     *
+     * @param graph the compressed graph.
+     * @param out the output to write to.
+     * @param delta true to delta encode the neighbors otherwise false.
+     * @throws IOException if the output fails.
+     */
+    public static void write(CompressedGraph graph, DataOutput out, boolean delta) throws IOException {
+        int n = graph.size();
+
+        // Measuring the neighbors in bytes
+        long length = 4L * graph.volume();
+
+        if (delta) {
+            length = 0;
+
+            for (int v = 0; v < n; v++) {
+                int previous = -1;
+
+                for (int p = graph.offset(v); p < graph.offset(v + 1); p++) {
+                    length += size(graph.neighbor(p) - previous - 1);
+
+                    previous = graph.neighbor(p);
+                }
+            }
+        }
+
+        // Writing the header
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(delta ? DELTA : 0);
+        out.writeInt(n);
+        out.writeInt(graph.volume());
+        out.writeLong(length);
+
+        // Writing the vertex ids and the neighborhood offsets
+        for (int v = 0; v < n; v++) {
+            out.writeInt(graph.id(v));
+        }
+
+        for (int v = 0; v <= n; v++) {
+            out.writeInt(graph.offset(v));
+        }
+
+        // Writing the neighbors
+        for (int v = 0; v < n; v++) {
+            int previous = -1;
+
+            for (int p = graph.offset(v); p < graph.offset(v + 1); p++) {
+                if (delta) {
+                    int gap = graph.neighbor(p) - previous - 1;
+
+                    while ((gap & ~0x7F) != 0) {
+                        out.writeByte((gap & 0x7F) | 0x80);
+
+                        gap >>>= 7;
+                    }
+
+                    out.writeByte(gap);
+
+                    previous = graph.neighbor(p);
+                } else {
+                    out.writeInt(graph.neighbor(p));
+                }
+            }
+        }
+    }
+
+    /**
+     * A method writing a graph in binary form into a local file.
+     *
+     * @param graph the compressed graph.
+     * @param file the file to write to.
+     * @param delta true to delta encode the neighbors otherwise false.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(CompressedGraph graph, File file, boolean delta) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+
+        try {
+            write(graph, out, delta);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * A method reading a graph in binary form, copying it into memory.
+     *
+     * @param in the input to read from.
+     * @return the compressed graph.
+     * @throws IOException if the input fails or is not a valid graph file.
+     */
+    public static CompressedGraph read(DataInput in) throws IOException {
+        // Reading the header
+        int magic = in.readInt();
+        int version = in.readInt();
+        int flags = in.readInt();
+        int n = in.readInt();
+        int volume = in.readInt();
+        long length = in.readLong();
+
+        check(magic, version, n, volume, length);
+
+        // Reading the vertex ids and the neighborhood offsets
+        int[] ids = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            ids[v] = in.readInt();
+        }
+
+        int[] offsets = new int[n + 1];
+
+        for (int v = 0; v <= n; v++) {
+            offsets[v] = in.readInt();
+        }
+
+        if (offsets[0] != 0 || offsets[n] != volume) {
+            throw new IOException("Invalid neighborhood offsets in graph file");
+        }
+
+        // Reading the neighbors, decoding the gaps if delta encoded
+        int[] neighbors = new int[volume];
+
+        for (int v = 0; v < n; v++) {
+            int previous = -1;
+
+            for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                if ((flags & DELTA) != 0) {
+                    int gap = 0;
+
+                    for (int shift = 0;; shift += 7) {
+                        int b = in.readByte();
+
+                        gap |= (b & 0x7F) << shift;
+
+                        if ((b & 0x80) == 0) {
+                            break;
+                        }
+                    }
+
+                    neighbors[p] = previous + gap + 1;
+
+                    previous = neighbors[p];
+                } else {
+                    neighbors[p] = in.readInt();
+                }
+            }
+        }
+
+        return new CompressedGraph(ids, offsets, neighbors);
+    }
+
+    /**
+     * A method loading a graph from a local file in binary form. Plain files
+     * are mapped into memory and the graph reads the mapped file directly, so
+     * no data is copied at load time and the pages are loaded on first access.
+     * Delta encoded files are decoded into memory instead. Note that the
+     * oriented graph of a triangulator is still copied into heap arrays.
+     *
+     * @param file the file to load.
+     * @return the compressed graph.
+     * @throws IOException if the file can't be read or is not a valid graph
+     * file.
+     */
+    public static CompressedGraph map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            FileChannel channel = raf.getChannel();
+
+            if (channel.size() < HEADER) {
+                throw new IOException("Truncated graph file " + file);
+            }
+
+            // Reading the header
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+
+            int magic = header.getInt();
+            int version = header.getInt();
+            int flags = header.getInt();
+            int n = header.getInt();
+            int volume = header.getInt();
+            long length = header.getLong();
+
+            check(magic, version, n, volume, length);
+
+            long base = HEADER + 4L * (2L * n + 1);
+
+            if (channel.size() < base + length) {
+                throw new IOException("Truncated graph file " + file);
+            }
+
+            if ((flags & DELTA) != 0) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+
+                try {
+                    return read(in);
+                } finally {
+                    in.close();
+                }
+            }
+
+            // Mapping the vertex ids, the offsets and the neighbors region by region
+            IntBuffer ids = channel.map(FileChannel.MapMode.READ_ONLY, HEADER, 4L * n).asIntBuffer();
+            IntBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + 4L * n, 4L * (n + 1)).asIntBuffer();
+
+            if (offsets.get(0) != 0 || offsets.get(n) != volume) {
+                throw new IOException("Invalid neighborhood offsets in graph file " + file);
+            }
+
+            int count = (int) ((volume + (1L << REGION_BITS) - 1) >>> REGION_BITS);
+
+            IntBuffer[] regions = new IntBuffer[count];
+
+            for (int k = 0; k < count; k++) {
+                long first = (long) k << REGION_BITS;
+                long size = Math.min(1L << REGION_BITS, volume - first);
+
+                regions[k] = channel.map(FileChannel.MapMode.READ_ONLY, base + 4L * first, 4L * size).asIntBuffer();
+            }
+
+            return new MappedGraph(n, volume, ids, offsets, regions);
+        } finally {
+            // Mappings stay valid once the channel is closed
+            raf.close();
+        }
+    }
+
+    /**
+     * A method checking the header of a graph file.
+     *
+     * @param magic the magic number.
+     * @param version the version.
+     * @param n the number of vertices.
+     * @param volume the total length of the neighborhoods.
+     * @param length the length of the neighbors in bytes.
+     * @throws IOException if the header is not valid.
+     */
+    private static void check(int magic, int version, int n, int volume, long length) throws IOException {
+        if (magic != MAGIC) {
+            throw new IOException("Not a graph file, magic number " + Integer.toHexString(magic));
+        }
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported graph file version " + version);
+        }
+
+        if (n < 0 || volume < 0 || length < 0) {
+            throw new IOException("Invalid graph file header, " + n + " vertices and " + volume + " neighbors");
+        }
+    }
+
+    /**
+     * A method returning the number of bytes a gap is encoded into.
+     *
+     * @param gap the gap.
+     * @return the number of bytes.
+     */
+    private static int size(int gap) {
+        int bytes = 1;
+
+        while ((gap & ~0x7F) != 0) {
+            gap >>>= 7;
+
+            bytes++;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * A compressed graph reading a mapped plain graph file, the neighbors split
+     * into regions the size of a mapping allows. Orienting the graph copies the
+     * kept neighbors into an array based graph.
+     */
+    private static class MappedGraph extends CompressedGraph {
+
+        // Number of vertices
+        private final int n;
+
+        // Total length of the neighborhoods
+        private final int volume;
+
+        // Mapped vertex ids
+        private final IntBuffer ids;
+
+        // Mapped neighborhood offsets
+        private final IntBuffer offsets;
+
+        // Mapped regions of the neighbors
+        private final IntBuffer[] regions;
+
+        /**
+         * A constructor creating a graph over the mapped sections of a file.
+         *
+         * @param n the number of vertices.
+         * @param volume the total length of the neighborhoods.
+         * @param ids the mapped vertex ids.
+         * @param offsets the mapped neighborhood offsets.
+         * @param regions the mapped regions of the neighbors.
+         */
+        MappedGraph(int n, int volume, IntBuffer ids, IntBuffer offsets, IntBuffer[] regions) {
+            this.n = n;
+            this.volume = volume;
+            this.ids = ids;
+            this.offsets = offsets;
+            this.regions = regions;
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public int volume() {
+            return volume;
+        }
+
+        @Override
+        public int id(int i) {
+            return ids.get(i);
+        }
+
+        @Override
+        public int offset(int i) {
+            return offsets.get(i);
+        }
+
+        @Override
+        public int neighbor(int p) {
+            return regions[p >>> REGION_BITS].get(p & ((1 << REGION_BITS) - 1));
+        }
+
+        @Override
+        public boolean contains(int i, int j) {
+            int lo = offset(i);
+            int hi = offset(i + 1) - 1;
+
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int u = neighbor(mid);
+
+                if (u < j) {
+                    lo = mid + 1;
+                } else if (u > j) {
+                    hi = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
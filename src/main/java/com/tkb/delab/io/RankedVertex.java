@@ -0,0 +1,156 @@
+package com.tkb.delab.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
+
+/**
+ * A writable comparable representing a vertex along with the rank it gets
+ * during the relabeling into dense indices. Vertices are sorted by rank and
+ * then by vertex, so the sorted order is the order of the dense indices.
+ *
+ * @author Akis Papadopoulos
+ */
+public class RankedVertex implements WritableComparable<RankedVertex> {
+
+    static {
+        WritableComparator.define(RankedVertex.class, new Comparator());
+    }
+
+    public int rank;
+
+    public long id;
+
+    /**
+     * A constructor creating a ranked vertex.
+     */
+    public RankedVertex() {
+    }
+
+    /**
+     * A constructor creating a ranked vertex.
+     *
+     * @param rank the rank of the vertex.
+     * @param id the vertex.
+     */
+    public RankedVertex(int rank, long id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    /**
+     * A method deserializing this ranked vertex.
+     *
+     * @param in source for raw byte representation.
+     */
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        rank = in.readInt();
+        id = in.readLong();
+    }
+
+    /**
+     * A method serializing this ranked vertex.
+     *
+     * @param out where to write the raw byte representation.
+     */
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(rank);
+        out.writeLong(id);
+    }
+
+    /**
+     * A method checking two ranked vertices for equality.
+     *
+     * @param object the object comparing to.
+     * @return true if object is equal to this object, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        RankedVertex other = (RankedVertex) object;
+
+        return this.rank == other.rank && this.id == other.id;
+    }
+
+    /**
+     * A method defining a natural sort order for ranked vertices, sorted first
+     * by the rank and then by the vertex in ascending order.
+     *
+     * @return a value less than zero, a value greater than zero, or zero if
+     * this vertex should be sorted before, sorted after, or is equal to object
+     * other.
+     */
+    @Override
+    public int compareTo(RankedVertex other) {
+        if (this.rank != other.rank) {
+            return this.rank < other.rank ? -1 : 1;
+        }
+
+        return this.id < other.id ? -1 : (this.id == other.id ? 0 : 1);
+    }
+
+    /**
+     * A method returning a hash code value for this ranked vertex.
+     *
+     * @return hash code for the ranked vertex.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * rank + (int) (id ^ (id >>> 32));
+    }
+
+    /**
+     * A method generating a human-readable textual representation of this
+     * ranked vertex.
+     *
+     * @return human-readable textual representation of this ranked vertex.
+     */
+    @Override
+    public String toString() {
+        return rank + "," + id;
+    }
+
+    /**
+     * A raw comparator sorting ranked vertices by rank and then by vertex,
+     * comparing the serialized bytes without deserializing the keys.
+     */
+    public static class Comparator extends WritableComparator {
+
+        /**
+         * A constructor creating the comparator.
+         */
+        public Comparator() {
+            super(RankedVertex.class);
+        }
+
+        /**
+         * A method comparing two serialized ranked vertices.
+         *
+         * @param b1 the first byte array.
+         * @param s1 the start of the first key.
+         * @param l1 the length of the first key.
+         * @param b2 the second byte array.
+         * @param s2 the start of the second key.
+         * @param l2 the length of the second key.
+         * @return a negative, zero or positive integer as the first key is less
+         * than, equal to or greater than the second key.
+         */
+        @Override
+        public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+            int x = readInt(b1, s1);
+            int y = readInt(b2, s2);
+
+            if (x != y) {
+                return x < y ? -1 : 1;
+            }
+
+            long a = readLong(b1, s1 + 4);
+            long b = readLong(b2, s2 + 4);
+
+            return a < b ? -1 : (a == b ? 0 : 1);
+        }
+    }
+}
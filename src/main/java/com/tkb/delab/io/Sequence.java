@@ -16,6 +16,9 @@ public class Sequence<E extends Writable> extends ArrayList<E> implements Writab
 
     private static final long serialVersionUID = 4911321393319821791L;
 
+    // The class of the items read last
+    private transient Class<E> type;
+
     /**
      * A constructor creating a sequence of integers.
      */
@@ -36,42 +39,72 @@ public class Sequence<E extends Writable> extends ArrayList<E> implements Writab
      *
      * @param items the sequence of integers.
      */
+    @SafeVarargs
     public Sequence(E... items) {
         super(Arrays.asList(items));
     }
 
     /**
-     * A method deserializing this sequence.
+     * A method deserializing this sequence. The class of the items is loaded
+     * once and kept while the following records hold the same class, and the
+     * items already in the sequence are read in place instead of creating new
+     * ones, as the records of a task reuse the same sequence.
      *
      * @param in source for raw byte representation.
+     * @throws IOException if the input fails or the class of the items can't
+     * be loaded or instantiated.
      */
     @Override
     public void readFields(DataInput in) throws IOException {
-        // Clearing the list
-        this.clear();
-
         // Getting the number of items
         int numFields = in.readInt();
 
         // Canceling in case of no items
         if (numFields == 0) {
+            this.clear();
+
             return;
         }
 
-        try {
-            // Getting the name of the class
-            String className = in.readUTF();
+        // Getting the name of the class
+        String className = in.readUTF();
+
+        // Loading the class unless already loaded, dropping the items of any other class
+        if (type == null || !type.getName().equals(className)) {
+            try {
+                // Checking the class is a writable, the item type is given by the writer
+                @SuppressWarnings("unchecked")
+                Class<E> loaded = (Class<E>) Class.forName(className).asSubclass(Writable.class);
+
+                type = loaded;
+            } catch (ClassNotFoundException exc) {
+                throw new IOException("Unable to load the sequence item class " + className, exc);
+            } catch (ClassCastException exc) {
+                throw new IOException("Unable to load the sequence item class " + className, exc);
+            }
 
-            // Loading an instance of the class
-            Class<E> c = (Class<E>) Class.forName(className);
+            this.clear();
+        }
 
-            // Creating an reference of the class
-            E obj;
+        // Dropping the items beyond the new length
+        while (this.size() > numFields) {
+            this.remove(this.size() - 1);
+        }
 
-            // Iterating through the items
-            for (int i = 0; i < numFields; i++) {
-                // Creating a new instance of the class
-                obj = (E) c.newInstance();
+        // Iterating through the items
+        for (int i = 0; i < numFields; i++) {
+            if (i < this.size()) {
+                // Reading the next item in place
+                this.get(i).readFields(in);
+            } else {
+                E obj;
+
+                try {
+                    // Creating a new instance of the class
+                    obj = type.getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException exc) {
+                    throw new IOException("Unable to instantiate the sequence item class " + className, exc);
+                }
 
                 // Reading the next item
                 obj.readFields(in);
@@ -79,8 +112,6 @@ public class Sequence<E extends Writable> extends ArrayList<E> implements Writab
                 // Adding the item into the sequence
                 this.add(obj);
             }
-
-        } catch (Exception exc) {
         }
     }
 
@@ -103,7 +134,7 @@ public class Sequence<E extends Writable> extends ArrayList<E> implements Writab
         E obj = get(0);
 
         // Writing the name of the class
-        out.writeUTF(obj.getClass().getCanonicalName());
+        out.writeUTF(obj.getClass().getName());
 
         // Iterating through the items
         for (int i = 0; i < size(); i++) {
@@ -0,0 +1,130 @@
+package com.tkb.delab.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.apache.hadoop.io.Writable;
+
+/**
+ * A writable representing the support record of an edge within a triangle,
+ * that is the lambda bounds of the edge, the triangle and the support value,
+ * written as six plain integers with no class name or reflection involved.
+ *
+ * @author Akis Papadopoulos
+ */
+public class SupportRecordWritable implements Writable {
+
+    public int kappa;
+
+    public int lambda;
+
+    public int v;
+
+    public int u;
+
+    public int w;
+
+    public int support;
+
+    /**
+     * A constructor creating a support record.
+     */
+    public SupportRecordWritable() {
+    }
+
+    /**
+     * A constructor creating a support record.
+     *
+     * @param kappa the lower lambda bound of the edge.
+     * @param lambda the upper lambda bound of the edge.
+     * @param v the first vertex of the triangle.
+     * @param u the second vertex of the triangle.
+     * @param w the third vertex of the triangle.
+     * @param support the support value, 1 if the edge is supported otherwise 0.
+     */
+    public SupportRecordWritable(int kappa, int lambda, int v, int u, int w, int support) {
+        this.kappa = kappa;
+        this.lambda = lambda;
+        this.v = v;
+        this.u = u;
+        this.w = w;
+        this.support = support;
+    }
+
+    /**
+     * A method deserializing this support record.
+     *
+     * @param in source for raw byte representation.
+     */
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        kappa = in.readInt();
+        lambda = in.readInt();
+        v = in.readInt();
+        u = in.readInt();
+        w = in.readInt();
+        support = in.readInt();
+    }
+
+    /**
+     * A method serializing this support record.
+     *
+     * @param out where to write the raw byte representation.
+     */
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(kappa);
+        out.writeInt(lambda);
+        out.writeInt(v);
+        out.writeInt(u);
+        out.writeInt(w);
+        out.writeInt(support);
+    }
+
+    /**
+     * A method checking two support records for equality.
+     *
+     * @param object the object comparing to.
+     * @return true if object is equal to this object, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof SupportRecordWritable)) {
+            return false;
+        }
+
+        SupportRecordWritable other = (SupportRecordWritable) object;
+
+        return this.kappa == other.kappa && this.lambda == other.lambda && this.v == other.v
+                && this.u == other.u && this.w == other.w && this.support == other.support;
+    }
+
+    /**
+     * A method returning a hash code value for the support record.
+     *
+     * @return hash code for the support record.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + kappa;
+        hash = 31 * hash + lambda;
+        hash = 31 * hash + v;
+        hash = 31 * hash + u;
+        hash = 31 * hash + w;
+        hash = 31 * hash + support;
+
+        return hash;
+    }
+
+    /**
+     * A method generating a human-readable textual representation of this
+     * support record, in the same form a sequence of its values is given.
+     *
+     * @return human-readable textual representation of this support record.
+     */
+    @Override
+    public String toString() {
+        return kappa + "," + lambda + "," + v + "," + u + "," + w + "," + support;
+    }
+}
@@ -0,0 +1,192 @@
+package com.tkb.delab.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
+
+/**
+ * A writable comparable representing a vertex tagged by the source of the
+ * record it keys within a reduce side join. Keys are sorted by vertex and then
+ * by tag, so the record tagged by zero comes first, while the hash code is
+ * given by the vertex only, so all the records of a vertex are partitioned
+ * into the same reducer.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TaggedVertex implements WritableComparable<TaggedVertex> {
+
+    static {
+        WritableComparator.define(TaggedVertex.class, new Comparator());
+    }
+
+    public long id;
+
+    public int tag;
+
+    /**
+     * A constructor creating a tagged vertex.
+     */
+    public TaggedVertex() {
+    }
+
+    /**
+     * A constructor creating a tagged vertex.
+     *
+     * @param id the vertex.
+     * @param tag the tag of the record.
+     */
+    public TaggedVertex(long id, int tag) {
+        this.id = id;
+        this.tag = tag;
+    }
+
+    /**
+     * A method deserializing this tagged vertex.
+     *
+     * @param in source for raw byte representation.
+     */
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        id = in.readLong();
+        tag = in.readInt();
+    }
+
+    /**
+     * A method serializing this tagged vertex.
+     *
+     * @param out where to write the raw byte representation.
+     */
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeInt(tag);
+    }
+
+    /**
+     * A method checking two tagged vertices for equality.
+     *
+     * @param object the object comparing to.
+     * @return true if object is equal to this object, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        TaggedVertex other = (TaggedVertex) object;
+
+        return this.id == other.id && this.tag == other.tag;
+    }
+
+    /**
+     * A method defining a natural sort order for tagged vertices, sorted first
+     * by the vertex and then by the tag in ascending order.
+     *
+     * @return a value less than zero, a value greater than zero, or zero if
+     * this vertex should be sorted before, sorted after, or is equal to object
+     * other.
+     */
+    @Override
+    public int compareTo(TaggedVertex other) {
+        if (this.id != other.id) {
+            return this.id < other.id ? -1 : 1;
+        }
+
+        return this.tag < other.tag ? -1 : (this.tag == other.tag ? 0 : 1);
+    }
+
+    /**
+     * A method returning a hash code value given by the vertex only.
+     *
+     * @return hash code for the vertex.
+     */
+    @Override
+    public int hashCode() {
+        return (int) (id ^ (id >>> 32));
+    }
+
+    /**
+     * A method generating a human-readable textual representation of this
+     * tagged vertex.
+     *
+     * @return human-readable textual representation of this tagged vertex.
+     */
+    @Override
+    public String toString() {
+        return id + "," + tag;
+    }
+
+    /**
+     * A raw comparator sorting tagged vertices by vertex and then by tag,
+     * comparing the serialized bytes without deserializing the keys.
+     */
+    public static class Comparator extends WritableComparator {
+
+        /**
+         * A constructor creating the comparator.
+         */
+        public Comparator() {
+            super(TaggedVertex.class);
+        }
+
+        /**
+         * A method comparing two serialized tagged vertices.
+         *
+         * @param b1 the first byte array.
+         * @param s1 the start of the first key.
+         * @param l1 the length of the first key.
+         * @param b2 the second byte array.
+         * @param s2 the start of the second key.
+         * @param l2 the length of the second key.
+         * @return a negative, zero or positive integer as the first key is less
+         * than, equal to or greater than the second key.
+         */
+        @Override
+        public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+            long a = readLong(b1, s1);
+            long b = readLong(b2, s2);
+
+            if (a != b) {
+                return a < b ? -1 : 1;
+            }
+
+            int x = readInt(b1, s1 + 8);
+            int y = readInt(b2, s2 + 8);
+
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+    }
+
+    /**
+     * A raw comparator grouping tagged vertices by vertex only, so a single
+     * reduce call gets all the records of a vertex in the order of their tags.
+     */
+    public static class GroupingComparator extends WritableComparator {
+
+        /**
+         * A constructor creating the comparator.
+         */
+        public GroupingComparator() {
+            super(TaggedVertex.class);
+        }
+
+        /**
+         * A method comparing the vertices of two serialized tagged vertices.
+         *
+         * @param b1 the first byte array.
+         * @param s1 the start of the first key.
+         * @param l1 the length of the first key.
+         * @param b2 the second byte array.
+         * @param s2 the start of the second key.
+         * @param l2 the length of the second key.
+         * @return a negative, zero or positive integer as the first vertex is
+         * less than, equal to or greater than the second vertex.
+         */
+        @Override
+        public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+            long a = readLong(b1, s1);
+            long b = readLong(b2, s2);
+
+            return a < b ? -1 : (a == b ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.io.Pair;
+import java.io.IOException;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input a partial triangle count of an edge or a vertex,
+ * emitting the count keyed by the edge or the vertex, discarding invalid or
+ * malformed input. A vertex is given as a pair of the vertex with itself.
+ *
+ * Input: <code><v,u,count></code>
+ *
+ * Output: <code><v,u>, count</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class CountAggregationMapper extends Mapper<LongWritable, Text, Pair, LongWritable> {
+
+    /**
+     * A map method getting as input a partial count of an edge or a vertex,
+     * emitting the count keyed by the edge or the vertex.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v,u,count></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        String[] tokens = value.toString().split(",");
+
+        if (tokens.length == 3) {
+            try {
+                int v = Integer.parseInt(tokens[0]);
+                int u = Integer.parseInt(tokens[1]);
+                long count = Long.parseLong(tokens[2]);
+
+                context.write(new Pair(v, u), new LongWritable(count));
+            } catch (NumberFormatException exc) {
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.util.VertexIds;
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper emitting each edge keyed by both of its vertices, so each vertex
+ * collects its whole neighborhood, discarding loops and invalid malformed
+ * input.
+ *
+ * Input: <code><v,u></code>
+ *
+ * Output:
+ * <code>
+ * v, u
+ * u, v
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class DegreePruningMapper extends Mapper<LongWritable, Text, IntWritable, IntWritable> {
+
+    // Input delimiter character
+    private String delimiter;
+
+    /**
+     * A map method getting as input an edge, emitting each vertex of the edge
+     * keyed by the other vertex.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v, u></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        // Extracting the vertices of the edge
+        String[] tokens = value.toString().split(delimiter);
+
+        if (tokens.length == 2) {
+            try {
+                int v = VertexIds.parse(tokens[0]);
+                int u = VertexIds.parse(tokens[1]);
+
+                if (v != u) {
+                    context.write(new IntWritable(v), new IntWritable(u));
+                    context.write(new IntWritable(u), new IntWritable(v));
+                }
+            } catch (NumberFormatException exc) {
+            }
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        delimiter = conf.get("input.text.delimiter", "\t");
+    }
+}
@@ -0,0 +1,56 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.io.TaggedVertex;
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input an entry of the vertex dictionary, emitting the
+ * translation of the vertex tagged by zero, so it is the first record of the
+ * vertex within a reduce side join. Given the compact direction, the original
+ * id is translated into the dense index, otherwise given the restore direction
+ * the dense index is translated back into the original id.
+ *
+ * Input: <code>v, index</code>
+ *
+ * Output:
+ * <code>
+ * compact: <v,0>, index
+ * restore: <index,0>, v
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class DictionaryJoinMapper extends Mapper<LongWritable, IntWritable, TaggedVertex, Text> {
+
+    // Translate dense indices back into original ids
+    private boolean restore;
+
+    /**
+     * A map method getting as input a dictionary entry, emitting the vertex
+     * along with its translation.
+     *
+     * @param key the original id of the vertex.
+     * @param value the dense index of the vertex.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, IntWritable value, Context context) throws IOException, InterruptedException {
+        if (restore) {
+            context.write(new TaggedVertex(value.get(), 0), new Text(Long.toString(key.get())));
+        } else {
+            context.write(new TaggedVertex(key.get(), 0), new Text(Integer.toString(value.get())));
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        restore = conf.get("vertex.join.direction", "compact").equals("restore");
+    }
+}
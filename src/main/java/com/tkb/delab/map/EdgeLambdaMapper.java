@@ -0,0 +1,52 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.util.VertexIds;
+import java.io.IOException;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input a line consisting of a triangle followed by one of
+ * its edges attached with the kappa and lambda values, emitting the lambda
+ * value keyed by the edge, so the lines repeating an edge are grouped into
+ * one, discarding invalid or malformed input.
+ *
+ * Input: <code><v,u,w,v,u,kappa,lambda></code>
+ *
+ * Output: <code><v,u>, lambda</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class EdgeLambdaMapper extends Mapper<LongWritable, Text, Pair, IntWritable> {
+
+    /**
+     * A map method getting as input a triangle followed by one of its edges
+     * attached with its kappa and lambda bounds, emitting the lambda value
+     * keyed by the edge.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v,u,w,v,u,kappa,lambda></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        String[] tokens = value.toString().split(",");
+
+        if (tokens.length == 7) {
+            try {
+                // Extracting the edge
+                int v = VertexIds.parse(tokens[3]);
+                int u = VertexIds.parse(tokens[4]);
+
+                // Extracting the lambda upper bound
+                int lambda = Integer.parseInt(tokens[6]);
+
+                context.write(new Pair(v, u), new IntWritable(lambda));
+            } catch (NumberFormatException exc) {
+            }
+        }
+    }
+}
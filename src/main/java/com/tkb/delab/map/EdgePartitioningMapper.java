@@ -3,6 +3,8 @@ package com.tkb.delab.map;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Triple;
 import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.util.VertexIds;
 import java.io.IOException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.LongWritable;
@@ -11,8 +13,10 @@ import org.apache.hadoop.mapreduce.Mapper;
 
 /**
  * A mapper hashing sorted edges into multiple vertex partitions, discarding
- * loops and invalid malformed input. Be aware that the hashing is not a
- * 2-universal hashing ((alpha * v + beta) % prime) % rho).
+ * loops and invalid malformed input, while vertex ids beyond the integer range
+ * fail the task. Be aware that the hashing is not a 2-universal hashing
+ * ((alpha * v + beta) % prime) % rho). Edges can be sampled with a given
+ * probability, the same edge kept or dropped in every task.
  *
  * Input: <code><v,u></code>
  *
@@ -37,6 +41,12 @@ public class EdgePartitioningMapper extends Mapper<LongWritable, Text, Triple, P
     // Sorting vetices mode
     private boolean sort;
 
+    // Probability an edge is kept
+    private float probability;
+
+    // Seed of the edge sampling
+    private long seed;
+
     /**
      * A map method getting as input a sorted edge, hashing it into multiple
      * vertex partitions. The indexes of each partition is a superset of the set
@@ -53,8 +63,13 @@ public class EdgePartitioningMapper extends Mapper<LongWritable, Text, Triple, P
 
         if (tokens.length == 2) {
             try {
-                int v = Integer.parseInt(tokens[0]);
-                int u = Integer.parseInt(tokens[1]);
+                int v = VertexIds.parse(tokens[0]);
+                int u = VertexIds.parse(tokens[1]);
+
+                // Dropping the edges not sampled
+                if (probability < 1 && EdgeKey.uniform(EdgeKey.of(v, u), seed) >= probability) {
+                    return;
+                }
 
                 if (v != u) {
                     Edge e = new Edge(v, u);
@@ -92,10 +107,17 @@ public class EdgePartitioningMapper extends Mapper<LongWritable, Text, Triple, P
         delimiter = conf.get("input.text.delimiter", "\t");
         rho = conf.getInt("vertex.partitions.number", 3);
         sort = conf.getBoolean("vertices.sorting.mode", true);
+        probability = conf.getFloat("edge.sampling.probability", 1f);
+        seed = conf.getLong("edge.sampling.seed", 0L);
 
         // Fallback to default rho value
         if (rho < 3) {
             rho = 3;
         }
+
+        // Fallback to keeping all the edges
+        if (probability <= 0 || probability > 1) {
+            probability = 1;
+        }
     }
 }
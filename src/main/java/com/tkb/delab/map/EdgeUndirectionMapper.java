@@ -1,6 +1,7 @@
 package com.tkb.delab.map;
 
 import com.tkb.delab.io.Pair;
+import com.tkb.delab.util.VertexIds;
 import java.io.IOException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.IntWritable;
@@ -10,7 +11,8 @@ import org.apache.hadoop.mapreduce.Mapper;
 
 /**
  * A mapper sorting edges by the lowest vertex and hashing them into rho
- * disjoint partitions, discarding loops and invalid malformed input.
+ * disjoint partitions, discarding loops and invalid malformed input. Vertex
+ * ids beyond the integer range fail the task instead of being discarded.
  *
  * Input: <code><v,u></code>
  *
@@ -45,8 +47,8 @@ public class EdgeUndirectionMapper extends Mapper<LongWritable, Text, IntWritabl
         if (tokens.length == 2) {
             try {
                 // Getting the source and target vertices
-                int v = Integer.parseInt(tokens[0]);
-                int u = Integer.parseInt(tokens[1]);
+                int v = VertexIds.parse(tokens[0]);
+                int u = VertexIds.parse(tokens[1]);
 
                 // Hashing the edge by the lowest vertex
                 if (v < u) {
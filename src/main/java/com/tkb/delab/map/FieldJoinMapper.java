@@ -0,0 +1,130 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.io.TaggedVertex;
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input a line of comma separated fields, whose leading
+ * fields hold vertices followed by reference fields repeating some of them,
+ * emitting the line keyed by the vertex of the field being joined and tagged
+ * by one, so it follows the dictionary entry of the vertex. Joining the first
+ * field, the line is validated discarding repeated leading vertices and
+ * malformed input, and each reference field is replaced by a reference
+ * <code>#i</code> to the leading field it repeats, so only the leading fields
+ * are joined.
+ *
+ * Input: <code><v,u,w,v,u,...></code>
+ *
+ * Output: <code><v,1>, <v,u,w,#0,#1,...></code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class FieldJoinMapper extends Mapper<LongWritable, Text, TaggedVertex, Text> {
+
+    // Input delimiter character
+    private String delimiter;
+
+    // The field being joined
+    private int field;
+
+    // Number of leading fields holding vertices
+    private int fields;
+
+    // Number of reference fields following the leading fields
+    private int references;
+
+    /**
+     * A map method getting as input a line, emitting the line keyed by the
+     * vertex of the field being joined.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line of fields.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        String[] tokens = value.toString().split(delimiter);
+
+        if (field > 0) {
+            context.write(new TaggedVertex(Long.parseLong(tokens[field]), 1), value);
+
+            return;
+        }
+
+        if (tokens.length < fields + references) {
+            return;
+        }
+
+        try {
+            // Validating the leading vertices are distinct
+            long[] vertices = new long[fields];
+
+            for (int i = 0; i < fields; i++) {
+                vertices[i] = Long.parseLong(tokens[i]);
+
+                for (int j = 0; j < i; j++) {
+                    if (vertices[j] == vertices[i]) {
+                        return;
+                    }
+                }
+            }
+
+            // Replacing each reference by the leading field it repeats
+            for (int i = fields; i < fields + references; i++) {
+                long vertex = Long.parseLong(tokens[i]);
+
+                int j = 0;
+
+                while (j < fields && vertices[j] != vertex) {
+                    j++;
+                }
+
+                if (j == fields) {
+                    return;
+                }
+
+                tokens[i] = "#" + j;
+            }
+
+            StringBuilder line = new StringBuilder();
+
+            for (int i = 0; i < tokens.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+
+                line.append(tokens[i]);
+            }
+
+            context.write(new TaggedVertex(vertices[0], 1), new Text(line.toString()));
+        } catch (NumberFormatException exc) {
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        delimiter = conf.get("input.text.delimiter", "\t");
+
+        field = conf.getInt("vertex.join.field", 0);
+
+        fields = conf.getInt("vertex.fields.number", 2);
+
+        // Fallback to default number of fields
+        if (fields < 1) {
+            fields = 2;
+        }
+
+        references = conf.getInt("vertex.fields.references", 0);
+
+        // Fallback to no references
+        if (references < 0) {
+            references = 0;
+        }
+    }
+}
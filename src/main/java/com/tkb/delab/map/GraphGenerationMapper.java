@@ -0,0 +1,158 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.alg.EdgeSink;
+import com.tkb.delab.alg.ErdosRenyiGenerator;
+import com.tkb.delab.alg.GraphGenerator;
+import com.tkb.delab.alg.PlantedGenerator;
+import com.tkb.delab.alg.PowerLawGenerator;
+import com.tkb.delab.alg.RmatGenerator;
+import com.tkb.delab.io.Pair;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input the index of a chunk of a synthetic graph,
+ * emitting the edges of the chunk given by the generator the configuration
+ * describes, discarding invalid or malformed input.
+ *
+ * Input: <code><chunk></code>
+ *
+ * Output: <code><v,u></code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class GraphGenerationMapper extends Mapper<LongWritable, Text, Pair, NullWritable> {
+
+    // Number of edges emitted between progress reports
+    private static final long REPORT_INTERVAL = 1L << 20;
+
+    // The generator of the graph
+    private GraphGenerator generator;
+
+    // Number of chunks the graph is split into
+    private int chunks;
+
+    /**
+     * A map method getting as input the index of a chunk, emitting the edges
+     * of the chunk.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><chunk></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, final Context context) throws IOException, InterruptedException {
+        int chunk;
+
+        try {
+            chunk = Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException exc) {
+            return;
+        }
+
+        if (chunk < 0 || chunk >= chunks) {
+            return;
+        }
+
+        try {
+            generator.generate(chunk, chunks, new EdgeSink() {
+
+                // Number of edges emitted so far
+                private long count;
+
+                @Override
+                public void edge(int v, int u) {
+                    try {
+                        context.write(new Pair(v, u), NullWritable.get());
+                    } catch (IOException exc) {
+                        throw new UncheckedIOException(exc);
+                    } catch (InterruptedException exc) {
+                        // Restoring the interrupt status of the task thread
+                        Thread.currentThread().interrupt();
+
+                        throw new UncheckedIOException(new InterruptedIOException(exc.getMessage()));
+                    }
+
+                    // Keeping the task alive through long chunks
+                    if (++count % REPORT_INTERVAL == 0) {
+                        context.progress();
+                    }
+                }
+            });
+        } catch (UncheckedIOException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        chunks = conf.getInt("generator.chunks", 1);
+
+        generator = create(conf);
+    }
+
+    /**
+     * A method creating the generator described by the configuration, given
+     * the model, the number of vertices and the average degree, along with the
+     * parameters of each model.
+     *
+     * @param conf the configuration of the job.
+     * @return the graph generator.
+     * @throws IllegalArgumentException if the model is unknown or any
+     * parameter is invalid.
+     */
+    public static GraphGenerator create(Configuration conf) {
+        String model = conf.get("generator.model", "gnp");
+        int n = conf.getInt("generator.vertices", 0);
+        int degree = conf.getInt("generator.degree", 0);
+        long seed = conf.getLong("generator.seed", 0L);
+
+        if (n < 2 || degree < 1) {
+            throw new IllegalArgumentException("Invalid graph of " + n + " vertices and average degree " + degree);
+        }
+
+        long edges = (long) n * degree / 2;
+
+        if (model.equals("gnp")) {
+            return new ErdosRenyiGenerator(n, (double) degree / (n - 1), seed);
+        } else if (model.equals("rmat")) {
+            // Rounding the vertices up to a power of two
+            int scale = 32 - Integer.numberOfLeadingZeros(n - 1);
+
+            String[] tokens = conf.get("generator.rmat.probabilities", "0.57,0.19,0.19").split(",");
+
+            if (tokens.length != 3) {
+                throw new IllegalArgumentException("Invalid quadrant probabilities " + conf.get("generator.rmat.probabilities"));
+            }
+
+            return new RmatGenerator(scale, edges, Double.parseDouble(tokens[0]),
+                    Double.parseDouble(tokens[1]), Double.parseDouble(tokens[2]), seed);
+        } else if (model.equals("powerlaw")) {
+            return new PowerLawGenerator(n, edges, conf.getFloat("generator.powerlaw.exponent", 2.5f), seed);
+        } else if (model.equals("planted")) {
+            String[] tokens = conf.get("generator.planted.cliques", "").split(",");
+
+            int[] sizes = new int[0];
+
+            if (!tokens[0].trim().isEmpty()) {
+                sizes = new int[tokens.length];
+
+                for (int i = 0; i < tokens.length; i++) {
+                    sizes[i] = Integer.parseInt(tokens[i].trim());
+                }
+            }
+
+            return new PlantedGenerator(new ErdosRenyiGenerator(n, (double) degree / (n - 1), seed), sizes, seed);
+        }
+
+        throw new IllegalArgumentException("Unknown graph model " + model + ", please use gnp, rmat, powerlaw or planted");
+    }
+}
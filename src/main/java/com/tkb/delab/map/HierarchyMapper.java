@@ -0,0 +1,32 @@
+package com.tkb.delab.map;
+
+import com.tkb.delab.io.Pair;
+import java.io.IOException;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input a unique edge along with its lambda value,
+ * emitting the edge keyed by its lambda value.
+ *
+ * Input: <code><v,u>, lambda</code>
+ *
+ * Output: <code>lambda, <v,u></code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class HierarchyMapper extends Mapper<Pair, IntWritable, IntWritable, Pair> {
+
+    /**
+     * A map method getting as input an edge along with its lambda value,
+     * emitting the edge keyed by the lambda value.
+     *
+     * @param key an edge.
+     * @param value the lambda value of the edge.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(Pair key, IntWritable value, Context context) throws IOException, InterruptedException {
+        context.write(value, key);
+    }
+}
@@ -3,6 +3,7 @@ package com.tkb.delab.map;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Triple;
 import com.tkb.delab.model.Triangle;
+import com.tkb.delab.util.VertexIds;
 import java.io.IOException;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.LongWritable;
@@ -51,9 +52,9 @@ public class LambdaBoundingMapper extends Mapper<LongWritable, Text, Pair, Tripl
         // Discarding invalid and malformed triples
         if (tokens.length == 3) {
             try {
-                int v = Integer.parseInt(tokens[0]);
-                int u = Integer.parseInt(tokens[1]);
-                int w = Integer.parseInt(tokens[2]);
+                int v = VertexIds.parse(tokens[0]);
+                int u = VertexIds.parse(tokens[1]);
+                int w = VertexIds.parse(tokens[2]);
 
                 // Discarding invalid trinagles with loops
                 if (v != u && v != w && u != w) {
@@ -1,9 +1,8 @@
 package com.tkb.delab.map;
 
 import com.tkb.delab.io.Pair;
-import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
 import java.io.IOException;
-import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Mapper;
@@ -21,7 +20,7 @@ import org.apache.hadoop.mapreduce.Mapper;
  *
  * @author Akis Papadopoulos
  */
-public class SearchMapper extends Mapper<LongWritable, Text, Pair, Sequence> {
+public class SearchMapper extends Mapper<LongWritable, Text, Pair, SupportRecordWritable> {
 
     /**
      * A map method getting as input an edge augmented by its lambda lower and
@@ -57,12 +56,7 @@ public class SearchMapper extends Mapper<LongWritable, Text, Pair, Sequence> {
                 int support = Integer.parseInt(tokens[7]);
 
                 // Emitting the lambdas, the triangle and the support value keyed by the edge
-                context.write(new Pair(v, u), new Sequence(new IntWritable(kappa),
-                        new IntWritable(lambda),
-                        new IntWritable(tv),
-                        new IntWritable(tu),
-                        new IntWritable(tw),
-                        new IntWritable(support)));
+                context.write(new Pair(v, u), new SupportRecordWritable(kappa, lambda, tv, tu, tw, support));
             } catch (NumberFormatException exc) {
             }
         }
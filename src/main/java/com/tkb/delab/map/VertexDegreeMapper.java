@@ -0,0 +1,86 @@
+package com.tkb.delab.map;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper emitting a unit degree for each of the leading vertices of a line,
+ * given by their original ids as longs, discarding lines with repeated
+ * leading vertices and invalid malformed input. Given edges, the degree summed
+ * up is the degree of each vertex within the graph.
+ *
+ * Input: <code><v,u></code>
+ *
+ * Output:
+ * <code>
+ * v, 1
+ * u, 1
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexDegreeMapper extends Mapper<LongWritable, Text, LongWritable, IntWritable> {
+
+    // The unit degree of an edge end
+    private static final IntWritable ONE = new IntWritable(1);
+
+    // Input delimiter character
+    private String delimiter;
+
+    // Number of leading fields holding vertices
+    private int fields;
+
+    /**
+     * A map method getting as input a line, emitting a unit degree for each
+     * of its leading vertices.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v, u></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        // Extracting the leading vertices of the line
+        String[] tokens = value.toString().split(delimiter);
+
+        if (tokens.length >= fields) {
+            long[] vertices = new long[fields];
+
+            try {
+                for (int i = 0; i < fields; i++) {
+                    vertices[i] = Long.parseLong(tokens[i]);
+
+                    for (int j = 0; j < i; j++) {
+                        if (vertices[j] == vertices[i]) {
+                            return;
+                        }
+                    }
+                }
+            } catch (NumberFormatException exc) {
+                return;
+            }
+
+            for (int i = 0; i < fields; i++) {
+                context.write(new LongWritable(vertices[i]), ONE);
+            }
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        delimiter = conf.get("input.text.delimiter", "\t");
+
+        fields = conf.getInt("vertex.fields.number", 2);
+
+        // Fallback to default number of fields
+        if (fields < 1) {
+            fields = 2;
+        }
+    }
+}
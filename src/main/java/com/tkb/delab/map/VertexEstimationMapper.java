@@ -0,0 +1,63 @@
+package com.tkb.delab.map;
+
+import java.io.IOException;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input the sampled triangle count of a vertex or an edge,
+ * emitting the vertex count as is and the edge count to both of its vertices,
+ * discarding invalid or malformed input. Vertex counts are given as they are,
+ * edge counts negated, as both are positive and a vertex count may exceed the
+ * range of an integer.
+ *
+ * Input:
+ * <code>
+ * <v,count>
+ * <v,u,count>
+ * </code>
+ *
+ * Output:
+ * <code>
+ * v, count
+ * v, -count
+ * u, -count
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexEstimationMapper extends Mapper<LongWritable, Text, IntWritable, LongWritable> {
+
+    /**
+     * A map method getting as input the count of a vertex or an edge, emitting
+     * it keyed by the vertices it concerns.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v,count></code> or
+     * <code><v,u,count></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        String[] tokens = value.toString().split(",");
+
+        try {
+            if (tokens.length == 2) {
+                int v = Integer.parseInt(tokens[0]);
+                long count = Long.parseLong(tokens[1]);
+
+                context.write(new IntWritable(v), new LongWritable(count));
+            } else if (tokens.length == 3) {
+                int v = Integer.parseInt(tokens[0]);
+                int u = Integer.parseInt(tokens[1]);
+                long count = Long.parseLong(tokens[2]);
+
+                context.write(new IntWritable(v), new LongWritable(-count));
+                context.write(new IntWritable(u), new LongWritable(-count));
+            }
+        } catch (NumberFormatException exc) {
+        }
+    }
+}
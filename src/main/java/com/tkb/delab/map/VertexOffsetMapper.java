@@ -0,0 +1,57 @@
+package com.tkb.delab.map;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * A mapper getting as input a vertex along with its partition and its local
+ * index within the partition, emitting the vertex along with its dense index
+ * given by the local index plus the offset of the partition.
+ *
+ * Input: <code><v,p,local></code>
+ *
+ * Output: <code>v, index</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexOffsetMapper extends Mapper<LongWritable, Text, LongWritable, IntWritable> {
+
+    // The offsets of the partitions
+    private long[] offsets;
+
+    /**
+     * A map method getting as input a locally indexed vertex, emitting the
+     * vertex along with its dense index.
+     *
+     * @param key the offset of the line within the input file.
+     * @param value a line in <code><v, p, local></code> form.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+        String[] tokens = value.toString().split(",");
+
+        long v = Long.parseLong(tokens[0]);
+        int p = Integer.parseInt(tokens[1]);
+        long local = Long.parseLong(tokens[2]);
+
+        context.write(new LongWritable(v), new IntWritable((int) (offsets[p] + local)));
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        String[] tokens = conf.getStrings("vertex.dictionary.offsets", "0");
+
+        offsets = new long[tokens.length];
+
+        for (int i = 0; i < tokens.length; i++) {
+            offsets[i] = Long.parseLong(tokens[i]);
+        }
+    }
+}
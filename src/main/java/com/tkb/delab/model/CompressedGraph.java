@@ -0,0 +1,371 @@
+package com.tkb.delab.model;
+
+import gnu.trove.set.hash.THashSet;
+import java.util.Arrays;
+
+/**
+ * A compressed sparse row representation of an undirected graph, where each
+ * vertex is given a dense index in ascending order of its id and the neighbors
+ * of each vertex are stored as a sorted slice of indices within a single array.
+ * The vertices can be renumbered into any other order for memory locality.
+ * Be aware duplicate edges and loops are discarded.
+ *
+ * @author Akis Papadopoulos
+ */
+public class CompressedGraph {
+
+    // Vertex ids by vertex index
+    private final int[] ids;
+
+    // Start of each vertex neighborhood within the neighbors array
+    private final int[] offsets;
+
+    // Neighbor indices of all the vertices
+    private final int[] neighbors;
+
+    /**
+     * A constructor building a graph in one pass over the given edge set.
+     *
+     * @param edges edge set graph induced by.
+     */
+    public CompressedGraph(THashSet<Edge> edges) {
+        this(endpoints(edges));
+    }
+
+    /**
+     * A constructor building a graph given a flat array of edge endpoints in
+     * <code>v1,u1,v2,u2,...</code> form. Be aware the given array is used as
+     * scratch space and its content is overwritten.
+     *
+     * @param ends the edge endpoints, two per edge.
+     */
+    public CompressedGraph(int[] ends) {
+        int length = ends.length - (ends.length % 2);
+
+        // Discarding loops by compacting the endpoint pairs
+        int k = 0;
+
+        for (int i = 0; i < length; i += 2) {
+            if (ends[i] != ends[i + 1]) {
+                ends[k++] = ends[i];
+                ends[k++] = ends[i + 1];
+            }
+        }
+
+        // Collecting the unique vertex ids in ascending order
+        int[] sorted = Arrays.copyOf(ends, k);
+
+        Arrays.sort(sorted);
+
+        int n = 0;
+
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+
+        ids = Arrays.copyOf(sorted, n);
+
+        // Replacing each endpoint id by its index and counting degrees
+        int[] start = new int[n + 1];
+
+        for (int i = 0; i < k; i++) {
+            ends[i] = Arrays.binarySearch(ids, ends[i]);
+
+            start[ends[i] + 1]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+
+        // Filling in each neighborhood in both directions
+        int[] cursor = Arrays.copyOf(start, n);
+
+        int[] adjacency = new int[k];
+
+        for (int i = 0; i < k; i += 2) {
+            int v = ends[i];
+            int u = ends[i + 1];
+
+            adjacency[cursor[v]++] = u;
+            adjacency[cursor[u]++] = v;
+        }
+
+        // Sorting each neighborhood discarding duplicate edges
+        offsets = new int[n + 1];
+
+        int size = 0;
+
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(adjacency, start[i], start[i + 1]);
+
+            offsets[i] = size;
+
+            for (int p = start[i]; p < start[i + 1]; p++) {
+                if (p == start[i] || adjacency[p] != adjacency[p - 1]) {
+                    adjacency[size++] = adjacency[p];
+                }
+            }
+        }
+
+        offsets[n] = size;
+
+        neighbors = size < adjacency.length ? Arrays.copyOf(adjacency, size) : adjacency;
+    }
+
+    /**
+     * A constructor wrapping an already built compressed representation.
+     *
+     * @param ids the vertex ids by vertex index.
+     * @param offsets the start of each neighborhood, plus the total length.
+     * @param neighbors the sorted neighbor indices of all the vertices.
+     */
+    public CompressedGraph(int[] ids, int[] offsets, int[] neighbors) {
+        this.ids = ids;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * A constructor for graphs held by other storage than arrays, which should
+     * override all the accessor methods.
+     */
+    protected CompressedGraph() {
+        this(null, null, null);
+    }
+
+    /**
+     * A method returning the number of vertices.
+     *
+     * @return the number of vertices.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * A method returning the total length of the neighborhoods, which is twice
+     * the number of undirected edges.
+     *
+     * @return the total length of the neighborhoods.
+     */
+    public int volume() {
+        return offsets[ids.length];
+    }
+
+    /**
+     * A method returning the id of the vertex with the given index.
+     *
+     * @param i the index of the vertex.
+     * @return the id of the vertex.
+     */
+    public int id(int i) {
+        return ids[i];
+    }
+
+    /**
+     * A method returning the start of the neighborhood of a vertex.
+     *
+     * @param i the index of the vertex, the number of vertices giving the
+     * total length of the neighborhoods.
+     * @return the position of the first neighbor of the vertex.
+     */
+    public int offset(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * A method returning the degree of a vertex.
+     *
+     * @param i the index of the vertex.
+     * @return the number of neighbors of the vertex.
+     */
+    public int degree(int i) {
+        return offset(i + 1) - offset(i);
+    }
+
+    /**
+     * A method returning the neighbor index stored at the given position.
+     *
+     * @param p a position within the neighbors array.
+     * @return the index of the neighbor.
+     */
+    public int neighbor(int p) {
+        return neighbors[p];
+    }
+
+    /**
+     * A method checking if two vertices are adjacent, using binary search
+     * within the neighborhood of the first vertex.
+     *
+     * @param i the index of the first vertex.
+     * @param j the index of the second vertex.
+     * @return true if the vertices are adjacent, false otherwise.
+     */
+    public boolean contains(int i, int j) {
+        return Arrays.binarySearch(neighbors, offsets[i], offsets[i + 1], j) >= 0;
+    }
+
+    /**
+     * A method ordering the vertices by degree in descending order, vertices of
+     * equal degree ordered by index.
+     *
+     * @return the vertex indices in rank order.
+     */
+    public int[] rank() {
+        int n = size();
+
+        // Counting the vertices of each degree
+        int max = 0;
+
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, degree(i));
+        }
+
+        int[] start = new int[max + 2];
+
+        for (int i = 0; i < n; i++) {
+            start[max - degree(i) + 1]++;
+        }
+
+        for (int d = 0; d <= max; d++) {
+            start[d + 1] += start[d];
+        }
+
+        // Placing each vertex into its degree bucket in index order
+        int[] order = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            order[start[max - degree(i)]++] = i;
+        }
+
+        return order;
+    }
+
+    /**
+     * A method orienting the graph by rank, where each vertex keeps as
+     * neighbors only the vertices ranked before it, that is of greater degree
+     * or of equal degree and lower index. The vertices keep their indices, so
+     * any order given to the graph is kept by the oriented graph as well. Each
+     * undirected edge is stored once, every neighborhood is sorted by index and
+     * holds no more than the square root of twice the number of edges.
+     *
+     * @return the oriented graph, indexed as this graph.
+     */
+    public CompressedGraph orient() {
+        int n = size();
+
+        int[] degrees = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            degrees[i] = degree(i);
+        }
+
+        // Counting the neighbors ranked before each vertex
+        int[] start = new int[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            for (int p = offset(i); p < offset(i + 1); p++) {
+                if (before(degrees, neighbor(p), i)) {
+                    start[i + 1]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+
+        // Copying the neighbors ranked before each vertex in index order
+        int[] oriented = new int[start[n]];
+
+        int[] kept = new int[n];
+
+        for (int i = 0, q = 0; i < n; i++) {
+            kept[i] = id(i);
+
+            for (int p = offset(i); p < offset(i + 1); p++) {
+                if (before(degrees, neighbor(p), i)) {
+                    oriented[q++] = neighbor(p);
+                }
+            }
+        }
+
+        return new CompressedGraph(kept, start, oriented);
+    }
+
+    /**
+     * A method renumbering the vertices, where the vertex at each position of
+     * the given order takes that position as its new index. The ids of the
+     * vertices are kept and every neighborhood is sorted again.
+     *
+     * @param order the vertex indices in the new order.
+     * @return the reordered graph.
+     */
+    public CompressedGraph reorder(int[] order) {
+        int n = size();
+
+        int[] index = new int[n];
+
+        for (int r = 0; r < n; r++) {
+            index[order[r]] = r;
+        }
+
+        // Copying each neighborhood in the new order under the new indices
+        int[] start = new int[n + 1];
+
+        int[] renamed = new int[volume()];
+
+        int[] relabeled = new int[n];
+
+        for (int r = 0; r < n; r++) {
+            int v = order[r];
+
+            relabeled[r] = id(v);
+
+            start[r + 1] = start[r] + degree(v);
+
+            for (int p = offset(v), q = start[r]; p < offset(v + 1); p++, q++) {
+                renamed[q] = index[neighbor(p)];
+            }
+
+            Arrays.sort(renamed, start[r], start[r + 1]);
+        }
+
+        return new CompressedGraph(relabeled, start, renamed);
+    }
+
+    /**
+     * A method checking if a vertex is ranked before another, that is of
+     * greater degree or of equal degree and lower index.
+     *
+     * @param degrees the degree of each vertex.
+     * @param j the index of the first vertex.
+     * @param i the index of the second vertex.
+     * @return true if the first vertex is ranked before the second.
+     */
+    private static boolean before(int[] degrees, int j, int i) {
+        return degrees[j] > degrees[i] || (degrees[j] == degrees[i] && j < i);
+    }
+
+    /**
+     * A method flattening an edge set into an array of endpoints.
+     *
+     * @param edges the edge set.
+     * @return the edge endpoints, two per edge.
+     */
+    private static int[] endpoints(THashSet<Edge> edges) {
+        int[] ends = new int[2 * edges.size()];
+
+        int k = 0;
+
+        for (Edge e : edges) {
+            ends[k++] = e.v;
+            ends[k++] = e.u;
+        }
+
+        return ends;
+    }
+}
@@ -12,5 +12,13 @@ public enum Counter {
     // Number of edges converged to an optimal valid lambda bound
     CONVERGED_EDGES,
     // Total sum of the lambda each edge has
-    SUM_OF_LAMBDA
+    SUM_OF_LAMBDA,
+    // Number of triangles counted
+    TRIANGLES,
+    // Number of vertices stripped for having low degree
+    PRUNED_VERTICES,
+    // Number of edges remaining after a pruning pass
+    REMAINING_EDGES,
+    // Twice the number of pairs of sampled triangles sharing an edge
+    SHARED_TRIANGLE_PAIRS
 }
@@ -0,0 +1,120 @@
+package com.tkb.delab.model;
+
+import java.util.Arrays;
+
+/**
+ * A disjoint set forest over the dense elements <code>0..size-1</code>, using
+ * path compression and union by rank, so any sequence of operations takes
+ * near linear time. New singleton elements can be added at any time.
+ *
+ * @author Akis Papadopoulos
+ */
+public class DisjointSet {
+
+    // Parent of each element, roots are their own parents
+    private int[] parent;
+
+    // Upper bound of the height of each root
+    private byte[] rank;
+
+    // Number of elements
+    private int size;
+
+    /**
+     * A constructor creating a singleton set for each element.
+     *
+     * @param size the number of elements.
+     */
+    public DisjointSet(int size) {
+        parent = new int[Math.max(size, 16)];
+        rank = new byte[parent.length];
+
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * A method adding a new singleton element.
+     *
+     * @return the new element.
+     */
+    public int add() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * size);
+            rank = Arrays.copyOf(rank, 2 * size);
+        }
+
+        parent[size] = size;
+
+        return size++;
+    }
+
+    /**
+     * A method finding the root of the set an element belongs to, pointing
+     * every element on the path directly to the root.
+     *
+     * @param i the element.
+     * @return the root of the set of the element.
+     */
+    public int find(int i) {
+        int root = i;
+
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+
+        // Compressing the path to the root
+        while (parent[i] != root) {
+            int next = parent[i];
+
+            parent[i] = root;
+
+            i = next;
+        }
+
+        return root;
+    }
+
+    /**
+     * A method merging the sets of two elements, attaching the root of lower
+     * rank under the root of higher rank.
+     *
+     * @param i the first element.
+     * @param j the second element.
+     * @return the root of the merged set.
+     */
+    public int union(int i, int j) {
+        int ri = find(i);
+        int rj = find(j);
+
+        if (ri == rj) {
+            return ri;
+        }
+
+        if (rank[ri] < rank[rj]) {
+            parent[ri] = rj;
+
+            return rj;
+        }
+
+        if (rank[ri] == rank[rj]) {
+            rank[ri]++;
+        }
+
+        parent[rj] = ri;
+
+        return ri;
+    }
+
+    /**
+     * A method returning the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,272 @@
+package com.tkb.delab.model;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.Arrays;
+
+/**
+ * An index of the edges participating in a set of triangles, giving each edge
+ * a dense id in order of appearance and holding the ids of the three edges of
+ * each triangle. Edges are hashed by their packed keys, so no edge object is
+ * created looking up an edge. Be aware the triangles are given by integer ids
+ * and their edges are held in a single integer indexed list, so at most
+ * {@link #MAX_TRIANGLES} triangles can be indexed.
+ *
+ * @author Akis Papadopoulos
+ */
+public class EdgeIndex {
+
+    // Maximum number of triangles, three edge ids each within a single array
+    public static final int MAX_TRIANGLES = (Integer.MAX_VALUE - 8) / 3;
+
+    // Dense edge id by scrambled packed key
+    private final TLongIntHashMap ids;
+
+    // Packed key by dense edge id
+    private final TLongArrayList keys;
+
+    // Edge ids of each triangle, three per triangle
+    private final TIntArrayList edges;
+
+    // Capacity of the edge ids, grown by the index so it never overflows
+    private int capacity;
+
+    // Start of the incident triangles of each edge, built on demand
+    private int[] offsets;
+
+    // Incident triangles of all the edges
+    private int[] incident;
+
+    /**
+     * A constructor indexing the edges of the given triangles, the edges of a
+     * triangle <code>v,u,w</code> given in <code>(v,u), (u,w), (v,w)</code>
+     * order.
+     *
+     * @param triangles the set of triangles.
+     */
+    public EdgeIndex(THashSet<Triangle> triangles) {
+        this(triangles.size());
+
+        for (Triangle t : triangles) {
+            add(t.v, t.u, t.w);
+        }
+    }
+
+    /**
+     * A constructor creating an empty index, the triangles added one by one
+     * as they are found.
+     *
+     * @param triangles the expected number of triangles.
+     */
+    public EdgeIndex(int triangles) {
+        int size = Math.max(16, 3 * triangles / 2);
+
+        ids = new TLongIntHashMap(size, 0.5f, 0L, -1);
+        keys = new TLongArrayList(size);
+
+        capacity = (int) Math.min(3L * MAX_TRIANGLES, Math.max(16, 3L * triangles));
+
+        edges = new TIntArrayList(capacity);
+    }
+
+    /**
+     * A method adding a triangle <code>v,u,w</code> into the index, its edges
+     * given in <code>(v,u), (u,w), (v,w)</code> order. Be aware the triangle
+     * is not checked for duplicates and no triangle should be added once the
+     * incident triangles are in use.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @param w the third vertex.
+     * @throws IllegalStateException if the index holds the maximum number of
+     * triangles already.
+     */
+    public void add(int v, int u, int w) {
+        if (edges.size() >= 3 * MAX_TRIANGLES) {
+            throw new IllegalStateException("Unable to index more than " + MAX_TRIANGLES + " triangles");
+        }
+
+        // Doubling the capacity up to the maximum number of triangles
+        if (edges.size() + 3 > capacity) {
+            capacity = (int) Math.min(3L * MAX_TRIANGLES, 2L * capacity);
+
+            edges.ensureCapacity(capacity);
+        }
+
+        edges.add(add(v, u));
+        edges.add(add(u, w));
+        edges.add(add(v, w));
+    }
+
+    /**
+     * A method adding an edge into the index if not already indexed.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the id of the edge.
+     */
+    private int add(int v, int u) {
+        long key = EdgeKey.of(v, u);
+
+        int id = ids.putIfAbsent(EdgeKey.mix(key), keys.size());
+
+        if (id < 0) {
+            id = keys.size();
+
+            keys.add(key);
+        }
+
+        return id;
+    }
+
+    /**
+     * A method returning the number of edges indexed.
+     *
+     * @return the number of edges.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * A method returning the number of triangles indexed.
+     *
+     * @return the number of triangles.
+     */
+    public int triangles() {
+        return edges.size() / 3;
+    }
+
+    /**
+     * A method returning the id of an edge of a triangle.
+     *
+     * @param t the index of the triangle.
+     * @param i the index of the edge within the triangle, 0 to 2.
+     * @return the id of the edge.
+     */
+    public int edge(int t, int i) {
+        return edges.get(3 * t + i);
+    }
+
+    /**
+     * A method returning the id of the given edge.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the id of the edge, -1 if not indexed.
+     */
+    public int id(int v, int u) {
+        return ids.get(EdgeKey.mix(EdgeKey.of(v, u)));
+    }
+
+    /**
+     * A method returning the packed key of an edge.
+     *
+     * @param e the id of the edge.
+     * @return the packed key of the edge.
+     */
+    public long key(int e) {
+        return keys.get(e);
+    }
+
+    /**
+     * A method counting the triangles each edge participates.
+     *
+     * @return the number of triangles by edge id.
+     */
+    public int[] support() {
+        int[] support = new int[keys.size()];
+
+        for (int k = 0; k < edges.size(); k++) {
+            support[edges.get(k)]++;
+        }
+
+        return support;
+    }
+
+    /**
+     * A method returning the start of the incident triangles of an edge.
+     *
+     * @param e the id of the edge.
+     * @return the position of the first incident triangle of the edge.
+     */
+    public int offset(int e) {
+        link();
+
+        return offsets[e];
+    }
+
+    /**
+     * A method returning the number of triangles an edge participates.
+     *
+     * @param e the id of the edge.
+     * @return the number of incident triangles of the edge.
+     */
+    public int count(int e) {
+        link();
+
+        return offsets[e + 1] - offsets[e];
+    }
+
+    /**
+     * A method returning the incident triangle stored at the given position.
+     *
+     * @param p a position within the incident triangles.
+     * @return the index of the triangle.
+     */
+    public int triangle(int p) {
+        return incident[p];
+    }
+
+    /**
+     * A method building the incident triangles of each edge in compressed
+     * sparse row form, once on first use.
+     */
+    private void link() {
+        if (offsets != null) {
+            return;
+        }
+
+        int[] start = new int[keys.size() + 1];
+
+        for (int k = 0; k < edges.size(); k++) {
+            start[edges.get(k) + 1]++;
+        }
+
+        for (int e = 0; e < keys.size(); e++) {
+            start[e + 1] += start[e];
+        }
+
+        int[] cursor = Arrays.copyOf(start, keys.size());
+
+        incident = new int[edges.size()];
+
+        for (int k = 0; k < edges.size(); k++) {
+            incident[cursor[edges.get(k)]++] = k / 3;
+        }
+
+        offsets = start;
+    }
+
+    /**
+     * A method converting the bounds of the indexed edges into a map of sorted
+     * edges to lambda ranges.
+     *
+     * @param bounds the bounds by edge id.
+     * @return a map of lambda ranges for each edge.
+     */
+    public THashMap<Edge, AugmentedRange> toMap(LambdaBounds bounds) {
+        THashMap<Edge, AugmentedRange> map = new THashMap<Edge, AugmentedRange>(keys.size());
+
+        for (int e = 0; e < keys.size(); e++) {
+            long key = keys.get(e);
+
+            map.put(new Edge(EdgeKey.v(key), EdgeKey.u(key)), new AugmentedRange(bounds.lower[e], bounds.upper[e], 0));
+        }
+
+        return map;
+    }
+}
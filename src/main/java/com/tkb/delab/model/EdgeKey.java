@@ -0,0 +1,79 @@
+package com.tkb.delab.model;
+
+/**
+ * A primitive representation of an undirected edge, packing its vertices sorted
+ * in ascending order into a single long, the lower vertex within the high
+ * bits. Packed keys of the same edge are equal no matter the order the
+ * vertices are given, and they sort the same way as sorted edges do.
+ *
+ * @author Akis Papadopoulos
+ */
+public final class EdgeKey {
+
+    /**
+     * A method packing an edge into a key, sorting its vertices.
+     *
+     * @param v the first vertex.
+     * @param u the second vertex.
+     * @return the packed key of the edge.
+     */
+    public static long of(int v, int u) {
+        if (u < v) {
+            return ((long) u << 32) | (v & 0xFFFFFFFFL);
+        }
+
+        return ((long) v << 32) | (u & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A method returning the lower vertex of a packed edge.
+     *
+     * @param key the packed key of the edge.
+     * @return the lower vertex.
+     */
+    public static int v(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * A method returning the upper vertex of a packed edge.
+     *
+     * @param key the packed key of the edge.
+     * @return the upper vertex.
+     */
+    public static int u(long key) {
+        return (int) key;
+    }
+
+    /**
+     * A method scrambling a packed key before it is hashed. Trove folds a long
+     * into <code>high ^ low</code>, so plain keys of small vertices collide
+     * heavily. The scrambling is a bijection, so scrambled keys are still
+     * unique and can be used as keys themselves.
+     *
+     * @param key the packed key of the edge.
+     * @return the scrambled key.
+     */
+    public static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+
+        return key;
+    }
+
+    /**
+     * A method drawing a uniform number within [0, 1) for an edge, so the same
+     * edge draws the same number no matter which task or partition it is
+     * drawn within, or the order its vertices are given.
+     *
+     * @param key the packed key of the edge.
+     * @param seed the seed of the draw.
+     * @return a uniform number within [0, 1).
+     */
+    public static double uniform(long key, long seed) {
+        return (mix(key ^ mix(seed)) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,26 @@
+package com.tkb.delab.model;
+
+/**
+ * The lower (kappa) and upper (lambda) bounds of the lambda density value of
+ * each edge of an edge index, by dense edge id.
+ *
+ * @author Akis Papadopoulos
+ */
+public class LambdaBounds {
+
+    // Lower lambda bound by edge id
+    public int[] lower;
+
+    // Upper lambda bound by edge id
+    public int[] upper;
+
+    /**
+     * A constructor creating zero bounds for the given number of edges.
+     *
+     * @param edges the number of edges.
+     */
+    public LambdaBounds(int edges) {
+        this.lower = new int[edges];
+        this.upper = new int[edges];
+    }
+}
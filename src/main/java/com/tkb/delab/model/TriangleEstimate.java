@@ -0,0 +1,61 @@
+package com.tkb.delab.model;
+
+/**
+ * An unbiased estimate of a triangle count given the triangles found within
+ * an edge sample, where each edge is kept with probability p. Each triangle
+ * is kept with probability p^3, so the count is scaled by 1 / p^3. The
+ * variance of the estimate is T (1 / p^3 - 1) + 2 k (1 / p - 1), where k is
+ * the number of the pairs of triangles sharing an edge, kept with
+ * probability p^5, so both T and k are estimated from the sample as well. The
+ * bounds are given as a 95% normal confidence interval, clipped at zero.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TriangleEstimate {
+
+    // The z score of a 95% confidence interval
+    private static final double Z = 1.96;
+
+    // The estimated number of triangles
+    public double estimate;
+
+    // The lower bound of the confidence interval
+    public double lower;
+
+    // The upper bound of the confidence interval
+    public double upper;
+
+    /**
+     * A constructor estimating a triangle count given the sampled counts.
+     *
+     * @param triangles the number of triangles within the sample.
+     * @param pairs the number of pairs of triangles sharing an edge within the
+     * sample.
+     * @param p the probability an edge is kept.
+     */
+    public TriangleEstimate(long triangles, long pairs, double p) {
+        double p3 = p * p * p;
+
+        estimate = triangles / p3;
+
+        // Estimating the variance given the unbiased estimate of the pairs
+        double shared = pairs / (p3 * p * p);
+
+        double variance = estimate * (1 / p3 - 1) + 2 * shared * (1 / p - 1);
+
+        double error = Z * Math.sqrt(variance);
+
+        lower = Math.max(0, estimate - error);
+        upper = estimate + error;
+    }
+
+    /**
+     * A method returning an alphanumeric representation of the estimate.
+     *
+     * @return the estimate followed by its lower and upper bounds.
+     */
+    @Override
+    public String toString() {
+        return Math.round(estimate) + "," + Math.round(lower) + "," + Math.round(upper);
+    }
+}
@@ -0,0 +1,37 @@
+package com.tkb.delab.model;
+
+/**
+ * A triangle count over a graph oriented by rank, holding the number of
+ * triangles each edge and each vertex participates along with the total
+ * number of triangles. Each undirected edge is stored once, so the count of
+ * the edge at position p of the oriented graph is the count of the edge
+ * between the vertex owning the slice and the neighbor at p.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TriangleSupport {
+
+    // The oriented graph the counts are indexed by
+    public CompressedGraph graph;
+
+    // Number of triangles per edge, by position within the oriented graph
+    public int[] edges;
+
+    // Number of triangles per vertex, by index within the oriented graph
+    public long[] vertices;
+
+    // Total number of triangles
+    public long total;
+
+    /**
+     * A constructor creating empty counts for the given oriented graph.
+     *
+     * @param graph the oriented graph.
+     */
+    public TriangleSupport(CompressedGraph graph) {
+        this.graph = graph;
+        this.edges = new int[graph.volume()];
+        this.vertices = new long[graph.size()];
+        this.total = 0;
+    }
+}
@@ -0,0 +1,237 @@
+package com.tkb.delab.model;
+
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.set.hash.THashSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A dictionary mapping the original vertex ids of a graph to dense indices
+ * from 0 to n - 1 and back, where the vertices are ordered either by id in
+ * ascending order or by degree in descending order, ties by id. The original
+ * ids are kept as longs, so sparse or large id spaces are compacted into ints.
+ * The dictionary is persisted in binary form as the number of vertices
+ * followed by the original id of each index.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexDictionary {
+
+    // Original vertex ids by index
+    private final long[] ids;
+
+    // Index by original vertex id, built on demand
+    private TLongIntHashMap indices;
+
+    /**
+     * A constructor wrapping the original ids given by index.
+     *
+     * @param ids the original vertex ids by index.
+     */
+    public VertexDictionary(long[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * A method creating a dictionary given the vertices along with their
+     * degrees.
+     *
+     * @param ids the original vertex ids, each given once.
+     * @param degrees the degree of each vertex.
+     * @param degree true to order the vertices by degree otherwise by id.
+     * @return the dictionary.
+     */
+    public static VertexDictionary of(long[] ids, int[] degrees, boolean degree) {
+        int n = ids.length;
+
+        // Sorting the vertices by id along with their degrees
+        long[] sorted = Arrays.copyOf(ids, n);
+
+        Arrays.sort(sorted);
+
+        if (!degree) {
+            return new VertexDictionary(sorted);
+        }
+
+        TLongIntHashMap map = new TLongIntHashMap(Math.max(16, 2 * n), 0.5f, 0L, 0);
+
+        int max = 0;
+
+        for (int i = 0; i < n; i++) {
+            map.put(ids[i], degrees[i]);
+
+            max = Math.max(max, degrees[i]);
+        }
+
+        // Placing each vertex into its degree bucket in id order
+        int[] start = new int[max + 2];
+
+        for (int i = 0; i < n; i++) {
+            start[max - map.get(sorted[i]) + 1]++;
+        }
+
+        for (int d = 0; d <= max; d++) {
+            start[d + 1] += start[d];
+        }
+
+        long[] ordered = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            ordered[start[max - map.get(sorted[i])]++] = sorted[i];
+        }
+
+        return new VertexDictionary(ordered);
+    }
+
+    /**
+     * A method creating a dictionary of the vertices of an edge set.
+     *
+     * @param edges edge set graph induced by.
+     * @param degree true to order the vertices by degree otherwise by id.
+     * @return the dictionary.
+     */
+    public static VertexDictionary of(THashSet<Edge> edges, boolean degree) {
+        CompressedGraph graph = new CompressedGraph(edges);
+
+        long[] ids = new long[graph.size()];
+        int[] degrees = new int[graph.size()];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = graph.id(i);
+            degrees[i] = graph.degree(i);
+        }
+
+        return of(ids, degrees, degree);
+    }
+
+    /**
+     * A method returning the number of vertices.
+     *
+     * @return the number of vertices.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * A method returning the original id of an index.
+     *
+     * @param index the dense index of the vertex.
+     * @return the original id of the vertex.
+     */
+    public long id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * A method returning the dense index of an original id.
+     *
+     * @param id the original id of the vertex.
+     * @return the dense index of the vertex, -1 if not found.
+     */
+    public int index(long id) {
+        if (indices == null) {
+            indices = new TLongIntHashMap(Math.max(16, 2 * ids.length), 0.5f, Long.MIN_VALUE, -1);
+
+            for (int i = 0; i < ids.length; i++) {
+                indices.put(ids[i], i);
+            }
+        }
+
+        return indices.get(id);
+    }
+
+    /**
+     * A method translating an edge set into dense indices.
+     *
+     * @param edges the edge set given by original ids.
+     * @return the edge set given by dense indices.
+     */
+    public THashSet<Edge> compact(THashSet<Edge> edges) {
+        THashSet<Edge> compacted = new THashSet<Edge>(edges.size());
+
+        for (Edge e : edges) {
+            compacted.add(new Edge(index(e.v), index(e.u)));
+        }
+
+        return compacted;
+    }
+
+    /**
+     * A method translating an edge set back into the original ids, given the
+     * ids fit into ints.
+     *
+     * @param edges the edge set given by dense indices.
+     * @return the edge set given by original ids.
+     */
+    public THashSet<Edge> restore(THashSet<Edge> edges) {
+        THashSet<Edge> restored = new THashSet<Edge>(edges.size());
+
+        for (Edge e : edges) {
+            restored.add(new Edge((int) ids[e.v], (int) ids[e.u]));
+        }
+
+        return restored;
+    }
+
+    /**
+     * A method translating a triangle set back into the original ids, given
+     * the ids fit into ints. The vertices of each triangle are sorted by id in
+     * ascending order, as given by the triangulators.
+     *
+     * @param triangles the triangle set given by dense indices.
+     * @return the triangle set given by original ids.
+     */
+    public THashSet<Triangle> restoreTriangles(THashSet<Triangle> triangles) {
+        THashSet<Triangle> restored = new THashSet<Triangle>(triangles.size());
+
+        for (Triangle t : triangles) {
+            int[] vertices = {(int) ids[t.v], (int) ids[t.u], (int) ids[t.w]};
+
+            Arrays.sort(vertices);
+
+            restored.add(new Triangle(vertices[0], vertices[1], vertices[2]));
+        }
+
+        return restored;
+    }
+
+    /**
+     * A method writing the dictionary in binary form.
+     *
+     * @param out the output to write to.
+     * @throws IOException if the output fails.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(ids.length);
+
+        for (int i = 0; i < ids.length; i++) {
+            out.writeLong(ids[i]);
+        }
+    }
+
+    /**
+     * A method reading a dictionary given in binary form.
+     *
+     * @param in the input to read from.
+     * @return the dictionary.
+     * @throws IOException if the input fails or is malformed.
+     */
+    public static VertexDictionary read(DataInput in) throws IOException {
+        int n = in.readInt();
+
+        if (n < 0) {
+            throw new IOException("Malformed vertex dictionary with " + n + " vertices");
+        }
+
+        long[] ids = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            ids[i] = in.readLong();
+        }
+
+        return new VertexDictionary(ids);
+    }
+}
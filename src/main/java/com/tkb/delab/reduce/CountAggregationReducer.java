@@ -0,0 +1,65 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.Pair;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**
+ * A reducer summing up the partial triangle counts of an edge or a vertex,
+ * writing the edge counts into the edges output and the vertex counts into the
+ * vertices output.
+ *
+ * Input: <code><v,u>, list of count</code>
+ *
+ * Output:
+ * <code>
+ * edges: <v,u>, count
+ * vertices: v, count
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class CountAggregationReducer extends Reducer<Pair, LongWritable, Pair, LongWritable> {
+
+    // Named outputs writer
+    private MultipleOutputs<Pair, LongWritable> outputs;
+
+    /**
+     * A reduce method summing up the partial counts of an edge or a vertex,
+     * writing the total count into the corresponding output.
+     *
+     * @param key an edge or a vertex paired with itself.
+     * @param values the partial counts.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(Pair key, Iterable<LongWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<LongWritable> it = values.iterator();
+
+        long sum = 0;
+
+        while (it.hasNext()) {
+            sum += it.next().get();
+        }
+
+        if (key.v == key.u) {
+            outputs.write("vertices", new IntWritable(key.v), new LongWritable(sum));
+        } else {
+            outputs.write("edges", key, new LongWritable(sum));
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        outputs = new MultipleOutputs<Pair, LongWritable>(context);
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException, InterruptedException {
+        outputs.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.model.Counter;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.set.hash.TIntHashSet;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer getting as input the neighborhood of a vertex, voting for each of
+ * its sorted edges only if the degree of the vertex reaches the minimum degree.
+ * An edge is kept once voted by both of its vertices.
+ *
+ * Input: <code>v, list of u</code>
+ *
+ * Output:
+ * <code>
+ * <v,u>, 1
+ * <v,u>, 1
+ * ...
+ * <v,u>, 1
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class DegreePruningReducer extends Reducer<IntWritable, IntWritable, Pair, IntWritable> {
+
+    // Minimum degree of a remaining vertex
+    private int degree;
+
+    // The single vote of an edge
+    private static final IntWritable ONE = new IntWritable(1);
+
+    /**
+     * A reduce method collecting the unique neighbors of a vertex, voting for
+     * its edges if the vertex is not stripped.
+     *
+     * @param key a vertex.
+     * @param values the list of the neighbors of the vertex.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(IntWritable key, Iterable<IntWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<IntWritable> it = values.iterator();
+
+        // Collecting the unique neighbors
+        TIntHashSet neighbors = new TIntHashSet();
+
+        while (it.hasNext()) {
+            neighbors.add(it.next().get());
+        }
+
+        int v = key.get();
+
+        if (neighbors.size() < degree) {
+            // Stripping the vertex along with all its edges
+            context.getCounter(Counter.PRUNED_VERTICES).increment(1);
+        } else {
+            TIntIterator nit = neighbors.iterator();
+
+            while (nit.hasNext()) {
+                int u = nit.next();
+
+                // Voting for the edge sorted in ascending order
+                context.write(v < u ? new Pair(v, u) : new Pair(u, v), ONE);
+            }
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        degree = conf.getInt("pruning.minimum.degree", 2);
+
+        // Fallback to default minimum degree
+        if (degree < 2) {
+            degree = 2;
+        }
+    }
+}
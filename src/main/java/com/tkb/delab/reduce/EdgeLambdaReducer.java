@@ -0,0 +1,38 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.Pair;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer getting an edge along with the lambda values of all the lines
+ * repeating it, emitting the edge once along with its lambda value. Each line
+ * of an edge carries the same lambda value, so it can be used as a combiner
+ * as well.
+ *
+ * Input: <code><v,u>, list of lambda</code>
+ *
+ * Output: <code><v,u>, lambda</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class EdgeLambdaReducer extends Reducer<Pair, IntWritable, Pair, IntWritable> {
+
+    /**
+     * A reduce method emitting an edge once along with its lambda value.
+     *
+     * @param key an edge.
+     * @param values the lambda values of the lines repeating the edge.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(Pair key, Iterable<IntWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<IntWritable> it = values.iterator();
+
+        if (it.hasNext()) {
+            context.write(key, it.next());
+        }
+    }
+}
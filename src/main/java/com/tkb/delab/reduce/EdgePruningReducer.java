@@ -0,0 +1,70 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.model.Counter;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer summing the partial scores of an edge, keeping the edge only if
+ * the total score reaches the threshold. The scores are either the votes of
+ * the vertices of the edge or its partial triangle counts, discarding the
+ * counts given per vertex.
+ *
+ * Input: <code><v,u>, list of score</code>
+ *
+ * Output: <code><v,u></code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class EdgePruningReducer extends Reducer<Pair, LongWritable, Pair, NullWritable> {
+
+    // Minimum total score of a remaining edge
+    private int threshold;
+
+    /**
+     * A reduce method summing the partial scores of an edge, writing the edge
+     * if its total score reaches the threshold.
+     *
+     * @param key an edge.
+     * @param values the list of the partial scores of the edge.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(Pair key, Iterable<LongWritable> values, Context context) throws IOException, InterruptedException {
+        // Skipping the counts given per vertex
+        if (key.v == key.u) {
+            return;
+        }
+
+        Iterator<LongWritable> it = values.iterator();
+
+        long sum = 0;
+
+        while (it.hasNext()) {
+            sum += it.next().get();
+        }
+
+        if (sum >= threshold) {
+            context.write(key, NullWritable.get());
+
+            context.getCounter(Counter.REMAINING_EDGES).increment(1);
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        threshold = conf.getInt("pruning.edge.threshold", 1);
+
+        // Fallback to default threshold
+        if (threshold < 1) {
+            threshold = 1;
+        }
+    }
+}
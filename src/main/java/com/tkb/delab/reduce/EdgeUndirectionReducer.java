@@ -1,8 +1,8 @@
 package com.tkb.delab.reduce;
 
-import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeKey;
 import com.tkb.delab.io.Pair;
-import gnu.trove.set.hash.THashSet;
+import gnu.trove.set.hash.TLongHashSet;
 import java.io.IOException;
 import java.util.Iterator;
 import org.apache.hadoop.io.IntWritable;
@@ -39,14 +39,14 @@ public class EdgeUndirectionReducer extends Reducer<IntWritable, Pair, Pair, Pai
     public void reduce(IntWritable key, Iterable<Pair> values, Context context) throws IOException, InterruptedException {
         Iterator<Pair> it = values.iterator();
 
-        // Collecting unique edges
-        THashSet<Edge> edges = new THashSet<Edge>();
+        // Collecting unique edges by their packed keys
+        TLongHashSet edges = new TLongHashSet();
 
         while (it.hasNext()) {
             Pair pair = it.next();
 
             // Discarding duplicates
-            boolean added = edges.add(new Edge(pair.v, pair.u));
+            boolean added = edges.add(EdgeKey.mix(EdgeKey.of(pair.v, pair.u)));
 
             if (added) {
                 context.write(pair, null);
@@ -0,0 +1,140 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.TaggedVertex;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer getting the dictionary entry of a vertex followed by all the lines
+ * holding the vertex in the field being joined, emitting each line with the
+ * field translated and discarding lines of vertices missing from the
+ * dictionary. Joining the last leading field, the references are resolved and
+ * both the leading and the reference fields are sorted in ascending order, so
+ * each edge or triangle is given as a sorted tuple in the translated labels.
+ *
+ * Input: <code><v,tag>, list of translation or line</code>
+ *
+ * Output: <code><v',u,w,...>, null</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class FieldJoinReducer extends Reducer<TaggedVertex, Text, Text, NullWritable> {
+
+    // The field being joined
+    private int field;
+
+    // Number of leading fields holding vertices
+    private int fields;
+
+    // Number of reference fields following the leading fields
+    private int references;
+
+    /**
+     * A reduce method translating the field being joined of each line holding
+     * the given vertex.
+     *
+     * @param key the vertex tagged by the source of the current value.
+     * @param values the translation of the vertex followed by the lines.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(TaggedVertex key, Iterable<Text> values, Context context) throws IOException, InterruptedException {
+        Iterator<Text> it = values.iterator();
+
+        String translation = null;
+
+        while (it.hasNext()) {
+            Text value = it.next();
+
+            // Keys are updated along with the values, tag 0 the dictionary
+            if (key.tag == 0) {
+                translation = value.toString();
+            } else if (translation != null) {
+                String[] tokens = value.toString().split(",");
+
+                tokens[field] = translation;
+
+                if (field == fields - 1) {
+                    complete(tokens);
+                }
+
+                StringBuilder line = new StringBuilder();
+
+                for (int i = 0; i < tokens.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+
+                    line.append(tokens[i]);
+                }
+
+                context.write(new Text(line.toString()), NullWritable.get());
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A method resolving the references of a fully translated line and
+     * sorting both its leading and its reference fields.
+     *
+     * @param tokens the fields of the line.
+     */
+    private void complete(String[] tokens) {
+        // Resolving the references to the leading fields
+        for (int i = fields; i < fields + references; i++) {
+            tokens[i] = tokens[Integer.parseInt(tokens[i].substring(1))];
+        }
+
+        sort(tokens, 0, fields);
+        sort(tokens, fields, fields + references);
+    }
+
+    /**
+     * A method sorting a range of numeric fields in ascending order.
+     *
+     * @param tokens the fields of the line.
+     * @param from the first field of the range, inclusive.
+     * @param to the last field of the range, exclusive.
+     */
+    private static void sort(String[] tokens, int from, int to) {
+        long[] vertices = new long[to - from];
+
+        for (int i = from; i < to; i++) {
+            vertices[i - from] = Long.parseLong(tokens[i]);
+        }
+
+        Arrays.sort(vertices);
+
+        for (int i = from; i < to; i++) {
+            tokens[i] = String.valueOf(vertices[i - from]);
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        field = conf.getInt("vertex.join.field", 0);
+
+        fields = conf.getInt("vertex.fields.number", 2);
+
+        // Fallback to default number of fields
+        if (fields < 1) {
+            fields = 2;
+        }
+
+        references = conf.getInt("vertex.fields.references", 0);
+
+        // Fallback to no references
+        if (references < 0) {
+            references = 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.alg.HierarchyBuilder;
+import com.tkb.delab.alg.HierarchySink;
+import com.tkb.delab.io.Pair;
+import gnu.trove.list.array.TIntArrayList;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**
+ * A reducer collecting the edges of each lambda level in decreasing order of
+ * lambda, building the nested hierarchy of the dense subgraphs in one pass. Be
+ * aware the levels must be sorted in decreasing order, each edge given once,
+ * and a single reducer must be used, since the hierarchy spans all the levels.
+ *
+ * Input: <code>lambda, list of <v,u></code>
+ *
+ * Output:
+ * <code>
+ * edges: <v,u>, <lambda,node>
+ * tree: node, <lambda,parent>
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class HierarchyReducer extends Reducer<IntWritable, Pair, Pair, Pair> {
+
+    // Named outputs writer
+    private MultipleOutputs<Pair, Pair> outputs;
+
+    // The hierarchy builder kept across the levels
+    private HierarchyBuilder builder;
+
+    /**
+     * A reduce method collecting the edges of a lambda level, adding them into
+     * the hierarchy. Be aware each edge must be given once.
+     *
+     * @param key a lambda value.
+     * @param values the list of edges scored with the lambda value.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(IntWritable key, Iterable<Pair> values, Context context) throws IOException, InterruptedException {
+        Iterator<Pair> it = values.iterator();
+
+        // Collecting the edges of the level
+        TIntArrayList ends = new TIntArrayList();
+
+        while (it.hasNext()) {
+            Pair pair = it.next();
+
+            ends.add(pair.v);
+            ends.add(pair.u);
+        }
+
+        try {
+            builder.level(key.get(), ends.toArray(), ends.size());
+        } catch (UncheckedIOException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        outputs = new MultipleOutputs<Pair, Pair>(context);
+
+        builder = new HierarchyBuilder(new HierarchyWriter());
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException, InterruptedException {
+        try {
+            builder.finish();
+        } catch (UncheckedIOException exc) {
+            throw exc.getCause();
+        } finally {
+            outputs.close();
+        }
+    }
+
+    /**
+     * A hierarchy sink writing the edges and the subgraphs into the named
+     * outputs.
+     */
+    private class HierarchyWriter implements HierarchySink {
+
+        /**
+         * A method writing an edge along with its lambda value and subgraph.
+         *
+         * @param v the first vertex.
+         * @param u the second vertex.
+         * @param lambda the lambda value of the edge.
+         * @param node the id of the subgraph.
+         */
+        @Override
+        public void edge(int v, int u, int lambda, int node) {
+            write("edges", new Pair(v, u), new Pair(lambda, node));
+        }
+
+        /**
+         * A method writing a subgraph along with its level and parent.
+         *
+         * @param node the id of the subgraph.
+         * @param lambda the lambda level the subgraph is created at.
+         * @param parent the id of the enclosing subgraph, -1 if it is a top one.
+         */
+        @Override
+        public void node(int node, int lambda, int parent) {
+            write("tree", new IntWritable(node), new Pair(lambda, parent));
+        }
+
+        /**
+         * A method writing a record into a named output, wrapping any failure
+         * into an unchecked exception given the sink may not throw checked ones.
+         *
+         * @param name the name of the output.
+         * @param key the key of the record.
+         * @param value the value of the record.
+         */
+        private void write(String name, Object key, Pair value) {
+            try {
+                outputs.write(name, key, value);
+            } catch (IOException exc) {
+                throw new UncheckedIOException(exc);
+            } catch (InterruptedException exc) {
+                // Restoring the interrupt status of the task thread
+                Thread.currentThread().interrupt();
+
+                throw new UncheckedIOException(new InterruptedIOException(exc.getMessage()));
+            }
+        }
+    }
+}
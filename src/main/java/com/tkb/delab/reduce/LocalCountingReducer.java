@@ -0,0 +1,163 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.alg.ForwardCounter;
+import com.tkb.delab.alg.VertexOrdering;
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.io.Triple;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Counter;
+import com.tkb.delab.model.TriangleSupport;
+import gnu.trove.list.array.TIntArrayList;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer collecting a set of edges hashed into the same partition, counting
+ * the triangles each edge and each vertex participates without listing them. A
+ * triangle hashed into less than three distinct partition indexes is found in
+ * more than one partition, so it is counted only within the first partition in
+ * order containing its indexes. This way the partial counts of all partitions
+ * sum up to the exact counts. Vertex counts are emitted keyed by a pair of the
+ * vertex with itself, edges with no triangles are not emitted.
+ *
+ * Input: <code><i,j,k>, list of <v,u></code>
+ *
+ * Output:
+ * <code>
+ * <v,u>, count
+ * <v,v>, count
+ * ...
+ * <v,u>, count
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class LocalCountingReducer extends Reducer<Triple, Pair, Pair, LongWritable> {
+
+    // Vertex ordering applied before listing
+    private VertexOrdering ordering;
+
+    // Number of vertex partitions
+    private int rho;
+
+    // Reusable indexes of the partition owning a triangle
+    private final int[] first = new int[3];
+
+    /**
+     * A reduce method collecting for an indexed partition a subset of sorted
+     * edges, counting the triangles owned by the partition and emitting the
+     * partial counts of each edge and vertex.
+     *
+     * @param key indexes of the edge partition.
+     * @param values the subset of unique sorted edges.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(final Triple key, Iterable<Pair> values, Context context) throws IOException, InterruptedException {
+        Iterator<Pair> it = values.iterator();
+
+        // Collecting the edge endpoints, duplicates discarded by the graph
+        TIntArrayList ends = new TIntArrayList();
+
+        while (it.hasNext()) {
+            Pair pair = it.next();
+
+            ends.add(pair.v);
+            ends.add(pair.u);
+        }
+
+        // Renumbering the vertices for memory locality
+        CompressedGraph graph = ordering.apply(new CompressedGraph(ends.toArray()));
+
+        // Releasing the endpoint list before counting
+        ends = null;
+
+        // Counting only the triangles owned by this partition
+        ForwardCounter counter = new ForwardCounter() {
+            @Override
+            protected boolean accept(int v, int u, int w) {
+                return owns(key, v % rho, u % rho, w % rho);
+            }
+        };
+
+        TriangleSupport support = counter.count(graph);
+
+        CompressedGraph o = support.graph;
+
+        // Emitting the partial count of each edge
+        for (int u = 0; u < o.size(); u++) {
+            for (int p = o.offset(u); p < o.offset(u) + o.degree(u); p++) {
+                if (support.edges[p] > 0) {
+                    int v = o.neighbor(p);
+
+                    context.write(new Pair(Math.min(o.id(u), o.id(v)), Math.max(o.id(u), o.id(v))),
+                            new LongWritable(support.edges[p]));
+                }
+            }
+        }
+
+        // Emitting the partial count of each vertex
+        for (int v = 0; v < o.size(); v++) {
+            if (support.vertices[v] > 0) {
+                context.write(new Pair(o.id(v), o.id(v)), new LongWritable(support.vertices[v]));
+            }
+        }
+
+        context.getCounter(Counter.TRIANGLES).increment(support.total);
+    }
+
+    /**
+     * A method checking if a partition owns a triangle, that is the partition
+     * is the first one in order containing the hashed indexes of the triangle.
+     *
+     * @param key indexes of the edge partition.
+     * @param hv the hashed index of the first vertex.
+     * @param hu the hashed index of the second vertex.
+     * @param hw the hashed index of the third vertex.
+     * @return true if the partition owns the triangle, false otherwise.
+     */
+    private boolean owns(Triple key, int hv, int hu, int hw) {
+        // Counting the missing indexes filled in by the smallest others
+        int missing = 3 - (1 + (hu != hv ? 1 : 0) + (hw != hv && hw != hu ? 1 : 0));
+
+        int n = 0;
+
+        for (int x = 0; x < rho && n < 3; x++) {
+            boolean hashed = x == hv || x == hu || x == hw;
+
+            if (hashed || missing > 0) {
+                if (!hashed) {
+                    missing--;
+                }
+
+                first[n++] = x;
+            }
+        }
+
+        return key.v == first[0] && key.u == first[1] && key.w == first[2];
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        rho = conf.getInt("vertex.partitions.number", 3);
+
+        // Fallback to default rho value
+        if (rho < 3) {
+            rho = 3;
+        }
+
+        int order = conf.getInt("vertex.ordering.mode", VertexOrdering.NONE);
+
+        // Fallback to no vertex ordering
+        if (order < VertexOrdering.NONE || order > VertexOrdering.COMMUNITY) {
+            order = VertexOrdering.NONE;
+        }
+
+        ordering = new VertexOrdering(order);
+    }
+}
@@ -2,18 +2,24 @@ package com.tkb.delab.reduce;
 
 import com.tkb.delab.alg.BinaryEstimator;
 import com.tkb.delab.alg.EdgeDensityEstimator;
-import com.tkb.delab.alg.Forward;
-import com.tkb.delab.alg.Triangulator;
-import com.tkb.delab.model.AugmentedRange;
-import com.tkb.delab.model.Edge;
-import com.tkb.delab.model.Triangle;
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.IncrementalBinaryEstimator;
+import com.tkb.delab.alg.ParallelEstimator;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.SequentialEstimator;
+import com.tkb.delab.alg.TriangleIndexer;
+import com.tkb.delab.alg.VertexOrdering;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.LambdaBounds;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Quad;
 import com.tkb.delab.io.Triple;
-import gnu.trove.map.hash.THashMap;
-import gnu.trove.set.hash.THashSet;
+import gnu.trove.list.array.TIntArrayList;
 import java.io.IOException;
 import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.Reducer;
 
 /**
@@ -36,6 +42,18 @@ import org.apache.hadoop.mapreduce.Reducer;
  */
 public class LocalLambdaEstimationReducer extends Reducer<Triple, Pair, Triple, Quad> {
 
+    // Vertex ordering applied before listing
+    private VertexOrdering ordering;
+
+    // Local estimation mode
+    private int mode;
+
+    // Maximum number of iterations of the iterative estimators
+    private int iterations;
+
+    // Number of threads of the parallel estimator
+    private int threads;
+
     /**
      * A reduce method collecting for an indexed partition a subset of edges,
      * listing all the triangles within estimating the lambda lower and upper
@@ -50,50 +68,93 @@ public class LocalLambdaEstimationReducer extends Reducer<Triple, Pair, Triple,
     public void reduce(Triple key, Iterable<Pair> values, Context context) throws IOException, InterruptedException {
         Iterator<Pair> it = values.iterator();
 
-        // Collecting the edge set discarding duplicates
-        THashSet<Edge> edges = new THashSet<Edge>();
+        // Collecting the edge endpoints, duplicates discarded by the graph
+        TIntArrayList ends = new TIntArrayList();
 
         while (it.hasNext()) {
             Pair pair = it.next();
 
-            edges.add(new Edge(pair.v, pair.u));
+            ends.add(pair.v);
+            ends.add(pair.u);
         }
 
-        // Calculating the triangles
-        Triangulator forward = new Forward();
+        // Renumbering the vertices for memory locality
+        CompressedGraph graph = ordering.apply(new CompressedGraph(ends.toArray()));
+
+        // Releasing the endpoint list before listing
+        ends = null;
 
-        THashSet<Triangle> triangles = forward.list(edges);
+        // Listing the triangles straight into an index of their edges
+        TriangleIndexer indexer = new TriangleIndexer();
+
+        new CompactForward().list(graph, indexer);
+
+        EdgeIndex index = indexer.getIndex();
 
         // Estimating the lambda density value of each edge
-        EdgeDensityEstimator estimator = new BinaryEstimator(50);
+        EdgeDensityEstimator estimator;
+
+        // Choosing binary (0), sequential (1), peeling (2), incremental binary (3) or parallel binary (4) estimation mode
+        if (mode == 1) {
+            estimator = new SequentialEstimator(iterations);
+        } else if (mode == 2) {
+            estimator = new PeelingEstimator();
+        } else if (mode == 3) {
+            estimator = new IncrementalBinaryEstimator(iterations);
+        } else if (mode == 4) {
+            estimator = new ParallelEstimator(iterations, threads);
+        } else {
+            estimator = new BinaryEstimator(iterations);
+        }
 
-        THashMap<Edge, AugmentedRange> lambdas = estimator.estimate(triangles);
+        LambdaBounds lambdas = estimator.estimate(index);
 
         // For each triangle emit the incident edges by the lambda bounds
-        for (Triangle t : triangles) {
-            // Getting the lambda values fot the first edge
-            Edge e1 = new Edge(t.v, t.u);
+        for (int t = 0; t < index.triangles(); t++) {
+            long vu = index.key(index.edge(t, 0));
+            long uw = index.key(index.edge(t, 1));
 
-            AugmentedRange lambda1 = lambdas.get(e1);
+            Triple triangle = new Triple(EdgeKey.v(vu), EdgeKey.u(vu), EdgeKey.u(uw));
 
-            // Emitting the triangle followed by the edge attached with the lambda bounds
-            context.write(new Triple(t.v, t.u, t.w), new Quad(t.v, t.u, lambda1.lower, lambda1.upper));
+            // Emitting the triangle followed by each edge attached with the lambda bounds
+            for (int i = 0; i < 3; i++) {
+                int e = index.edge(t, i);
 
-            // Getting the lambda values fot the second edge
-            Edge e2 = new Edge(t.u, t.w);
+                context.write(triangle, new Quad(EdgeKey.v(index.key(e)), EdgeKey.u(index.key(e)), lambdas.lower[e], lambdas.upper[e]));
+            }
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        mode = conf.getInt("local.estimation.mode", 0);
+        iterations = conf.getInt("local.estimation.iterations", 50);
+        threads = conf.getInt("local.estimation.threads.number", Runtime.getRuntime().availableProcessors());
 
-            AugmentedRange lambda2 = lambdas.get(e2);
+        // Fallback to binary mode
+        if (mode < 0 || mode > 4) {
+            mode = 0;
+        }
 
-            // Emitting the triangle followed by the edge attached with the lambda bounds
-            context.write(new Triple(t.v, t.u, t.w), new Quad(t.u, t.w, lambda2.lower, lambda2.upper));
+        // Fallback to default number of iterations
+        if (iterations < 1) {
+            iterations = 50;
+        }
 
-            // Getting the lambda values fot the third edge
-            Edge e3 = new Edge(t.v, t.w);
+        // Fallback to single threaded estimation
+        if (threads < 1) {
+            threads = 1;
+        }
 
-            AugmentedRange lambda3 = lambdas.get(e3);
+        int order = conf.getInt("vertex.ordering.mode", VertexOrdering.NONE);
 
-            // Emitting the triangle followed by the edge attached with the lambda bounds
-            context.write(new Triple(t.v, t.u, t.w), new Quad(t.v, t.w, lambda3.lower, lambda3.upper));
+        // Fallback to no vertex ordering
+        if (order < VertexOrdering.NONE || order > VertexOrdering.COMMUNITY) {
+            order = VertexOrdering.NONE;
         }
+
+        ordering = new VertexOrdering(order);
     }
 }
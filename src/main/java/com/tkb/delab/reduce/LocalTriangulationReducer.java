@@ -1,21 +1,28 @@
 package com.tkb.delab.reduce;
 
-import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.ParallelForward;
+import com.tkb.delab.alg.TriangleSink;
 import com.tkb.delab.alg.Triangulator;
-import com.tkb.delab.model.Edge;
-import com.tkb.delab.model.Triangle;
+import com.tkb.delab.alg.VertexOrdering;
+import com.tkb.delab.model.CompressedGraph;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Triple;
-import gnu.trove.set.hash.THashSet;
+import gnu.trove.list.array.TIntArrayList;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.Reducer;
 
 /**
  * A reducer collecting a set of edges hashed into the same partition, listing
  * all the triangles applying a local triangulation algorithm. Be aware the
  * edges must be in the form in which the integer vertices should be order in
- * ascending order.
+ * ascending order. Triangles are written out as soon as they are found, so the
+ * triangles of a partition are never held in memory at once, the parallel
+ * listing holding no more than a few chunks of bounded size per thread.
  *
  * Input: <code><i,j,k>, list of <v,u></code>
  *
@@ -31,6 +38,12 @@ import org.apache.hadoop.mapreduce.Reducer;
  */
 public class LocalTriangulationReducer extends Reducer<Triple, Pair, Triple, Pair> {
 
+    // Vertex ordering applied before listing
+    private VertexOrdering ordering;
+
+    // Number of triangulation threads
+    private int threads;
+
     /**
      * A reduce method collecting for an indexed partition a subset of sorted
      * edges, listing all the triangles within and emitting each triangle found.
@@ -43,23 +56,99 @@ public class LocalTriangulationReducer extends Reducer<Triple, Pair, Triple, Pai
     public void reduce(Triple key, Iterable<Pair> values, Context context) throws IOException, InterruptedException {
         Iterator<Pair> it = values.iterator();
 
-        // Discarding duplicate edges
-        THashSet<Edge> edges = new THashSet<Edge>();
+        // Collecting the edge endpoints, duplicates discarded by the graph
+        TIntArrayList ends = new TIntArrayList();
 
         while (it.hasNext()) {
             Pair pair = it.next();
 
-            edges.add(new Edge(pair.v, pair.u));
+            ends.add(pair.v);
+            ends.add(pair.u);
+        }
+
+        // Renumbering the vertices for memory locality
+        CompressedGraph graph = ordering.apply(new CompressedGraph(ends.toArray()));
+
+        // Releasing the endpoint list before listing
+        ends = null;
+
+        // Applying local tringulation, in parallel if more threads given
+        Triangulator forward = threads > 1 ? new ParallelForward(threads) : new CompactForward();
+
+        try {
+            // Emitting each triangle as soon as it is found
+            forward.list(graph, new TriangleWriter(context));
+        } catch (UncheckedIOException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        threads = conf.getInt("triangulation.threads.number", 1);
+
+        // Fallback to single threaded triangulation
+        if (threads < 1) {
+            threads = 1;
+        }
+
+        int order = conf.getInt("vertex.ordering.mode", VertexOrdering.NONE);
+
+        // Fallback to no vertex ordering
+        if (order < VertexOrdering.NONE || order > VertexOrdering.COMMUNITY) {
+            order = VertexOrdering.NONE;
+        }
+
+        ordering = new VertexOrdering(order);
+    }
+
+    /**
+     * A triangle sink writing each triangle into the reducer output, reusing a
+     * single output key.
+     */
+    private class TriangleWriter implements TriangleSink {
+
+        // Output collector
+        private final Context context;
+
+        // Reusable output key
+        private final Triple triple = new Triple();
+
+        /**
+         * A constructor creating a sink writing into the given context.
+         *
+         * @param context object to collect the output.
+         */
+        TriangleWriter(Context context) {
+            this.context = context;
         }
 
-        // Applying local tringulation
-        Triangulator forward = new Forward();
+        /**
+         * A method writing the given triangle, wrapping any failure into an
+         * unchecked exception given the sink may not throw checked ones.
+         *
+         * @param v the first vertex.
+         * @param u the second vertex.
+         * @param w the third vertex.
+         */
+        @Override
+        public void triangle(int v, int u, int w) {
+            triple.v = v;
+            triple.u = u;
+            triple.w = w;
 
-        THashSet<Triangle> triangles = forward.list(edges);
+            try {
+                context.write(triple, null);
+            } catch (IOException exc) {
+                throw new UncheckedIOException(exc);
+            } catch (InterruptedException exc) {
+                // Restoring the interrupt status of the task thread
+                Thread.currentThread().interrupt();
 
-        // Emitting all the triangles found
-        for (Triangle t : triangles) {
-            context.write(new Triple(t.v, t.u, t.w), null);
+                throw new UncheckedIOException(new InterruptedIOException(exc.getMessage()));
+            }
         }
     }
 }
@@ -4,13 +4,12 @@ import com.tkb.delab.model.Triangle;
 import com.tkb.delab.model.Counter;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Quad;
-import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
 import com.tkb.delab.io.Triple;
 import gnu.trove.set.hash.THashSet;
 import java.io.IOException;
 import java.util.Iterator;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapreduce.Reducer;
 
 /**
@@ -31,7 +30,7 @@ import org.apache.hadoop.mapreduce.Reducer;
  * <v,u,w>, <v,u,kappa,lambda>
  * </code>
  */
-public class SearchReducer extends Reducer<Pair, Sequence, Triple, Quad> {
+public class SearchReducer extends Reducer<Pair, SupportRecordWritable, Triple, Quad> {
 
     // Lambda search mode
     private int mode;
@@ -48,8 +47,8 @@ public class SearchReducer extends Reducer<Pair, Sequence, Triple, Quad> {
      * @param context object to collect the output.
      */
     @Override
-    public void reduce(Pair key, Iterable<Sequence> values, Context context) throws IOException, InterruptedException {
-        Iterator<Sequence> it = values.iterator();
+    public void reduce(Pair key, Iterable<SupportRecordWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<SupportRecordWritable> it = values.iterator();
 
         // Calculating the total support value along with other data
         int kappa = 0;
@@ -59,30 +58,26 @@ public class SearchReducer extends Reducer<Pair, Sequence, Triple, Quad> {
         THashSet<Triangle> triangles = new THashSet<Triangle>();
 
         while (it.hasNext()) {
-            Sequence seq = it.next();
+            SupportRecordWritable record = it.next();
 
             // Saving the maximum lower and upper lambda bound
-            int newKappa = ((IntWritable) seq.get(0)).get();
+            int newKappa = record.kappa;
 
             if (kappa < newKappa) {
                 kappa = newKappa;
             }
 
-            int newLambda = ((IntWritable) seq.get(1)).get();
+            int newLambda = record.lambda;
 
             if (lambda < newLambda) {
                 lambda = newLambda;
             }
 
             // Saving the triangle
-            int v = ((IntWritable) seq.get(2)).get();
-            int u = ((IntWritable) seq.get(3)).get();
-            int w = ((IntWritable) seq.get(4)).get();
-
-            triangles.add(new Triangle(v, u, w));
+            triangles.add(new Triangle(record.v, record.u, record.w));
 
             // Updating the total support value
-            total += ((IntWritable) seq.get(5)).get();
+            total += record.support;
         }
 
         // Choosing sequential (0) or binary (1) search mode
@@ -4,13 +4,12 @@ import com.tkb.delab.model.Edge;
 import com.tkb.delab.model.Range;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Quad;
-import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
 import com.tkb.delab.io.Triple;
 import gnu.trove.map.hash.THashMap;
 import java.io.IOException;
 import java.util.Iterator;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapreduce.Reducer;
 
 /**
@@ -33,7 +32,7 @@ import org.apache.hadoop.mapreduce.Reducer;
  *
  * @author Akis Papadopoulos
  */
-public class SupportComputationReducer extends Reducer<Triple, Quad, Pair, Sequence> {
+public class SupportComputationReducer extends Reducer<Triple, Quad, Pair, SupportRecordWritable> {
 
     // Lambda search mode
     private int mode;
@@ -99,20 +98,10 @@ public class SupportComputationReducer extends Reducer<Triple, Quad, Pair, Seque
                 // Checking if the edge is supported by the others edges
                 if (lambda <= min) {
                     context.write(new Pair(ei.v, ei.u),
-                            new Sequence(new IntWritable(kappa),
-                                    new IntWritable(lambda),
-                                    new IntWritable(key.v),
-                                    new IntWritable(key.u),
-                                    new IntWritable(key.w),
-                                    new IntWritable(1)));
+                            new SupportRecordWritable(kappa, lambda, key.v, key.u, key.w, 1));
                 } else {
                     context.write(new Pair(ei.v, ei.u),
-                            new Sequence(new IntWritable(kappa),
-                                    new IntWritable(lambda),
-                                    new IntWritable(key.v),
-                                    new IntWritable(key.u),
-                                    new IntWritable(key.w),
-                                    new IntWritable(0)));
+                            new SupportRecordWritable(kappa, lambda, key.v, key.u, key.w, 0));
                 }
             } else if (mode == 1) {
                 // Saving the minimum medium lambda of the other edges
@@ -121,20 +110,10 @@ public class SupportComputationReducer extends Reducer<Triple, Quad, Pair, Seque
                 // Checking if the edge is supported by the other edges
                 if (medium <= min) {
                     context.write(new Pair(ei.v, ei.u),
-                            new Sequence(new IntWritable(kappa),
-                                    new IntWritable(lambda),
-                                    new IntWritable(key.v),
-                                    new IntWritable(key.u),
-                                    new IntWritable(key.w),
-                                    new IntWritable(1)));
+                            new SupportRecordWritable(kappa, lambda, key.v, key.u, key.w, 1));
                 } else {
                     context.write(new Pair(ei.v, ei.u),
-                            new Sequence(new IntWritable(kappa),
-                                    new IntWritable(lambda),
-                                    new IntWritable(key.v),
-                                    new IntWritable(key.u),
-                                    new IntWritable(key.w),
-                                    new IntWritable(0)));
+                            new SupportRecordWritable(kappa, lambda, key.v, key.u, key.w, 0));
                 }
             }
         }
@@ -0,0 +1,55 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.RankedVertex;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer summing up the unit degrees of a vertex, emitting the vertex
+ * ranked by its negated degree, given the vertices are ordered by degree in
+ * descending order, otherwise ranked by zero so they are ordered by id.
+ *
+ * Input: <code>v, list of 1</code>
+ *
+ * Output: <code><rank,v>, null</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexDegreeReducer extends Reducer<LongWritable, IntWritable, RankedVertex, NullWritable> {
+
+    // Order the vertices by degree
+    private boolean degree;
+
+    /**
+     * A reduce method summing up the degree of a vertex, emitting the vertex
+     * along with its rank.
+     *
+     * @param key the vertex.
+     * @param values the partial degrees of the vertex.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(LongWritable key, Iterable<IntWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<IntWritable> it = values.iterator();
+
+        int sum = 0;
+
+        while (it.hasNext()) {
+            sum += it.next().get();
+        }
+
+        context.write(new RankedVertex(degree ? -sum : 0, key.get()), NullWritable.get());
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        degree = conf.getBoolean("vertex.compaction.degree", false);
+    }
+}
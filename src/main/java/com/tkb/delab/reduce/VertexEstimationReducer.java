@@ -0,0 +1,74 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.model.Counter;
+import com.tkb.delab.model.TriangleEstimate;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * A reducer estimating the number of triangles of a vertex given its sampled
+ * count and the sampled counts of its edges, where the pairs of triangles
+ * sharing an edge of the vertex are counted from the edge counts.
+ *
+ * Input: <code>v, list of count or -count</code>
+ *
+ * Output: <code>v, estimate,lower,upper</code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexEstimationReducer extends Reducer<IntWritable, LongWritable, IntWritable, Text> {
+
+    // Probability an edge is kept
+    private float probability;
+
+    /**
+     * A reduce method summing the sampled triangles of a vertex along with the
+     * pairs of them sharing an edge, writing the scaled estimate and bounds.
+     *
+     * @param key a vertex.
+     * @param values the vertex count and the negated counts of its edges.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(IntWritable key, Iterable<LongWritable> values, Context context) throws IOException, InterruptedException {
+        Iterator<LongWritable> it = values.iterator();
+
+        long triangles = 0;
+        long pairs = 0;
+
+        while (it.hasNext()) {
+            long count = it.next().get();
+
+            if (count > 0) {
+                triangles += count;
+            } else {
+                // Counting the pairs of triangles sharing the edge
+                pairs += count * (count + 1) / 2;
+            }
+        }
+
+        // Each edge is seen by both of its vertices
+        context.getCounter(Counter.SHARED_TRIANGLE_PAIRS).increment(pairs);
+
+        if (triangles > 0) {
+            context.write(key, new Text(new TriangleEstimate(triangles, pairs, probability).toString()));
+        }
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        Configuration conf = context.getConfiguration();
+
+        probability = conf.getFloat("edge.sampling.probability", 1f);
+
+        // Fallback to keeping all the edges
+        if (probability <= 0 || probability > 1) {
+            probability = 1;
+        }
+    }
+}
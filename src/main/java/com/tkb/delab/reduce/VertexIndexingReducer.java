@@ -0,0 +1,70 @@
+package com.tkb.delab.reduce;
+
+import com.tkb.delab.io.RankedVertex;
+import java.io.IOException;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+
+/**
+ * A reducer getting the vertices of a totally ordered partition in rank order,
+ * emitting each vertex along with the partition and its local index within the
+ * partition, and writing the number of vertices of the partition into the
+ * counts output. The dense index of a vertex is given by its local index plus
+ * the number of vertices in all the preceding partitions.
+ *
+ * Input: <code><rank,v>, list of null</code>
+ *
+ * Output:
+ * <code>
+ * part: v, p,local
+ * counts: p, count
+ * </code>
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexIndexingReducer extends Reducer<RankedVertex, NullWritable, LongWritable, Text> {
+
+    // Named outputs writer
+    private MultipleOutputs<LongWritable, Text> outputs;
+
+    // The partition of the reducer
+    private int partition;
+
+    // Number of vertices indexed so far
+    private long count;
+
+    /**
+     * A reduce method emitting a vertex along with its local index.
+     *
+     * @param key the ranked vertex.
+     * @param values a single null value.
+     * @param context object to collect the output.
+     */
+    @Override
+    public void reduce(RankedVertex key, Iterable<NullWritable> values, Context context) throws IOException, InterruptedException {
+        context.write(new LongWritable(key.id), new Text(partition + "," + count));
+
+        count++;
+    }
+
+    @Override
+    public void setup(Context context) throws IOException, InterruptedException {
+        outputs = new MultipleOutputs<LongWritable, Text>(context);
+
+        partition = context.getTaskAttemptID().getTaskID().getId();
+
+        count = 0;
+    }
+
+    @Override
+    public void cleanup(Context context) throws IOException, InterruptedException {
+        // Writing the number of vertices even for empty partitions
+        outputs.write("counts", new IntWritable(partition), new LongWritable(count));
+
+        outputs.close();
+    }
+}
@@ -0,0 +1,220 @@
+package com.tkb.delab.run;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * A transparent vertex compaction wrapped around a job entry, given the
+ * <code>vertex.compaction.mode</code> is set to <code>id</code> or
+ * <code>degree</code>. The input vertex ids, which may be any longs, are
+ * relabeled into dense indices before the entry runs, the entry writes its
+ * results into a working folder next to the output and the results are then
+ * translated back into the original ids, the vertices of each result sorted
+ * by id. The dictionary is kept in the working folder and both translations
+ * run as reduce side joins, so it is never loaded into memory. Given no mode,
+ * the input and the output are passed through as is.
+ *
+ * @author Akis Papadopoulos
+ */
+class Compaction {
+
+    // The configuration of the entry
+    private final Configuration conf;
+
+    // The name of the entry
+    private final String name;
+
+    // The output of the entry
+    private final String output;
+
+    // The working folder of the compaction
+    private final String work;
+
+    // The order of the dense indices, none, id or degree
+    private String mode;
+
+    // Number of the reducer tasks used
+    private int tasks;
+
+    // Number of restorations run so far
+    private int restorations;
+
+    /**
+     * A constructor creating a compaction around an entry.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the entry.
+     * @param output the path to save the results of the entry.
+     */
+    Compaction(Configuration conf, String name, String output) {
+        this.conf = conf;
+        this.name = name;
+        this.output = output;
+        this.work = output + ".compaction";
+        this.tasks = 1;
+
+        mode = conf.get("vertex.compaction.mode", "none");
+
+        // Fallback to no compaction
+        if (!mode.equals("id") && !mode.equals("degree")) {
+            mode = "none";
+        }
+    }
+
+    /**
+     * A method checking if the compaction is enabled.
+     *
+     * @return true if the vertices are compacted, false otherwise.
+     */
+    boolean enabled() {
+        return !mode.equals("none");
+    }
+
+    /**
+     * A method relabeling the input edges into dense indices, setting the
+     * input delimiter to comma. Be aware it should be called before any job
+     * of the entry is set up.
+     *
+     * @param input the path to the edges given by original ids.
+     * @param tasks the number of the reducer tasks used.
+     * @return the path to the edges the entry should read.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    String input(String input, int tasks) throws Exception {
+        return input(input, tasks, 2, 0);
+    }
+
+    /**
+     * A method relabeling the input lines into dense indices, setting the
+     * input delimiter to comma. Be aware it should be called before any job
+     * of the entry is set up.
+     *
+     * @param input the path to the lines given by original ids.
+     * @param tasks the number of the reducer tasks used.
+     * @param fields the number of leading fields holding vertices.
+     * @param references the number of fields repeating leading vertices.
+     * @return the path to the lines the entry should read.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    String input(String input, int tasks, int fields, int references) throws Exception {
+        if (!enabled()) {
+            return input;
+        }
+
+        this.tasks = tasks;
+
+        VertexCompaction.compact(conf, name + ".compact", input, fields, references,
+                mode.equals("degree"), tasks, work + "/dictionary", work + "/input");
+
+        conf.set("input.text.delimiter", ",");
+
+        return work + "/input/";
+    }
+
+    /**
+     * A method returning the path the entry should save its results to.
+     *
+     * @return the path to save the results given by dense indices.
+     */
+    String output() {
+        return enabled() ? work + "/result" : output;
+    }
+
+    /**
+     * A method translating the result files with the given prefix within a
+     * folder of the results back into the original ids, saving them into the
+     * same folder and under the same names within the output.
+     *
+     * @param folder the folder relative to the results, empty for the root.
+     * @param prefix the prefix of the result files.
+     * @param fields the number of leading fields holding vertices.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    void restore(String folder, String prefix, int fields) throws Exception {
+        restore(folder, prefix, fields, 0);
+    }
+
+    /**
+     * A method translating the result files with the given prefix within a
+     * folder of the results back into the original ids, saving them into the
+     * same folder and under the same names within the output.
+     *
+     * @param folder the folder relative to the results, empty for the root.
+     * @param prefix the prefix of the result files.
+     * @param fields the number of leading fields holding vertices.
+     * @param references the number of fields repeating leading vertices.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    void restore(String folder, String prefix, int fields, int references) throws Exception {
+        if (!enabled()) {
+            return;
+        }
+
+        FileSystem fs = FileSystem.get(conf);
+
+        Path target = new Path(output + "/" + folder);
+
+        fs.mkdirs(target);
+
+        // Skipping outputs left empty by the entry
+        Path files = new Path(output() + "/" + folder + "/" + prefix + "-*");
+
+        FileStatus[] statuses = fs.globStatus(files);
+
+        if (statuses == null || statuses.length == 0) {
+            return;
+        }
+
+        String restored = work + "/restored/" + (restorations++);
+
+        VertexRestoration.restore(conf, name + ".restore", work + "/dictionary", files.toString(), fields, references, tasks, restored);
+
+        // Moving the translated files into the output
+        for (FileStatus status : fs.globStatus(new Path(restored, "part-*"))) {
+            fs.rename(status.getPath(), new Path(target, prefix + status.getPath().getName().substring(4)));
+        }
+    }
+
+    /**
+     * A method moving the result files holding no vertices into the output as
+     * they are.
+     *
+     * @param files the files relative to the results, given as a glob.
+     * @throws IOException if the files can't be moved.
+     */
+    void move(String files) throws IOException {
+        if (!enabled()) {
+            return;
+        }
+
+        FileSystem fs = FileSystem.get(conf);
+
+        FileStatus[] statuses = fs.globStatus(new Path(output() + "/" + files));
+
+        if (statuses == null) {
+            return;
+        }
+
+        Path target = new Path(output + "/" + files).getParent();
+
+        fs.mkdirs(target);
+
+        for (FileStatus status : statuses) {
+            fs.rename(status.getPath(), new Path(target, status.getPath().getName()));
+        }
+    }
+
+    /**
+     * A method deleting the working folder of the compaction.
+     *
+     * @throws IOException if the folder can't be deleted.
+     */
+    void close() throws IOException {
+        if (enabled()) {
+            FileSystem.get(conf).delete(new Path(work), true);
+        }
+    }
+}
@@ -29,8 +29,18 @@ public class Dispatcher {
 
         entries.put(EdgeUndirection.class.getSimpleName(), EdgeUndirection.class);
         entries.put(Triangulation.class.getSimpleName(), Triangulation.class);
+        entries.put(TriangleCount.class.getSimpleName(), TriangleCount.class);
         entries.put(LambdaEstimation.class.getSimpleName(), LambdaEstimation.class);
         entries.put(LocalEstimation.class.getSimpleName(), LocalEstimation.class);
+        entries.put(SubgraphEnumeration.class.getSimpleName(), SubgraphEnumeration.class);
+        entries.put(Pruning.class.getSimpleName(), Pruning.class);
+        entries.put(StreamingEstimation.class.getSimpleName(), StreamingEstimation.class);
+        entries.put(DynamicMaintenance.class.getSimpleName(), DynamicMaintenance.class);
+        entries.put(VertexCompaction.class.getSimpleName(), VertexCompaction.class);
+        entries.put(VertexRestoration.class.getSimpleName(), VertexRestoration.class);
+        entries.put(GraphConversion.class.getSimpleName(), GraphConversion.class);
+        entries.put(LocalPipeline.class.getSimpleName(), LocalPipeline.class);
+        entries.put(GraphGeneration.class.getSimpleName(), GraphGeneration.class);
     }
 
     public static void main(String[] args) throws Exception {
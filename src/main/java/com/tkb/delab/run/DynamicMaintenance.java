@@ -0,0 +1,215 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.alg.TrussMaintainer;
+import com.tkb.delab.io.EdgeReader;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.util.VertexIds;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A single process job entry, applying a batch of edge insertions and
+ * deletions on a graph already estimated, keeping the lambda value of each
+ * edge exact without any full recomputation. The graph is bootstrapped from
+ * the output of the lambda estimation along with the edge list of the whole
+ * graph, since the edges within no triangle are missing from the former, and
+ * is written back in the same form so the next batch can be bootstrapped from
+ * it. The loaded lambda values are taken as upper bounds and settled into the
+ * exact values first, so an estimation stopped before converging is accepted.
+ *
+ * @author Akis Papadopoulos
+ */
+public class DynamicMaintenance extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(DynamicMaintenance.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new DynamicMaintenance(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 5) {
+            logger.error("Unable to run job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <lambda> <edges> <delimiter> <updates> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <lambda> \tpath in DFS to the list of triangles along with the edges attached with the optimal lambda values");
+            System.out.println(" <edges> \tpath in DFS to the list of all the edges of the graph per line delimited by comma");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the operation and the integer vertices of each update");
+            System.out.println(" <updates> \tpath in DFS to the list of updates per line, + to insert or - to delete an edge");
+            System.out.println(" <output> \tpath in DFS to save the updated edges and lambda values\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        FileSystem fs = FileSystem.get(conf);
+
+        if (fs.exists(new Path(args[4]))) {
+            logger.error("Unable to run job entry " + name + ", output directory " + args[4] + " already exists");
+
+            return 1;
+        }
+
+        // Failing given no edge list, as the edges within no triangle would be missing
+        List<Path> edges = new ArrayList<Path>();
+
+        FileStatus[] statuses = fs.globStatus(new Path(args[1]));
+
+        for (int i = 0; statuses != null && i < statuses.length; i++) {
+            if (!statuses[i].isDir()) {
+                edges.add(statuses[i].getPath());
+            } else {
+                for (FileStatus status : fs.globStatus(new Path(statuses[i].getPath(), "part-*"))) {
+                    edges.add(status.getPath());
+                }
+            }
+        }
+
+        if (edges.isEmpty()) {
+            logger.error("Unable to run job entry " + name + ", no edge list found at " + args[1]);
+
+            return 1;
+        }
+
+        TrussMaintainer truss = new TrussMaintainer();
+
+        logger.info("Job entry with name '" + name + "' started");
+
+        long start = System.currentTimeMillis();
+
+        // Loading the edges within triangles along with their lambda values
+        for (FileStatus status : fs.globStatus(new Path(args[0], "part-*"))) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(status.getPath()), "UTF-8"));
+
+            try {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    String[] tokens = line.split(",");
+
+                    if (tokens.length == 7) {
+                        try {
+                            truss.load(VertexIds.parse(tokens[3]), VertexIds.parse(tokens[4]), Integer.parseInt(tokens[6]));
+                        } catch (NumberFormatException exc) {
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        // Loading the rest of the edges
+        for (Path path : edges) {
+            EdgeReader reader = new EdgeReader(new InputStreamReader(fs.open(path), "UTF-8"), ",");
+
+            try {
+                Edge edge = new Edge(0, 0);
+
+                while (reader.next(edge)) {
+                    truss.load(edge.v, edge.u, 0);
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        // Settling the loaded upper bounds into the exact lambda values
+        int lowered = truss.settle();
+
+        logger.info("Loaded " + truss.size() + " edges in " + (System.currentTimeMillis() - start) + " ms"
+                + " lowering " + lowered + " unconverged lambda values");
+
+        // Applying the updates in the given order
+        long inserted = 0;
+        long deleted = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(new Path(args[3])), "UTF-8"));
+
+        try {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split(args[2]);
+
+                if (tokens.length == 3) {
+                    try {
+                        int v = VertexIds.parse(tokens[1]);
+                        int u = VertexIds.parse(tokens[2]);
+
+                        if ("+".equals(tokens[0]) && truss.insert(v, u)) {
+                            inserted++;
+                        } else if ("-".equals(tokens[0]) && truss.delete(v, u)) {
+                            deleted++;
+                        }
+                    } catch (NumberFormatException exc) {
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        // Writing the edges within triangles in the lambda estimation form and all the edges
+        PrintWriter lambdas = new PrintWriter(fs.create(new Path(args[4] + "/lambda/part-00000")));
+        PrintWriter all = new PrintWriter(fs.create(new Path(args[4] + "/edges/part-00000")));
+
+        try {
+            for (int v : truss.vertices()) {
+                for (int u : truss.neighbors(v)) {
+                    if (v < u) {
+                        all.println(v + "," + u);
+
+                        int[] common = truss.common(v, u);
+
+                        if (common.length > 0) {
+                            // Attaching the edge to any of its triangles
+                            int[] t = {v, u, common[0]};
+
+                            Arrays.sort(t);
+
+                            int value = truss.lambda(v, u);
+
+                            lambdas.println(t[0] + "," + t[1] + "," + t[2] + "," + v + "," + u + "," + value + "," + value);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lambdas.close();
+            all.close();
+        }
+
+        long end = System.currentTimeMillis();
+
+        logger.info("Job entry with name '" + name + "' completed in "
+                + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                + " min (" + (end - start) + " ms)"
+                + " inserting " + inserted + " and deleting " + deleted + " edges");
+
+        return 0;
+    }
+}
@@ -23,7 +23,8 @@ import org.apache.log4j.Logger;
 /**
  * A map reduce sprint job entry, converting a directed to an undirected graph
  * removing duplicate edges, sorting them by the lowest vertex, discarding
- * possible loops as well as invalid malformed input.
+ * possible loops as well as invalid malformed input. Given a vertex
+ * compaction mode, vertex ids may be any longs.
  *
  * @author Akis Papadopoulos
  */
@@ -48,7 +49,7 @@ public class EdgeUndirection extends Configured implements Tool {
             
             System.out.println("Arguments required are");
             System.out.println(" <input> \tpath in DFS to data of a directed graph given as a list of edges per line");
-            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the vertices of each edge");
             System.out.println(" <rho> \t\tnumber of disjoint edge partitions");
             System.out.println(" <tasks> \tnumber of the reducer tasks used");
             System.out.println(" <output> \tpath in DFS to save the edge list of the new undirected graph\n");
@@ -67,7 +68,12 @@ public class EdgeUndirection extends Configured implements Tool {
 
         int exitCode = 0;
 
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[4]);
+
         try {
+            String input = compaction.input(args[0], Integer.parseInt(args[3]));
+
             // Setting up the undirection sprint job
             Job undirect = new Job(conf, name);
             undirect.setJarByClass(EdgeUndirection.class);
@@ -84,10 +90,10 @@ public class EdgeUndirection extends Configured implements Tool {
 
             // Setting the input and output
             undirect.setInputFormatClass(TextInputFormat.class);
-            FileInputFormat.addInputPath(undirect, new Path(args[0]));
+            FileInputFormat.addInputPath(undirect, new Path(input));
 
             undirect.setOutputFormatClass(TextOutputFormat.class);
-            FileOutputFormat.setOutputPath(undirect, new Path(args[4]));
+            FileOutputFormat.setOutputPath(undirect, new Path(compaction.output()));
 
             // Running the sprint job
             logger.info("Sprint job with entry name '" + undirect.getJobName() + "' started");
@@ -101,15 +107,25 @@ public class EdgeUndirection extends Configured implements Tool {
                         + "sprint job with entry name '" + undirect.getJobName() + "'");
             }
 
+            // Translating the edges back into the original ids
+            compaction.restore("", "part", 2);
+
+            end = System.currentTimeMillis();
+
             logger.info("Sprint job with entry name '" + undirect.getJobName() + "' completed in "
                     + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60)) + " min (" + (end - start) + " ms)");
         } catch (AbnormalExitException exc) {
             logger.error(exc.getMessage(), exc);
 
+            exitCode = 1;
+
             // Cleaning up the hdfs
             FileSystem.get(conf).delete(new Path(args[4]), true);
 
             return exitCode;
+        } finally {
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
         }
 
         return exitCode;
@@ -0,0 +1,123 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.io.EdgeReader;
+import com.tkb.delab.io.GraphFile;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import gnu.trove.list.array.TIntArrayList;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.InputStreamReader;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A job entry converting an undirected graph given as a list of edges into the
+ * binary graph file format, so the graph can be loaded by the local engines
+ * without parsing any text. The graph is built in memory of a single process.
+ *
+ * @author Akis Papadopoulos
+ */
+public class GraphConversion extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(GraphConversion.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new GraphConversion(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 4) {
+            logger.error("Unable to run job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <delta> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to a file or folder of an undirected graph given as a list of edges per line");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <delta> \ttrue to delta encode the neighbors otherwise false");
+            System.out.println(" <output> \tpath in DFS to save the binary graph file\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        Path input = new Path(args[0]);
+
+        FileSystem fs = input.getFileSystem(conf);
+
+        logger.info("Job entry with name '" + name + "' started");
+
+        long start = System.currentTimeMillis();
+
+        // Collecting the edge endpoints of all the input files
+        TIntArrayList ends = new TIntArrayList();
+
+        for (FileStatus status : fs.globStatus(input)) {
+            FileStatus[] files = status.isDir() ? fs.listStatus(status.getPath()) : new FileStatus[]{status};
+
+            for (FileStatus file : files) {
+                String filename = file.getPath().getName();
+
+                // Skipping folders and hidden files like the job logs
+                if (file.isDir() || filename.startsWith("_") || filename.startsWith(".")) {
+                    continue;
+                }
+
+                EdgeReader reader = new EdgeReader(new InputStreamReader(fs.open(file.getPath()), "UTF-8"), args[1]);
+
+                try {
+                    Edge edge = new Edge(0, 0);
+
+                    while (reader.next(edge)) {
+                        ends.add(edge.v);
+                        ends.add(edge.u);
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+
+        CompressedGraph graph = new CompressedGraph(ends.toArray());
+
+        // Releasing the endpoint list before writing
+        ends = null;
+
+        // Writing the graph file
+        Path output = new Path(args[3]);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output.getFileSystem(conf).create(output), 1 << 16));
+
+        try {
+            GraphFile.write(graph, out, Boolean.parseBoolean(args[2]));
+        } finally {
+            out.close();
+        }
+
+        long end = System.currentTimeMillis();
+
+        logger.info("Job entry with name '" + name + "' completed in "
+                + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                + " min (" + (end - start) + " ms)"
+                + " converted " + graph.size() + " vertices and " + (graph.volume() / 2) + " edges");
+
+        return 0;
+    }
+}
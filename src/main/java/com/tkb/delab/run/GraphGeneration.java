@@ -0,0 +1,204 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.alg.EdgeSink;
+import com.tkb.delab.alg.GraphGenerator;
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.map.GraphGenerationMapper;
+import com.tkb.delab.util.AbnormalExitException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.NLineInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A map only job entry, generating a synthetic graph of a given model, number
+ * of vertices and average degree as a list of edges per line delimited by
+ * comma. The graph is split into chunks each generated by its own map task,
+ * or streamed by the current process given no tasks.
+ *
+ * @author Akis Papadopoulos
+ */
+public class GraphGeneration extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(GraphGeneration.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new GraphGeneration(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 5) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <model> <vertices> <degree> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <model> \tgraph model, gnp, rmat, powerlaw or planted");
+            System.out.println(" <vertices> \tnumber of vertices, rounded up to a power of two by the rmat model");
+            System.out.println(" <degree> \taverage degree of the vertices");
+            System.out.println(" <tasks> \tnumber of the map tasks used, 0 to generate the graph within this process");
+            System.out.println(" <output> \tpath in DFS to save the generated list of edges\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        conf.set("mapred.textoutputformat.separator", ",");
+        conf.set("generator.model", args[0]);
+        conf.setInt("generator.vertices", Integer.parseInt(args[1]));
+        conf.setInt("generator.degree", Integer.parseInt(args[2]));
+
+        int tasks = Integer.parseInt(args[3]);
+
+        // Fallback to a single chunk
+        conf.setInt("generator.chunks", Math.max(1, tasks));
+
+        // Checking the model before any job is set up
+        GraphGenerator generator = GraphGenerationMapper.create(conf);
+
+        String chunks = args[4] + ".chunks";
+
+        int exitCode = 0;
+
+        try {
+            long start = System.currentTimeMillis();
+
+            if (tasks < 1) {
+                stream(conf, generator, args[4]);
+            } else {
+                generate(conf, name, tasks, chunks, args[4]);
+            }
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[4]), true);
+
+            return exitCode;
+        } finally {
+            FileSystem.get(conf).delete(new Path(chunks), true);
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * A method running a map only job generating each chunk of the graph by its
+     * own map task, the indices of the chunks given by an input file of one
+     * index per line.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the job.
+     * @param tasks the number of the map tasks used.
+     * @param chunks the path to save the indices of the chunks.
+     * @param output the path to save the edges.
+     * @throws AbnormalExitException if the job exits abnormally.
+     */
+    private static void generate(Configuration conf, String name, int tasks, String chunks, String output) throws Exception {
+        // Writing the indices of the chunks
+        FileSystem fs = FileSystem.get(conf);
+
+        PrintWriter writer = new PrintWriter(fs.create(new Path(chunks)));
+
+        try {
+            for (int chunk = 0; chunk < tasks; chunk++) {
+                writer.println(chunk);
+            }
+        } finally {
+            writer.close();
+        }
+
+        // Setting up the generation job
+        Job generation = new Job(conf, name);
+        generation.setJarByClass(GraphGeneration.class);
+
+        // Setting the mapper only
+        generation.setMapperClass(GraphGenerationMapper.class);
+        generation.setOutputKeyClass(Pair.class);
+        generation.setOutputValueClass(NullWritable.class);
+        generation.setNumReduceTasks(0);
+
+        // Setting the input and output, a chunk per map task
+        generation.setInputFormatClass(NLineInputFormat.class);
+        NLineInputFormat.setNumLinesPerSplit(generation, 1);
+        FileInputFormat.addInputPath(generation, new Path(chunks));
+
+        generation.setOutputFormatClass(TextOutputFormat.class);
+        FileOutputFormat.setOutputPath(generation, new Path(output));
+
+        // Running the sprint job
+        logger.info("Sprint job with entry name '" + generation.getJobName() + "' started");
+
+        if (!generation.waitForCompletion(true)) {
+            throw new AbnormalExitException("Abnormal exit occurred running "
+                    + " sprint job with entry name '" + generation.getJobName() + "'");
+        }
+
+        logger.info("Sprint job with entry name '" + generation.getJobName() + "' finished");
+    }
+
+    /**
+     * A method streaming the whole graph as a single chunk into a file within
+     * the output, with no job involved.
+     *
+     * @param conf the configuration of the entry.
+     * @param generator the generator of the graph.
+     * @param output the path to save the edges.
+     * @throws IOException if the edges can't be written.
+     */
+    private static void stream(Configuration conf, GraphGenerator generator, String output) throws IOException {
+        Path file = new Path(output, "part-00000");
+
+        final PrintWriter writer = new PrintWriter(file.getFileSystem(conf).create(file));
+
+        final long[] count = new long[1];
+
+        try {
+            generator.generate(0, 1, new EdgeSink() {
+                @Override
+                public void edge(int v, int u) {
+                    writer.println(v + "," + u);
+
+                    count[0]++;
+                }
+            });
+        } finally {
+            writer.close();
+        }
+
+        if (writer.checkError()) {
+            throw new IOException("Unable to write the edges into " + file);
+        }
+
+        logger.info("Generated " + count[0] + " edges over " + generator.vertices() + " vertices");
+    }
+}
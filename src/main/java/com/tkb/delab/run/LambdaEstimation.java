@@ -10,7 +10,7 @@ import com.tkb.delab.model.Counter;
 import com.tkb.delab.util.AbnormalExitException;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Quad;
-import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
 import com.tkb.delab.io.Triple;
 import java.text.DecimalFormat;
 import java.util.Arrays;
@@ -78,7 +78,14 @@ public class LambdaEstimation extends Configured implements Tool {
 
         int exitCode = 0;
 
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[6]);
+
+        String output = compaction.output();
+
         try {
+            String input = compaction.input(args[0], Integer.parseInt(args[5]), 3, 0);
+
             // Setting up the lambda initialization job
             Job init = new Job(conf, name + ".initiate");
             init.setJarByClass(LambdaEstimation.class);
@@ -95,10 +102,10 @@ public class LambdaEstimation extends Configured implements Tool {
 
             // Setting the input and output
             init.setInputFormatClass(TextInputFormat.class);
-            FileInputFormat.addInputPath(init, new Path(args[0]));
+            FileInputFormat.addInputPath(init, new Path(input));
 
             init.setOutputFormatClass(TextOutputFormat.class);
-            FileOutputFormat.setOutputPath(init, new Path(args[6] + "/lambda"));
+            FileOutputFormat.setOutputPath(init, new Path(output + "/lambda"));
 
             // Running the sprint job
             logger.info("Sprint job with entry name '" + init.getJobName() + "' started");
@@ -131,17 +138,17 @@ public class LambdaEstimation extends Configured implements Tool {
 
                 support.setReducerClass(SupportComputationReducer.class);
                 support.setOutputKeyClass(Pair.class);
-                support.setOutputValueClass(Sequence.class);
+                support.setOutputValueClass(SupportRecordWritable.class);
                 support.setNumReduceTasks(Integer.parseInt(args[5]));
 
                 // Setting the input
                 support.setInputFormatClass(TextInputFormat.class);
-                FileInputFormat.addInputPath(support, new Path(args[6] + "/lambda"));
+                FileInputFormat.addInputPath(support, new Path(output + "/lambda"));
 
                 // Setting the output, deleting the previous iteration output
-                FileSystem.get(conf).delete(new Path(args[6] + "/tmp/"), true);
+                FileSystem.get(conf).delete(new Path(output + "/tmp/"), true);
                 support.setOutputFormatClass(TextOutputFormat.class);
-                FileOutputFormat.setOutputPath(support, new Path(args[6] + "/tmp/"));
+                FileOutputFormat.setOutputPath(support, new Path(output + "/tmp/"));
 
                 // Running the sprint job
                 logger.info("Sprint job with entry name '" + support.getJobName() + "' started");
@@ -162,7 +169,7 @@ public class LambdaEstimation extends Configured implements Tool {
                 // Setting the mapper and the reducer
                 search.setMapperClass(SearchMapper.class);
                 search.setMapOutputKeyClass(Pair.class);
-                search.setMapOutputValueClass(Sequence.class);
+                search.setMapOutputValueClass(SupportRecordWritable.class);
 
                 search.setReducerClass(SearchReducer.class);
                 search.setOutputKeyClass(Triple.class);
@@ -171,12 +178,12 @@ public class LambdaEstimation extends Configured implements Tool {
 
                 // Setting the input
                 search.setInputFormatClass(TextInputFormat.class);
-                FileInputFormat.addInputPath(search, new Path(args[6] + "/tmp/"));
+                FileInputFormat.addInputPath(search, new Path(output + "/tmp/"));
 
                 // Setting the output, deleting previous iteration output
-                FileSystem.get(conf).delete(new Path(args[6] + "/lambda/"), true);
+                FileSystem.get(conf).delete(new Path(output + "/lambda/"), true);
                 search.setOutputFormatClass(TextOutputFormat.class);
-                FileOutputFormat.setOutputPath(search, new Path(args[6] + "/lambda/"));
+                FileOutputFormat.setOutputPath(search, new Path(output + "/lambda/"));
 
                 // Running the sprint job
                 logger.info("Sprint job with entry name '" + search.getJobName() + "' started");
@@ -197,6 +204,9 @@ public class LambdaEstimation extends Configured implements Tool {
                 iterations++;
             }
 
+            // Translating the lambda values back into the original ids
+            compaction.restore("lambda", "part", 3, 2);
+
             long end = System.currentTimeMillis();
 
             logger.info("Sprint job with entry name '" + name + "' completed in "
@@ -205,13 +215,18 @@ public class LambdaEstimation extends Configured implements Tool {
         } catch (AbnormalExitException exc) {
             logger.error(exc.getMessage(), exc);
 
+            exitCode = 1;
+
             // Cleaning up the hdfs
             FileSystem.get(conf).delete(new Path(args[6]), true);
 
             return exitCode;
         } finally {
             // Deleting the final not needed support output from the hdfs
-            FileSystem.get(conf).delete(new Path(args[6] + "/tmp/"), true);
+            FileSystem.get(conf).delete(new Path(output + "/tmp/"), true);
+
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
         }
 
         return exitCode;
@@ -70,7 +70,12 @@ public class LocalEstimation extends Configured implements Tool {
 
         int exitCode = 0;
 
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[5]);
+
         try {
+            String input = compaction.input(args[0], Integer.parseInt(args[4]));
+
             // Setting up the local lambda estimation job
             Job lambda = new Job(conf, name);
             lambda.setJarByClass(LocalEstimation.class);
@@ -87,10 +92,10 @@ public class LocalEstimation extends Configured implements Tool {
 
             // Setting the input and output
             lambda.setInputFormatClass(TextInputFormat.class);
-            FileInputFormat.addInputPath(lambda, new Path(args[0]));
+            FileInputFormat.addInputPath(lambda, new Path(input));
 
             lambda.setOutputFormatClass(TextOutputFormat.class);
-            FileOutputFormat.setOutputPath(lambda, new Path(args[5] + "/lambda"));
+            FileOutputFormat.setOutputPath(lambda, new Path(compaction.output() + "/lambda"));
 
             // Running the sprint job
             logger.info("Sprint job with entry name '" + lambda.getJobName() + "' started");
@@ -99,23 +104,31 @@ public class LocalEstimation extends Configured implements Tool {
 
             exitCode = lambda.waitForCompletion(true) ? 0 : 1;
 
-            long end = System.currentTimeMillis();
-
             if (exitCode != 0) {
                 throw new AbnormalExitException("Abnormal exit occurred running "
                         + " sprint job with entry name '" + lambda.getJobName() + "'");
             }
 
+            // Translating the lambda values back into the original ids
+            compaction.restore("lambda", "part", 3, 2);
+
+            long end = System.currentTimeMillis();
+
             logger.info("Sprint job with entry name '" + name + "' completed in "
                     + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
                     + " min (" + (end - start) + " ms)");
         } catch (AbnormalExitException exc) {
             logger.error(exc.getMessage(), exc);
 
+            exitCode = 1;
+
             // Cleaning up the hdfs
             FileSystem.get(conf).delete(new Path(args[5]), true);
 
             return exitCode;
+        } finally {
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
         }
 
         return exitCode;
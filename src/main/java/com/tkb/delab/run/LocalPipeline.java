@@ -0,0 +1,439 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.alg.BinaryEstimator;
+import com.tkb.delab.alg.EdgeDensityEstimator;
+import com.tkb.delab.alg.HierarchyBuilder;
+import com.tkb.delab.alg.HierarchySink;
+import com.tkb.delab.alg.IncrementalBinaryEstimator;
+import com.tkb.delab.alg.ParallelEstimator;
+import com.tkb.delab.alg.ParallelForward;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.SequentialEstimator;
+import com.tkb.delab.alg.TriangleIndexer;
+import com.tkb.delab.alg.VertexOrdering;
+import com.tkb.delab.io.EdgeReader;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.LambdaBounds;
+import com.tkb.delab.util.AbnormalExitException;
+import gnu.trove.list.array.TIntArrayList;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A single process job entry, running the edge undirection, the triangulation,
+ * the lambda estimation and the subgraph enumeration one after the other in
+ * memory, for graphs fitting into the memory of a single machine. Each step
+ * passes its result to the next one directly, the triangles are listed and
+ * the lambda values are estimated by multiple threads, while the result of
+ * each step is written in the background as the next step runs. The results
+ * are written in the same form the map reduce entries give.
+ *
+ * @author Akis Papadopoulos
+ */
+public class LocalPipeline extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(LocalPipeline.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new LocalPipeline(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 4) {
+            logger.error("Unable to run job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <threads> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to a file or folder of a directed graph given as a list of edges per line");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <threads> \tnumber of threads used to list the triangles and estimate the lambda values");
+            System.out.println(" <output> \tpath in DFS to save the undirected edges, the triangles, the lambda values and the hierarchy\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        int threads = Integer.parseInt(args[2]);
+        int mode = conf.getInt("local.estimation.mode", 4);
+        int iterations = conf.getInt("local.estimation.iterations", 50);
+        int ordering = conf.getInt("vertex.ordering.mode", VertexOrdering.NONE);
+
+        // Fallback to a single thread
+        if (threads < 1) {
+            threads = 1;
+        }
+
+        // Fallback to parallel binary mode
+        if (mode < 0 || mode > 4) {
+            mode = 4;
+        }
+
+        // Fallback to default number of iterations
+        if (iterations < 1) {
+            iterations = 50;
+        }
+
+        Path input = new Path(args[0]);
+
+        FileSystem fs = input.getFileSystem(conf);
+
+        final Path output = new Path(args[3]);
+
+        final FileSystem out = output.getFileSystem(conf);
+
+        if (out.exists(output)) {
+            logger.error("Unable to run job entry " + name + ", output directory " + output + " already exists");
+
+            return 1;
+        }
+
+        logger.info("Job entry with name '" + name + "' started");
+
+        long start = System.currentTimeMillis();
+
+        // Writing the result of each step in the background as the next step runs
+        ExecutorService writers = Executors.newSingleThreadExecutor();
+
+        List<Future<Void>> writes = new ArrayList<Future<Void>>();
+
+        long triangles = 0;
+
+        int exitCode = 0;
+
+        boolean completed = false;
+
+        try {
+            // Collecting the edge endpoints of all the input files
+            long time = System.currentTimeMillis();
+
+            TIntArrayList ends = new TIntArrayList();
+
+            for (FileStatus status : fs.globStatus(input)) {
+                FileStatus[] files = status.isDir() ? fs.listStatus(status.getPath()) : new FileStatus[]{status};
+
+                for (FileStatus file : files) {
+                    String filename = file.getPath().getName();
+
+                    // Skipping folders and hidden files like the job logs
+                    if (file.isDir() || filename.startsWith("_") || filename.startsWith(".")) {
+                        continue;
+                    }
+
+                    EdgeReader reader = new EdgeReader(new InputStreamReader(fs.open(file.getPath()), "UTF-8"), args[1]);
+
+                    try {
+                        Edge edge = new Edge(0, 0);
+
+                        while (reader.next(edge)) {
+                            ends.add(edge.v);
+                            ends.add(edge.u);
+                        }
+                    } finally {
+                        reader.close();
+                    }
+                }
+            }
+
+            // Undirecting the edges, dropping any duplicates
+            final CompressedGraph graph = new VertexOrdering(ordering).apply(new CompressedGraph(ends.toArray()));
+
+            ends = null;
+
+            logger.info("Undirected " + (graph.volume() / 2) + " edges over " + graph.size() + " vertices in "
+                    + (System.currentTimeMillis() - time) + " ms");
+
+            writes.add(writers.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    PrintWriter writer = new PrintWriter(out.create(new Path(output, "undirected/part-00000")));
+
+                    try {
+                        for (int i = 0; i < graph.size(); i++) {
+                            for (int p = graph.offset(i); p < graph.offset(i + 1); p++) {
+                                int v = graph.id(i);
+                                int u = graph.id(graph.neighbor(p));
+
+                                if (v < u) {
+                                    writer.println(v + "," + u);
+                                }
+                            }
+                        }
+                    } finally {
+                        writer.close();
+                    }
+
+                    check(writer, "undirected");
+
+                    return null;
+                }
+            }));
+
+            // Listing the triangles into an index of their edges
+            time = System.currentTimeMillis();
+
+            TriangleIndexer indexer = new TriangleIndexer();
+
+            try {
+                new ParallelForward(threads).list(graph, indexer);
+            } catch (IllegalStateException exc) {
+                throw new AbnormalExitException(exc.getMessage() + ", the graph is too large to run on a single machine");
+            }
+
+            final EdgeIndex index = indexer.getIndex();
+
+            triangles = index.triangles();
+
+            logger.info("Listed " + index.triangles() + " triangles over " + index.size() + " edges in "
+                    + (System.currentTimeMillis() - time) + " ms");
+
+            writes.add(writers.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    PrintWriter writer = new PrintWriter(out.create(new Path(output, "triangles/part-00000")));
+
+                    try {
+                        for (int t = 0; t < index.triangles(); t++) {
+                            long vu = index.key(index.edge(t, 0));
+                            long uw = index.key(index.edge(t, 1));
+
+                            writer.println(EdgeKey.v(vu) + "," + EdgeKey.u(vu) + "," + EdgeKey.u(uw));
+                        }
+                    } finally {
+                        writer.close();
+                    }
+
+                    check(writer, "triangles");
+
+                    return null;
+                }
+            }));
+
+            // Choosing binary (0), sequential (1), peeling (2), incremental binary (3) or parallel binary (4) estimation mode
+            EdgeDensityEstimator estimator;
+
+            if (mode == 1) {
+                estimator = new SequentialEstimator(iterations);
+            } else if (mode == 2) {
+                estimator = new PeelingEstimator();
+            } else if (mode == 3) {
+                estimator = new IncrementalBinaryEstimator(iterations);
+            } else if (mode == 4) {
+                estimator = new ParallelEstimator(iterations, threads);
+            } else {
+                estimator = new BinaryEstimator(iterations);
+            }
+
+            // Estimating the lambda values of the edges
+            time = System.currentTimeMillis();
+
+            final LambdaBounds bounds = estimator.estimate(index);
+
+            logger.info("Estimated the lambda values of " + index.size() + " edges in "
+                    + (System.currentTimeMillis() - time) + " ms");
+
+            writes.add(writers.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    PrintWriter writer = new PrintWriter(out.create(new Path(output, "lambda/part-00000")));
+
+                    try {
+                        // Attaching each edge of every triangle along with its bounds
+                        for (int t = 0; t < index.triangles(); t++) {
+                            long vu = index.key(index.edge(t, 0));
+                            long uw = index.key(index.edge(t, 1));
+
+                            String triangle = EdgeKey.v(vu) + "," + EdgeKey.u(vu) + "," + EdgeKey.u(uw);
+
+                            for (int i = 0; i < 3; i++) {
+                                int e = index.edge(t, i);
+
+                                writer.println(triangle + "," + EdgeKey.v(index.key(e)) + "," + EdgeKey.u(index.key(e))
+                                        + "," + bounds.lower[e] + "," + bounds.upper[e]);
+                            }
+                        }
+                    } finally {
+                        writer.close();
+                    }
+
+                    check(writer, "lambda");
+
+                    return null;
+                }
+            }));
+
+            // Building the hierarchy of the dense subgraphs
+            time = System.currentTimeMillis();
+
+            int nodes = enumerate(index, bounds, out, new Path(output, "hierarchy"));
+
+            logger.info("Enumerated " + nodes + " dense subgraphs in " + (System.currentTimeMillis() - time) + " ms");
+
+            // Waiting for the results of the steps to be written
+            for (Future<Void> write : writes) {
+                try {
+                    write.get();
+                } catch (ExecutionException exc) {
+                    if (exc.getCause() instanceof IOException) {
+                        throw (IOException) exc.getCause();
+                    }
+
+                    throw exc;
+                }
+            }
+
+            completed = true;
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            return exitCode;
+        } finally {
+            writers.shutdownNow();
+
+            // Cleaning up the partial output of a failed step
+            if (!completed) {
+                writers.awaitTermination(1, TimeUnit.MINUTES);
+
+                out.delete(output, true);
+            }
+        }
+
+        long end = System.currentTimeMillis();
+
+        logger.info("Job entry with name '" + name + "' completed in "
+                + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                + " min (" + (end - start) + " ms)"
+                + " listed " + triangles + " total triangles");
+
+        return exitCode;
+    }
+
+    /**
+     * A method building the hierarchy of the dense subgraphs, adding the edges
+     * level by level in decreasing order of their lambda upper bounds, writing
+     * the edges along with their subgraphs and the tree of the subgraphs.
+     *
+     * @param index the index of the edges within triangles.
+     * @param bounds the lambda bounds by edge id.
+     * @param fs the file system to write to.
+     * @param folder the folder to save the hierarchy in.
+     * @return the number of subgraphs.
+     * @throws IOException if the hierarchy can't be written.
+     */
+    private static int enumerate(EdgeIndex index, LambdaBounds bounds, FileSystem fs, Path folder) throws IOException {
+        int m = index.size();
+
+        // Counting sort of the edges by lambda value
+        int max = 0;
+
+        for (int e = 0; e < m; e++) {
+            max = Math.max(max, bounds.upper[e]);
+        }
+
+        int[] start = new int[max + 2];
+
+        for (int e = 0; e < m; e++) {
+            start[bounds.upper[e] + 1]++;
+        }
+
+        for (int l = 0; l <= max; l++) {
+            start[l + 1] += start[l];
+        }
+
+        int[] ends = new int[2 * m];
+        int[] next = Arrays.copyOf(start, max + 1);
+
+        for (int e = 0; e < m; e++) {
+            int p = 2 * next[bounds.upper[e]]++;
+
+            ends[p] = EdgeKey.v(index.key(e));
+            ends[p + 1] = EdgeKey.u(index.key(e));
+        }
+
+        final PrintWriter edges = new PrintWriter(fs.create(new Path(folder, "edges-00000")));
+        final PrintWriter tree = new PrintWriter(fs.create(new Path(folder, "tree-00000")));
+
+        final int[] nodes = new int[1];
+
+        try {
+            HierarchyBuilder builder = new HierarchyBuilder(new HierarchySink() {
+                @Override
+                public void edge(int v, int u, int lambda, int node) {
+                    edges.println(v + "," + u + "," + lambda + "," + node);
+                }
+
+                @Override
+                public void node(int node, int lambda, int parent) {
+                    tree.println(node + "," + lambda + "," + parent);
+
+                    nodes[0]++;
+                }
+            });
+
+            // Adding the levels in decreasing order of lambda
+            for (int l = max; l >= 0; l--) {
+                if (start[l + 1] > start[l]) {
+                    int[] level = Arrays.copyOfRange(ends, 2 * start[l], 2 * start[l + 1]);
+
+                    builder.level(l, level, level.length);
+                }
+            }
+
+            builder.finish();
+        } finally {
+            edges.close();
+            tree.close();
+        }
+
+        check(edges, "hierarchy edges");
+        check(tree, "hierarchy tree");
+
+        return nodes[0];
+    }
+
+    /**
+     * A method checking a closed writer for any failure, as print writers
+     * swallow the exceptions of the underlying stream.
+     *
+     * @param writer the closed writer.
+     * @param result the name of the result written.
+     * @throws IOException if the writer failed.
+     */
+    private static void check(PrintWriter writer, String result) throws IOException {
+        if (writer.checkError()) {
+            throw new IOException("Unable to write the " + result + " result");
+        }
+    }
+}
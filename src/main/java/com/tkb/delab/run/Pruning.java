@@ -0,0 +1,281 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.io.Triple;
+import com.tkb.delab.map.CountAggregationMapper;
+import com.tkb.delab.map.DegreePruningMapper;
+import com.tkb.delab.map.EdgePartitioningMapper;
+import com.tkb.delab.model.Counter;
+import com.tkb.delab.reduce.DegreePruningReducer;
+import com.tkb.delab.reduce.EdgePruningReducer;
+import com.tkb.delab.reduce.LocalCountingReducer;
+import com.tkb.delab.util.AbnormalExitException;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
+import org.apache.hadoop.mapreduce.lib.reduce.LongSumReducer;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A map reduce sprint job entry, pruning an undirected graph down to the
+ * k-truss before any triangulation or estimation. First the vertices of
+ * degree less than k - 1 are stripped repetitively until no vertex is
+ * stripped, then the edges of support less than k - 2 are stripped
+ * repetitively until no edge is stripped. Each pass scores the edges and joins
+ * the scores per edge, keeping only the edges reaching the threshold.
+ *
+ * @author Akis Papadopoulos
+ */
+public class Pruning extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(Pruning.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new Pruning(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 6) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <k> <rho> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to data of an undirected graph given as a list of edges per line");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <k> \t\ttruss number of the query, equal or greater than 3");
+            System.out.println(" <rho> \t\tnumber of disjoint vertex partitions, equal or greater than 3");
+            System.out.println(" <tasks> \tnumber of the reducer tasks used");
+            System.out.println(" <output> \tpath in DFS to save the remaining edges\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        int k = Math.max(3, Integer.parseInt(args[2]));
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        conf.set("mapred.textoutputformat.separator", ",");
+        conf.set("vertex.partitions.number", args[3]);
+        conf.setBoolean("vertices.sorting.mode", true);
+        conf.setInt("pruning.minimum.degree", k - 1);
+
+        conf.set("input.text.delimiter", args[1]);
+
+        int tasks = Integer.parseInt(args[4]);
+
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[5]);
+
+        Path edges = new Path(compaction.output() + "/edges/");
+        Path scores = new Path(compaction.output() + "/tmp/");
+
+        int exitCode = 0;
+
+        try {
+            long start = System.currentTimeMillis();
+
+            // Stripping the low degree vertices until no vertex is stripped
+            Path input = new Path(compaction.input(args[0], tasks));
+            String delimiter = conf.get("input.text.delimiter");
+
+            int passes = 0;
+            long stripped = Long.MAX_VALUE;
+            long remaining = 0;
+
+            while (stripped > 0) {
+                // Setting up the degree voting job
+                Job degree = new Job(conf, name + "[" + (passes + 1) + "].degree");
+                degree.setJarByClass(Pruning.class);
+                degree.getConfiguration().set("input.text.delimiter", delimiter);
+
+                // Setting the mapper and the reducer
+                degree.setMapperClass(DegreePruningMapper.class);
+                degree.setMapOutputKeyClass(IntWritable.class);
+                degree.setMapOutputValueClass(IntWritable.class);
+
+                degree.setReducerClass(DegreePruningReducer.class);
+                degree.setOutputKeyClass(Pair.class);
+                degree.setOutputValueClass(IntWritable.class);
+                degree.setNumReduceTasks(tasks);
+
+                // Setting the input and output
+                degree.setInputFormatClass(TextInputFormat.class);
+                FileInputFormat.addInputPath(degree, input);
+
+                degree.setOutputFormatClass(TextOutputFormat.class);
+                FileOutputFormat.setOutputPath(degree, scores);
+
+                complete(degree);
+
+                // Getting the number of vertices stripped
+                stripped = degree.getCounters().findCounter(Counter.PRUNED_VERTICES).getValue();
+
+                // Keeping the edges voted by both vertices
+                remaining = join(conf, name + "[" + (passes + 1) + "].join", 2, tasks, scores, edges);
+
+                logger.info("Degree pass " + (passes + 1) + " stripped " + stripped
+                        + " vertices, " + remaining + " edges remaining");
+
+                input = edges;
+                delimiter = ",";
+
+                passes++;
+            }
+
+            // Stripping the low support edges until no edge is stripped
+            long previous = Long.MAX_VALUE;
+
+            while (remaining < previous) {
+                previous = remaining;
+
+                // Setting up the support counting job
+                Job support = new Job(conf, name + "[" + (passes + 1) + "].support");
+                support.setJarByClass(Pruning.class);
+                support.getConfiguration().set("input.text.delimiter", ",");
+
+                // Setting the mapper and the reducer
+                support.setMapperClass(EdgePartitioningMapper.class);
+                support.setMapOutputKeyClass(Triple.class);
+                support.setMapOutputValueClass(Pair.class);
+
+                support.setReducerClass(LocalCountingReducer.class);
+                support.setOutputKeyClass(Pair.class);
+                support.setOutputValueClass(LongWritable.class);
+                support.setNumReduceTasks(tasks);
+
+                // Setting the input and output
+                support.setInputFormatClass(TextInputFormat.class);
+                FileInputFormat.addInputPath(support, edges);
+
+                support.setOutputFormatClass(TextOutputFormat.class);
+                FileOutputFormat.setOutputPath(support, scores);
+
+                complete(support);
+
+                // Keeping the edges participating in enough triangles
+                remaining = join(conf, name + "[" + (passes + 1) + "].join", k - 2, tasks, scores, edges);
+
+                logger.info("Support pass " + (passes + 1) + " stripped " + (previous - remaining)
+                        + " edges, " + remaining + " edges remaining");
+
+                passes++;
+            }
+
+            // Translating the remaining edges back into the original ids
+            compaction.restore("edges", "part", 2);
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)"
+                    + " keeping " + remaining + " edges in " + passes + " passes");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[5]), true);
+
+            return exitCode;
+        } finally {
+            // Deleting the partial scores from the hdfs
+            FileSystem.get(conf).delete(scores, true);
+
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * A method running a job summing the partial scores of each edge, keeping
+     * the edges reaching the threshold as the new edge set.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the job.
+     * @param threshold the minimum total score of a remaining edge.
+     * @param tasks the number of the reducer tasks used.
+     * @param scores the path to the partial scores.
+     * @param edges the path to save the remaining edges.
+     * @return the number of the remaining edges.
+     */
+    private long join(Configuration conf, String name, int threshold, int tasks, Path scores, Path edges) throws Exception {
+        Path next = new Path(edges.getParent(), "next");
+
+        // Setting up the score join job
+        Job join = new Job(conf, name);
+        join.setJarByClass(Pruning.class);
+        join.getConfiguration().setInt("pruning.edge.threshold", threshold);
+
+        // Setting the mapper, the combiner and the reducer
+        join.setMapperClass(CountAggregationMapper.class);
+        join.setMapOutputKeyClass(Pair.class);
+        join.setMapOutputValueClass(LongWritable.class);
+
+        join.setCombinerClass(LongSumReducer.class);
+
+        join.setReducerClass(EdgePruningReducer.class);
+        join.setOutputKeyClass(Pair.class);
+        join.setOutputValueClass(NullWritable.class);
+        join.setNumReduceTasks(tasks);
+
+        // Setting the input and output
+        join.setInputFormatClass(TextInputFormat.class);
+        FileInputFormat.addInputPath(join, scores);
+
+        join.setOutputFormatClass(TextOutputFormat.class);
+        FileOutputFormat.setOutputPath(join, next);
+
+        complete(join);
+
+        // Replacing the previous edge set, deleting the consumed scores
+        FileSystem fs = FileSystem.get(conf);
+
+        fs.delete(scores, true);
+        fs.delete(edges, true);
+        fs.rename(next, edges);
+
+        return join.getCounters().findCounter(Counter.REMAINING_EDGES).getValue();
+    }
+
+    /**
+     * A method running a job waiting for its completion.
+     *
+     * @param job the job to run.
+     * @throws AbnormalExitException if the job exits abnormally.
+     */
+    private void complete(Job job) throws Exception {
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' started");
+
+        if (!job.waitForCompletion(true)) {
+            throw new AbnormalExitException("Abnormal exit occurred running "
+                    + " sprint job with entry name '" + job.getJobName() + "'");
+        }
+
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' finished");
+    }
+}
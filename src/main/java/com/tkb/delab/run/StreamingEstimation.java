@@ -0,0 +1,135 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.alg.ReservoirEstimator;
+import com.tkb.delab.io.EdgeReader;
+import com.tkb.delab.model.Edge;
+import gnu.trove.iterator.TIntDoubleIterator;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A single process job entry, estimating the global triangle count of an edge
+ * stream read once, line by line, from any file system path including the
+ * standard input. Only a fixed size reservoir of edges is kept in memory, so
+ * the stream can be of any length. Per vertex triangle counts are estimated
+ * only on demand, since they take memory proportional to the vertices seen.
+ *
+ * @author Akis Papadopoulos
+ */
+public class StreamingEstimation extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(StreamingEstimation.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new StreamingEstimation(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 4) {
+            logger.error("Unable to run job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <reservoir> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to data of an edge stream given as a list of edges per line, file:///dev/stdin to read the standard input");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <reservoir> \tmaximum number of edges kept in memory, equal or greater than 2");
+            System.out.println(" <output> \tpath in DFS to save the global and per vertex triangle estimates\n");
+            System.out.println("Per vertex estimates are kept only given -D streaming.estimation.local=true,");
+            System.out.println("taking memory proportional to the number of vertices seen\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        long seed = conf.getLong("streaming.estimation.seed", 0L);
+        boolean local = conf.getBoolean("streaming.estimation.local", false);
+        long interval = conf.getLong("streaming.report.interval", 1000000L);
+
+        // Fallback to default report interval
+        if (interval < 1) {
+            interval = 1000000L;
+        }
+
+        FileSystem fs = FileSystem.get(conf);
+
+        ReservoirEstimator estimator = new ReservoirEstimator(Integer.parseInt(args[2]), local, seed);
+
+        logger.info("Job entry with name '" + name + "' started");
+
+        long start = System.currentTimeMillis();
+
+        // Reading the stream edge by edge
+        Path input = new Path(args[0]);
+
+        EdgeReader reader = new EdgeReader(new InputStreamReader(input.getFileSystem(conf).open(input), "UTF-8"), args[1]);
+
+        try {
+            Edge edge = new Edge(0, 0);
+
+            while (reader.next(edge)) {
+                estimator.add(edge.v, edge.u);
+
+                if (estimator.time() % interval == 0) {
+                    logger.info("Estimated " + Math.round(estimator.global()) + " triangles after "
+                            + estimator.time() + " edges");
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        // Writing the global estimate
+        PrintWriter writer = new PrintWriter(fs.create(new Path(args[3] + "/global")));
+
+        try {
+            writer.println(estimator.time() + "," + Math.round(estimator.global()));
+        } finally {
+            writer.close();
+        }
+
+        // Writing the per vertex estimates
+        if (local) {
+            writer = new PrintWriter(fs.create(new Path(args[3] + "/vertices")));
+
+            try {
+                TIntDoubleIterator it = estimator.local().iterator();
+
+                while (it.hasNext()) {
+                    it.advance();
+
+                    writer.println(it.key() + "," + Math.round(it.value()));
+                }
+            } finally {
+                writer.close();
+            }
+        }
+
+        long end = System.currentTimeMillis();
+
+        logger.info("Job entry with name '" + name + "' completed in "
+                + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                + " min (" + (end - start) + " ms)"
+                + " estimated " + Math.round(estimator.global()) + " total triangles"
+                + " over " + estimator.time() + " edges");
+
+        return 0;
+    }
+}
@@ -1,14 +1,14 @@
 package com.tkb.delab.run;
 
-import com.tkb.delab.reduce.EdgeHashingReducer;
-import com.tkb.delab.map.EdgeHashingMapper;
-import com.tkb.delab.util.AbnormalExitException;
+import com.tkb.delab.io.DecreasingIntComparator;
 import com.tkb.delab.io.Pair;
-import com.tkb.delab.io.Quad;
-import com.tkb.delab.io.Triple;
+import com.tkb.delab.map.EdgeLambdaMapper;
+import com.tkb.delab.map.HierarchyMapper;
+import com.tkb.delab.reduce.EdgeLambdaReducer;
+import com.tkb.delab.reduce.HierarchyReducer;
+import com.tkb.delab.util.AbnormalExitException;
 import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Arrays;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.fs.FileSystem;
@@ -16,126 +16,168 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
 import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.LazyOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
 import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
 import org.apache.hadoop.util.Tool;
 import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
 
 /**
- * A subgraph enumeration map/reduce sprint.
+ * A map reduce sprint job entry, building the nested hierarchy of the dense
+ * subgraphs given the edges attached with their lambda values. The lines
+ * repeating an edge, one per triangle of the edge, are first reduced into a
+ * single record per edge over many reducers. The unique edges are then sorted
+ * in decreasing order of lambda into a single reducer, joining them level by
+ * level into a single disjoint set forest, so each edge reaches the single
+ * reducer once no matter the number of levels.
  *
  * @author Akis Papadopoulos
  */
 public class SubgraphEnumeration extends Configured implements Tool {
 
-    /**
-     * A main method to run the tool runner.
-     *
-     * @param args the command line arguments.
-     */
+    private static final Logger logger = Logger.getLogger(SubgraphEnumeration.class);
+
     public static void main(String[] args) throws Exception {
         int code = ToolRunner.run(new SubgraphEnumeration(), args);
+
         System.exit(code);
     }
 
-    /**
-     * A method to run the subgraph enumeration sprint map/reduce jobs.
-     *
-     * @param args the command line arguments.
-     */
     @Override
     public int run(String[] args) throws Exception {
-        if (args.length != 2) {
-            System.err.printf("Usage: %s [generic options] <input> <tasks>\n", this.getClass().getSimpleName());
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 3) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to the list of triangles along with the edges attached with the optimal lambda values");
+            System.out.println(" <tasks> \tnumber of the reducer tasks used to find the unique edges");
+            System.out.println(" <output> \tpath in DFS to save the edges attached with their subgraphs and the tree of the subgraphs\n");
             ToolRunner.printGenericCommandUsage(System.err);
+
             return -1;
         }
 
-        // Creating a simple date formatter
-        SimpleDateFormat dater = new SimpleDateFormat("yy/MM/dd HH:mm:ss");
-
-        // Creating a simple float number formatter
-        DecimalFormat decimaler = new DecimalFormat(".###");
-
-        // Getting the configuration
+        // Setting configuration parameters
         Configuration conf = this.getConf();
 
-        // Setting the key-value separator character, default is tab
         conf.set("mapred.textoutputformat.separator", ",");
+        conf.set("input.text.delimiter", ",");
 
-        // Storing the exit code returned by each job
         int exitCode = 0;
 
+        int tasks = Integer.parseInt(args[1]);
+
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[2]);
+
+        Path distinct = new Path(compaction.output() + ".distinct");
+
         try {
-            // Creating the edge hashing job
-            Job has = new Job(conf, "has");
-            has.setJarByClass(SubgraphEnumeration.class);
+            String input = compaction.input(args[0], tasks, 3, 2);
+
+            long start = System.currentTimeMillis();
 
-            // Setting the mapper class and the output key-value pair
-            has.setMapperClass(EdgeHashingMapper.class);
-            has.setMapOutputKeyClass(Triple.class);
-            has.setMapOutputValueClass(Quad.class);
+            // Setting up the unique edges job
+            Job edges = new Job(conf, name + ".distinct");
+            edges.setJarByClass(SubgraphEnumeration.class);
 
-            // Setting the reducer class and output key-value pair
-            has.setReducerClass(EdgeHashingReducer.class);
-            has.setOutputKeyClass(IntWritable.class);
-            has.setOutputValueClass(Pair.class);
+            // Setting the mapper, the combiner and the reducer
+            edges.setMapperClass(EdgeLambdaMapper.class);
+            edges.setMapOutputKeyClass(Pair.class);
+            edges.setMapOutputValueClass(IntWritable.class);
 
-            // Setting the number of reducer tasks
-            has.setNumReduceTasks(Integer.parseInt(args[1]));
+            edges.setCombinerClass(EdgeLambdaReducer.class);
 
-            // Setting the input and output file format
-            has.setInputFormatClass(TextInputFormat.class);
-            has.setOutputFormatClass(TextOutputFormat.class);
+            edges.setReducerClass(EdgeLambdaReducer.class);
+            edges.setOutputKeyClass(Pair.class);
+            edges.setOutputValueClass(IntWritable.class);
+            edges.setNumReduceTasks(tasks);
 
-            // Setting the input path of the files, in hdfs
-            FileInputFormat.addInputPath(has, new Path(args[0]));
+            // Setting the input and output
+            edges.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(edges, new Path(input));
 
-            // Setting the output path, in hdfs as input to the next phase
-            FileOutputFormat.setOutputPath(has, new Path("out/miner/enu/has/"));
+            edges.setOutputFormatClass(SequenceFileOutputFormat.class);
+            FileOutputFormat.setOutputPath(edges, distinct);
 
-            // OUT
-            for (int i = 0; i < 60; i++) {
-                System.out.print((char) 8226 + " ");
+            logger.info("Sprint job with entry name '" + edges.getJobName() + "' started");
+
+            if (!edges.waitForCompletion(true)) {
+                throw new AbnormalExitException("Abnormal exit occurred running "
+                        + " sprint job with entry name '" + edges.getJobName() + "'");
             }
-            System.out.println();
-            System.out.println(dater.format(new Date()) + " INFO miner.sprints.SubgraphEnumerationSprint: edge hashing sprint started");
-            // OUT
 
-            // Storing the starting time of the process
-            long start = System.currentTimeMillis();
+            logger.info("Sprint job with entry name '" + edges.getJobName() + "' finished");
+
+            // Setting up the hierarchy job
+            Job hierarchy = new Job(conf, name);
+            hierarchy.setJarByClass(SubgraphEnumeration.class);
+
+            // Setting the mapper and the reducer
+            hierarchy.setMapperClass(HierarchyMapper.class);
+            hierarchy.setMapOutputKeyClass(IntWritable.class);
+            hierarchy.setMapOutputValueClass(Pair.class);
+
+            // Sorting the lambda levels in decreasing order into a single reducer
+            hierarchy.setSortComparatorClass(DecreasingIntComparator.class);
+
+            hierarchy.setReducerClass(HierarchyReducer.class);
+            hierarchy.setOutputKeyClass(Pair.class);
+            hierarchy.setOutputValueClass(Pair.class);
+            hierarchy.setNumReduceTasks(1);
+
+            // Setting the input
+            hierarchy.setInputFormatClass(SequenceFileInputFormat.class);
+            FileInputFormat.addInputPath(hierarchy, distinct);
 
-            // Run the job and wait for completion
-            exitCode = has.waitForCompletion(true) ? 0 : 1;
+            // Setting the edge and tree outputs, skipping the empty default output
+            LazyOutputFormat.setOutputFormatClass(hierarchy, TextOutputFormat.class);
+            MultipleOutputs.addNamedOutput(hierarchy, "edges", TextOutputFormat.class, Pair.class, Pair.class);
+            MultipleOutputs.addNamedOutput(hierarchy, "tree", TextOutputFormat.class, IntWritable.class, Pair.class);
+            FileOutputFormat.setOutputPath(hierarchy, new Path(compaction.output()));
+
+            // Running the sprint job
+            logger.info("Sprint job with entry name '" + hierarchy.getJobName() + "' started");
+
+            exitCode = hierarchy.waitForCompletion(true) ? 0 : 1;
 
-            // Checking for an abnormal exit code
             if (exitCode != 0) {
-                //Throwing an exception
-                throw new AbnormalExitException("An abnormal exit exception occurred at edge hashing sprint");
+                throw new AbnormalExitException("Abnormal exit occurred running "
+                        + " sprint job with entry name '" + hierarchy.getJobName() + "'");
             }
 
-            // Storing the finish time of the process
+            // Translating the edges back into the original ids, the tree holds no vertices
+            compaction.restore("", "edges", 2);
+            compaction.move("tree-*");
+
             long end = System.currentTimeMillis();
 
-            // OUT
-            System.out.println(dater.format(new Date()) + " INFO miner.sprints.SubgraphEnumerationSprint: edge hashing sprint finished");
-            System.out.println(dater.format(new Date()) + " INFO miner.sprints.SubgraphEnumerationSprint: process finished successfuly");
-            System.out.printf("%-10s %s\n", "Input", args[0]);
-            System.out.printf("%-10s %s\n", "Tasks", args[1]);
-            System.out.printf("%-10s %s\n", "Ellapsed", decimaler.format(((double) (end - start) / 1000 / 60)) + " Min (" + (end - start) + " msec)");
-            System.out.printf("%-10s %s\n", "Output", "out/miner/enu/has/");
-            // OUT
-        } catch (AbnormalExitException ex) {
-            // Cleaning the hdfs
-            FileSystem.get(conf).delete(new Path("out/miner/enu/"), true);
-
-            // OUT
-            System.out.println(dater.format(new Date()) + " INFO miner.sprints.SubgraphEnumerationSprint: " + ex.getMessage());
-            // OUT
-
-            // Returning from abnormal exit
+            logger.info("Sprint job with entry name '" + hierarchy.getJobName() + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[2]), true);
+
             return exitCode;
+        } finally {
+            // Deleting the unique edges and the compaction working folder from the hdfs
+            FileSystem.get(conf).delete(distinct, true);
+
+            compaction.close();
         }
 
         return exitCode;
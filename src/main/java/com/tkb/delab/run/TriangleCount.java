@@ -0,0 +1,191 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.io.Pair;
+import com.tkb.delab.io.Triple;
+import com.tkb.delab.map.CountAggregationMapper;
+import com.tkb.delab.map.EdgePartitioningMapper;
+import com.tkb.delab.model.Counter;
+import com.tkb.delab.reduce.CountAggregationReducer;
+import com.tkb.delab.reduce.LocalCountingReducer;
+import com.tkb.delab.util.AbnormalExitException;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.LazyOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
+import org.apache.hadoop.mapreduce.lib.reduce.LongSumReducer;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A map reduce sprint job entry, hashing each edge into multiple vertex
+ * partitions and counting the triangles each edge and each vertex participates
+ * within each partition, then summing up the partial counts. No triangle is
+ * listed, so the counts are exact with no duplicates.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TriangleCount extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(TriangleCount.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new TriangleCount(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 6) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <rho> <sort> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to data of an undirected graph given as a list of edges per line");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the integer vertices of each edge");
+            System.out.println(" <rho> \t\tnumber of disjoint vertex partitions, equal or greater than 3");
+            System.out.println(" <sort> \ttrue to sort vertices in ascending order before processing otherwise false");
+            System.out.println(" <tasks> \tnumber of the reducer tasks used");
+            System.out.println(" <output> \tpath in DFS to save the triangle counts per edge and per vertex\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        conf.set("mapred.textoutputformat.separator", ",");
+        conf.set("input.text.delimiter", args[1]);
+        conf.set("vertex.partitions.number", args[2]);
+        conf.set("vertices.sorting.mode", args[3]);
+
+        int exitCode = 0;
+
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[5]);
+
+        String output = compaction.output();
+
+        try {
+            String input = compaction.input(args[0], Integer.parseInt(args[4]));
+
+            // Setting up the local counting job
+            Job count = new Job(conf, name + ".count");
+            count.setJarByClass(TriangleCount.class);
+
+            // Setting the mapper and the reducer
+            count.setMapperClass(EdgePartitioningMapper.class);
+            count.setMapOutputKeyClass(Triple.class);
+            count.setMapOutputValueClass(Pair.class);
+
+            count.setReducerClass(LocalCountingReducer.class);
+            count.setOutputKeyClass(Pair.class);
+            count.setOutputValueClass(LongWritable.class);
+            count.setNumReduceTasks(Integer.parseInt(args[4]));
+
+            // Setting the input and output
+            count.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(count, new Path(input));
+
+            count.setOutputFormatClass(TextOutputFormat.class);
+            FileOutputFormat.setOutputPath(count, new Path(output + "/tmp/"));
+
+            // Running the sprint job
+            logger.info("Sprint job with entry name '" + count.getJobName() + "' started");
+
+            long start = System.currentTimeMillis();
+
+            exitCode = count.waitForCompletion(true) ? 0 : 1;
+
+            if (exitCode != 0) {
+                throw new AbnormalExitException("Abnormal exit occurred running "
+                        + " sprint job with entry name '" + count.getJobName() + "'");
+            }
+
+            // Getting the number of triangles counted
+            long triangles = count.getCounters().findCounter(Counter.TRIANGLES).getValue();
+
+            logger.info("Sprint job with entry name '" + count.getJobName() + "' finished");
+
+            // Setting up the count aggregation job
+            Job aggregation = new Job(conf, name + ".aggregate");
+            aggregation.setJarByClass(TriangleCount.class);
+
+            // Setting the mapper, the combiner and the reducer
+            aggregation.setMapperClass(CountAggregationMapper.class);
+            aggregation.setMapOutputKeyClass(Pair.class);
+            aggregation.setMapOutputValueClass(LongWritable.class);
+
+            aggregation.setCombinerClass(LongSumReducer.class);
+
+            aggregation.setReducerClass(CountAggregationReducer.class);
+            aggregation.setOutputKeyClass(Pair.class);
+            aggregation.setOutputValueClass(LongWritable.class);
+            aggregation.setNumReduceTasks(Integer.parseInt(args[4]));
+
+            // Setting the input
+            aggregation.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(aggregation, new Path(output + "/tmp/"));
+
+            // Setting the edge and vertex outputs, skipping the empty default output
+            LazyOutputFormat.setOutputFormatClass(aggregation, TextOutputFormat.class);
+            MultipleOutputs.addNamedOutput(aggregation, "edges", TextOutputFormat.class, Pair.class, LongWritable.class);
+            MultipleOutputs.addNamedOutput(aggregation, "vertices", TextOutputFormat.class, IntWritable.class, LongWritable.class);
+            FileOutputFormat.setOutputPath(aggregation, new Path(output + "/counts/"));
+
+            // Running the sprint job
+            logger.info("Sprint job with entry name '" + aggregation.getJobName() + "' started");
+
+            exitCode = aggregation.waitForCompletion(true) ? 0 : 1;
+
+            if (exitCode != 0) {
+                throw new AbnormalExitException("Abnormal exit occurred running "
+                        + " sprint job with entry name '" + aggregation.getJobName() + "'");
+            }
+
+            // Translating the counts back into the original ids
+            compaction.restore("counts", "edges", 2);
+            compaction.restore("counts", "vertices", 1);
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)"
+                    + " found " + triangles + " total triangles");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[5]), true);
+
+            return exitCode;
+        } finally {
+            // Deleting the partial counts from the hdfs
+            FileSystem.get(conf).delete(new Path(output + "/tmp/"), true);
+
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
+        }
+
+        return exitCode;
+    }
+}
@@ -1,21 +1,35 @@
 package com.tkb.delab.run;
 
 import com.tkb.delab.reduce.LocalTriangulationReducer;
+import com.tkb.delab.reduce.CountAggregationReducer;
+import com.tkb.delab.reduce.LocalCountingReducer;
+import com.tkb.delab.reduce.VertexEstimationReducer;
+import com.tkb.delab.map.CountAggregationMapper;
 import com.tkb.delab.map.EdgePartitioningMapper;
+import com.tkb.delab.map.VertexEstimationMapper;
+import com.tkb.delab.model.Counter;
+import com.tkb.delab.model.TriangleEstimate;
 import com.tkb.delab.util.AbnormalExitException;
 import com.tkb.delab.io.Pair;
 import com.tkb.delab.io.Triple;
+import java.io.PrintWriter;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.LazyOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
 import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
+import org.apache.hadoop.mapreduce.lib.reduce.LongSumReducer;
 import org.apache.hadoop.util.Tool;
 import org.apache.hadoop.util.ToolRunner;
 import org.apache.log4j.Logger;
@@ -24,6 +38,10 @@ import org.apache.log4j.Logger;
  * A map reduce sprint job entry, hashing each edge into multiple vertex
  * partitions and enumerating all the triangles within each partition using
  * local triangulation. Be aware the list of triangles may includes duplicates.
+ * Given an edge sampling probability less than 1, the job runs in approximate
+ * mode instead, counting the triangles within the sampled partitions and
+ * writing the scaled global and per vertex estimates along with their 95%
+ * confidence bounds.
  *
  * @author Akis Papadopoulos
  */
@@ -68,7 +86,33 @@ public class Triangulation extends Configured implements Tool {
 
         int exitCode = 0;
 
+        // Compacting the vertex ids given a compaction mode
+        Compaction compaction = new Compaction(conf, name, args[5]);
+
+        // Checking if the approximate mode is given
+        float probability = conf.getFloat("edge.sampling.probability", 1f);
+
+        if (probability > 0 && probability < 1) {
+            try {
+                estimate(conf, name, args, probability, compaction);
+            } catch (AbnormalExitException exc) {
+                logger.error(exc.getMessage(), exc);
+
+                // Cleaning up the hdfs
+                FileSystem.get(conf).delete(new Path(args[5]), true);
+
+                return 1;
+            } finally {
+                // Deleting the compaction working folder from the hdfs
+                compaction.close();
+            }
+
+            return exitCode;
+        }
+
         try {
+            String input = compaction.input(args[0], Integer.parseInt(args[4]));
+
             // Setting up the triangulation job
             Job triangulation = new Job(conf, name);
             triangulation.setJarByClass(Triangulation.class);
@@ -85,17 +129,16 @@ public class Triangulation extends Configured implements Tool {
 
             // Setting the input and output
             triangulation.setInputFormatClass(TextInputFormat.class);
-            FileInputFormat.addInputPath(triangulation, new Path(args[0]));
+            FileInputFormat.addInputPath(triangulation, new Path(input));
 
             triangulation.setOutputFormatClass(TextOutputFormat.class);
-            FileOutputFormat.setOutputPath(triangulation, new Path(args[5]));
+            FileOutputFormat.setOutputPath(triangulation, new Path(compaction.output()));
 
             // Running the sprint job
             logger.info("Sprint job with entry name '" + triangulation.getJobName() + "' started");
 
             long start = System.currentTimeMillis();
             exitCode = triangulation.waitForCompletion(true) ? 0 : 1;
-            long end = System.currentTimeMillis();
 
             if (exitCode != 0) {
                 throw new AbnormalExitException("Abnormal exit occurred running "
@@ -107,6 +150,11 @@ public class Triangulation extends Configured implements Tool {
                     .findCounter("org.apache.hadoop.mapred.Task$Counter", "REDUCE_OUTPUT_RECORDS")
                     .getValue();
 
+            // Translating the triangles back into the original ids
+            compaction.restore("", "part", 3);
+
+            long end = System.currentTimeMillis();
+
             logger.info("Sprint job with entry name '" + triangulation.getJobName() + "' completed in "
                     + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
                     + " min (" + (end - start) + " ms)"
@@ -114,12 +162,165 @@ public class Triangulation extends Configured implements Tool {
         } catch (AbnormalExitException exc) {
             logger.error(exc.getMessage(), exc);
 
+            exitCode = 1;
+
             // Cleaning up the hdfs
             FileSystem.get(conf).delete(new Path(args[5]), true);
 
             return exitCode;
+        } finally {
+            // Deleting the compaction working folder from the hdfs
+            compaction.close();
         }
 
         return exitCode;
     }
+
+    /**
+     * A method running the approximate mode, counting the triangles within the
+     * sampled partitions, summing the counts per edge and per vertex and
+     * scaling them into estimates along with their confidence bounds.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the entry.
+     * @param args the arguments of the entry.
+     * @param probability the probability an edge is kept.
+     * @param compaction the vertex compaction around the entry.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    private void estimate(Configuration conf, String name, String[] args, float probability, Compaction compaction) throws Exception {
+        int tasks = Integer.parseInt(args[4]);
+
+        String output = compaction.output();
+
+        try {
+            String input = compaction.input(args[0], tasks);
+
+            // Setting up the sampled counting job
+            Job count = new Job(conf, name + ".count");
+            count.setJarByClass(Triangulation.class);
+
+            // Setting the mapper and the reducer
+            count.setMapperClass(EdgePartitioningMapper.class);
+            count.setMapOutputKeyClass(Triple.class);
+            count.setMapOutputValueClass(Pair.class);
+
+            count.setReducerClass(LocalCountingReducer.class);
+            count.setOutputKeyClass(Pair.class);
+            count.setOutputValueClass(LongWritable.class);
+            count.setNumReduceTasks(tasks);
+
+            // Setting the input and output
+            count.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(count, new Path(input));
+
+            count.setOutputFormatClass(TextOutputFormat.class);
+            FileOutputFormat.setOutputPath(count, new Path(output + "/tmp/"));
+
+            long start = System.currentTimeMillis();
+
+            complete(count);
+
+            // Getting the number of sampled triangles
+            long triangles = count.getCounters().findCounter(Counter.TRIANGLES).getValue();
+
+            // Setting up the count aggregation job
+            Job aggregation = new Job(conf, name + ".aggregate");
+            aggregation.setJarByClass(Triangulation.class);
+
+            // Setting the mapper, the combiner and the reducer
+            aggregation.setMapperClass(CountAggregationMapper.class);
+            aggregation.setMapOutputKeyClass(Pair.class);
+            aggregation.setMapOutputValueClass(LongWritable.class);
+
+            aggregation.setCombinerClass(LongSumReducer.class);
+
+            aggregation.setReducerClass(CountAggregationReducer.class);
+            aggregation.setOutputKeyClass(Pair.class);
+            aggregation.setOutputValueClass(LongWritable.class);
+            aggregation.setNumReduceTasks(tasks);
+
+            // Setting the input
+            aggregation.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(aggregation, new Path(output + "/tmp/"));
+
+            // Setting the edge and vertex outputs, skipping the empty default output
+            LazyOutputFormat.setOutputFormatClass(aggregation, TextOutputFormat.class);
+            MultipleOutputs.addNamedOutput(aggregation, "edges", TextOutputFormat.class, Pair.class, LongWritable.class);
+            MultipleOutputs.addNamedOutput(aggregation, "vertices", TextOutputFormat.class, IntWritable.class, LongWritable.class);
+            FileOutputFormat.setOutputPath(aggregation, new Path(output + "/counts/"));
+
+            complete(aggregation);
+
+            // Setting up the vertex estimation job
+            Job estimation = new Job(conf, name + ".estimate");
+            estimation.setJarByClass(Triangulation.class);
+
+            // Setting the mapper and the reducer
+            estimation.setMapperClass(VertexEstimationMapper.class);
+            estimation.setMapOutputKeyClass(IntWritable.class);
+            estimation.setMapOutputValueClass(LongWritable.class);
+
+            estimation.setReducerClass(VertexEstimationReducer.class);
+            estimation.setOutputKeyClass(IntWritable.class);
+            estimation.setOutputValueClass(Text.class);
+            estimation.setNumReduceTasks(tasks);
+
+            // Setting the input and output
+            estimation.setInputFormatClass(TextInputFormat.class);
+            FileInputFormat.addInputPath(estimation, new Path(output + "/counts/"));
+
+            estimation.setOutputFormatClass(TextOutputFormat.class);
+            FileOutputFormat.setOutputPath(estimation, new Path(output + "/estimates/"));
+
+            complete(estimation);
+
+            // Estimating the global count, each shared pair is counted by both vertices of the edge
+            long pairs = estimation.getCounters().findCounter(Counter.SHARED_TRIANGLE_PAIRS).getValue() / 2;
+
+            TriangleEstimate global = new TriangleEstimate(triangles, pairs, probability);
+
+            PrintWriter writer = new PrintWriter(FileSystem.get(conf).create(new Path(output + "/global")));
+
+            try {
+                writer.println(global);
+            } finally {
+                writer.close();
+            }
+
+            // Translating the counts and the estimates back into the original ids
+            compaction.restore("counts", "edges", 2);
+            compaction.restore("counts", "vertices", 1);
+            compaction.restore("estimates", "part", 1);
+            compaction.move("global");
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)"
+                    + " found " + triangles + " sampled triangles, estimated " + Math.round(global.estimate)
+                    + " total triangles within [" + Math.round(global.lower) + ", " + Math.round(global.upper) + "]");
+        } finally {
+            // Deleting the partial counts from the hdfs
+            FileSystem.get(conf).delete(new Path(output + "/tmp/"), true);
+        }
+    }
+
+    /**
+     * A method running a job waiting for its completion.
+     *
+     * @param job the job to run.
+     * @throws AbnormalExitException if the job exits abnormally.
+     */
+    private void complete(Job job) throws Exception {
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' started");
+
+        if (!job.waitForCompletion(true)) {
+            throw new AbnormalExitException("Abnormal exit occurred running "
+                    + " sprint job with entry name '" + job.getJobName() + "'");
+        }
+
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' finished");
+    }
 }
@@ -0,0 +1,428 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.io.RankedVertex;
+import com.tkb.delab.io.TaggedVertex;
+import com.tkb.delab.map.DictionaryJoinMapper;
+import com.tkb.delab.map.FieldJoinMapper;
+import com.tkb.delab.map.VertexDegreeMapper;
+import com.tkb.delab.map.VertexOffsetMapper;
+import com.tkb.delab.model.VertexDictionary;
+import com.tkb.delab.reduce.FieldJoinReducer;
+import com.tkb.delab.reduce.VertexDegreeReducer;
+import com.tkb.delab.reduce.VertexIndexingReducer;
+import com.tkb.delab.util.AbnormalExitException;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.MultipleInputs;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.TextInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.MultipleOutputs;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.TextOutputFormat;
+import org.apache.hadoop.mapreduce.lib.partition.InputSampler;
+import org.apache.hadoop.mapreduce.lib.partition.TotalOrderPartitioner;
+import org.apache.hadoop.mapreduce.lib.reduce.IntSumReducer;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A map reduce sprint job entry, relabeling the vertices of an undirected
+ * graph to dense indices from 0 to n - 1. The degree of each vertex is counted
+ * first, then the vertices are indexed in a total order either by id or by
+ * degree across many reducers, and finally each edge is translated by reduce
+ * side joins against the dictionary. The original ids may be any longs.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexCompaction extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(VertexCompaction.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new VertexCompaction(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 5) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <input> <delimiter> <degree> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <input> \tpath in DFS to data of an undirected graph given as a list of edges per line");
+            System.out.println(" <delimiter> \tcharacter used in order to separate the vertices of each edge");
+            System.out.println(" <degree> \ttrue to order the vertices by degree in descending order otherwise by id");
+            System.out.println(" <tasks> \tnumber of the reducer tasks used");
+            System.out.println(" <output> \tpath in DFS to save the vertex dictionary and the relabeled edges\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        conf.set("mapred.textoutputformat.separator", ",");
+        conf.set("input.text.delimiter", args[1]);
+
+        int exitCode = 0;
+
+        try {
+            long start = System.currentTimeMillis();
+
+            compact(conf, name, args[0], 2, 0, Boolean.parseBoolean(args[2]), Integer.parseInt(args[3]), args[4] + "/dictionary", args[4] + "/edges");
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[4]), true);
+
+            return exitCode;
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * A method relabeling the vertices of the leading fields of each input
+     * line into dense indices, given the configuration holds the input
+     * delimiter. The degree of each vertex is counted first, the vertices are
+     * then totally ordered by rank across the reducers, each indexing its
+     * partition locally, and the local indices are shifted by the offsets of
+     * the partitions, saving the dictionary as a sequence file of the id and
+     * the index of each vertex.
+     * The input is finally translated by reduce side joins, so no task ever
+     * holds the dictionary in memory.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the entry.
+     * @param input the path to the lines given by original ids.
+     * @param fields the number of leading fields holding vertices.
+     * @param references the number of fields repeating leading vertices.
+     * @param degree true to order the vertices by degree otherwise by id.
+     * @param tasks the number of the reducer tasks used.
+     * @param dictionary the path to save the dictionary.
+     * @param output the path to save the lines given by dense indices.
+     * @throws AbnormalExitException if any of the jobs exits abnormally or
+     * the vertices don't fit into integer indices.
+     */
+    static void compact(Configuration conf, String name, String input, int fields, int references, boolean degree, int tasks, String dictionary, String output) throws Exception {
+        FileSystem fs = FileSystem.get(conf);
+
+        Path ranks = new Path(dictionary + ".ranks");
+        Path indices = new Path(dictionary + ".indices");
+        Path partitions = new Path(dictionary + ".partitions");
+
+        // Setting up the vertex degree job
+        Job degrees = new Job(conf, name + ".degree");
+        degrees.setJarByClass(VertexCompaction.class);
+        degrees.getConfiguration().setInt("vertex.fields.number", fields);
+        degrees.getConfiguration().setBoolean("vertex.compaction.degree", degree);
+
+        // Setting the mapper, the combiner and the reducer
+        degrees.setMapperClass(VertexDegreeMapper.class);
+        degrees.setMapOutputKeyClass(LongWritable.class);
+        degrees.setMapOutputValueClass(IntWritable.class);
+
+        degrees.setCombinerClass(IntSumReducer.class);
+
+        degrees.setReducerClass(VertexDegreeReducer.class);
+        degrees.setOutputKeyClass(RankedVertex.class);
+        degrees.setOutputValueClass(NullWritable.class);
+        degrees.setNumReduceTasks(tasks);
+
+        // Setting the input and output
+        degrees.setInputFormatClass(TextInputFormat.class);
+        FileInputFormat.addInputPath(degrees, new Path(input));
+
+        degrees.setOutputFormatClass(SequenceFileOutputFormat.class);
+        FileOutputFormat.setOutputPath(degrees, ranks);
+
+        complete(degrees);
+
+        long vertices = degrees.getCounters().findCounter("org.apache.hadoop.mapred.Task$Counter", "REDUCE_OUTPUT_RECORDS").getValue();
+
+        // Setting up the vertex indexing job
+        Job indexing = new Job(conf, name + ".index");
+        indexing.setJarByClass(VertexCompaction.class);
+        indexing.getConfiguration().set("mapred.textoutputformat.separator", ",");
+
+        // Setting the identity mapper and the reducer
+        indexing.setMapperClass(Mapper.class);
+        indexing.setMapOutputKeyClass(RankedVertex.class);
+        indexing.setMapOutputValueClass(NullWritable.class);
+
+        indexing.setReducerClass(VertexIndexingReducer.class);
+        indexing.setOutputKeyClass(LongWritable.class);
+        indexing.setOutputValueClass(Text.class);
+
+        // Setting the input and output
+        indexing.setInputFormatClass(SequenceFileInputFormat.class);
+        FileInputFormat.addInputPath(indexing, ranks);
+
+        indexing.setOutputFormatClass(TextOutputFormat.class);
+        FileOutputFormat.setOutputPath(indexing, indices);
+
+        MultipleOutputs.addNamedOutput(indexing, "counts", TextOutputFormat.class, IntWritable.class, LongWritable.class);
+
+        // Partitioning the ranks into totally ordered ranges given many tasks, the local runner uses one
+        boolean local = conf.get("mapred.job.tracker", "local").equals("local");
+
+        if (tasks > 1 && vertices > tasks && !local) {
+            indexing.setNumReduceTasks(tasks);
+            indexing.setPartitionerClass(TotalOrderPartitioner.class);
+
+            TotalOrderPartitioner.setPartitionFile(indexing.getConfiguration(), partitions);
+
+            int samples = Math.max(10000, 100 * tasks);
+
+            InputSampler.writePartitionFile(indexing, new InputSampler.RandomSampler<RankedVertex, NullWritable>(
+                    Math.min(1.0, (double) samples / vertices), samples, 10));
+        } else {
+            indexing.setNumReduceTasks(1);
+        }
+
+        complete(indexing);
+
+        // Summing up the offsets of the partitions
+        TLongArrayList counts = new TLongArrayList();
+
+        for (FileStatus status : fs.globStatus(new Path(indices, "counts-r-*"))) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(status.getPath()), "UTF-8"));
+
+            try {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    String[] tokens = line.split(",");
+
+                    int p = Integer.parseInt(tokens[0]);
+
+                    while (counts.size() <= p) {
+                        counts.add(0);
+                    }
+
+                    counts.set(p, Long.parseLong(tokens[1]));
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        StringBuilder offsets = new StringBuilder();
+
+        long total = 0;
+
+        for (int p = 0; p < counts.size(); p++) {
+            if (p > 0) {
+                offsets.append(',');
+            }
+
+            offsets.append(total);
+
+            total += counts.get(p);
+        }
+
+        if (total > Integer.MAX_VALUE) {
+            throw new AbnormalExitException("Unable to relabel " + total
+                    + " vertices into integer indices, at most " + Integer.MAX_VALUE + " are supported");
+        }
+
+        // Setting up the vertex offset job
+        Job offset = new Job(conf, name + ".offset");
+        offset.setJarByClass(VertexCompaction.class);
+        offset.getConfiguration().set("vertex.dictionary.offsets", offsets.toString());
+
+        // Setting the mapper only
+        offset.setMapperClass(VertexOffsetMapper.class);
+        offset.setOutputKeyClass(LongWritable.class);
+        offset.setOutputValueClass(IntWritable.class);
+        offset.setNumReduceTasks(0);
+
+        // Setting the input and output
+        offset.setInputFormatClass(TextInputFormat.class);
+        FileInputFormat.addInputPath(offset, new Path(indices, "part-r-*"));
+
+        offset.setOutputFormatClass(SequenceFileOutputFormat.class);
+        FileOutputFormat.setOutputPath(offset, new Path(dictionary));
+
+        complete(offset);
+
+        fs.delete(ranks, true);
+        fs.delete(indices, true);
+        fs.delete(partitions, true);
+
+        logger.info("Vertex dictionary of " + total + " vertices persisted");
+
+        translate(conf, name, dictionary, input, conf.get("input.text.delimiter", "\t"), fields, references, false, tasks, output);
+    }
+
+    /**
+     * A method translating the vertices of the leading fields of each line,
+     * running a reduce side join against the dictionary per leading field.
+     * Lines with repeated leading vertices, references not repeating any
+     * leading vertex, or vertices missing from the dictionary are discarded.
+     * The leading and the reference fields of each translated line are
+     * sorted in ascending order, while any other field is kept as is.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the entry.
+     * @param dictionary the path to the dictionary.
+     * @param input the path to the lines to translate.
+     * @param delimiter the delimiter of the input lines.
+     * @param fields the number of leading fields holding vertices.
+     * @param references the number of fields repeating leading vertices.
+     * @param restore true to translate indices into ids otherwise ids into
+     * indices.
+     * @param tasks the number of the reducer tasks used.
+     * @param output the path to save the translated lines.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    static void translate(Configuration conf, String name, String dictionary, String input, String delimiter, int fields, int references, boolean restore, int tasks, String output) throws Exception {
+        FileSystem fs = FileSystem.get(conf);
+
+        Path source = new Path(input);
+
+        for (int field = 0; field < fields; field++) {
+            Path target = new Path(field < fields - 1 ? output + ".step" + field : output);
+
+            // Setting up the join job of the field
+            Job join = new Job(conf, name + ".join" + field);
+            join.setJarByClass(VertexCompaction.class);
+
+            Configuration jc = join.getConfiguration();
+            jc.set("input.text.delimiter", field == 0 ? delimiter : ",");
+            jc.set("vertex.join.direction", restore ? "restore" : "compact");
+            jc.setInt("vertex.join.field", field);
+            jc.setInt("vertex.fields.number", fields);
+            jc.setInt("vertex.fields.references", references);
+
+            // Setting the mappers, the grouping and the reducer
+            MultipleInputs.addInputPath(join, new Path(dictionary), SequenceFileInputFormat.class, DictionaryJoinMapper.class);
+            MultipleInputs.addInputPath(join, source, TextInputFormat.class, FieldJoinMapper.class);
+
+            join.setMapOutputKeyClass(TaggedVertex.class);
+            join.setMapOutputValueClass(Text.class);
+
+            join.setGroupingComparatorClass(TaggedVertex.GroupingComparator.class);
+
+            join.setReducerClass(FieldJoinReducer.class);
+            join.setOutputKeyClass(Text.class);
+            join.setOutputValueClass(NullWritable.class);
+            join.setNumReduceTasks(tasks);
+
+            // Setting the output
+            join.setOutputFormatClass(TextOutputFormat.class);
+            FileOutputFormat.setOutputPath(join, target);
+
+            complete(join);
+
+            // Deleting the output of the previous step
+            if (field > 0) {
+                fs.delete(source, true);
+            }
+
+            source = target;
+        }
+    }
+
+    /**
+     * A method loading a dictionary persisted by the vertex compaction into
+     * memory, so the results can be translated by a local vertex dictionary.
+     *
+     * @param conf the configuration of the file system.
+     * @param dictionary the path to the dictionary.
+     * @return the dictionary.
+     * @throws IOException if the dictionary can't be read or the indices are
+     * not dense.
+     */
+    public static VertexDictionary load(Configuration conf, String dictionary) throws IOException {
+        FileSystem fs = FileSystem.get(conf);
+
+        TLongArrayList ids = new TLongArrayList();
+        TIntArrayList indices = new TIntArrayList();
+
+        LongWritable id = new LongWritable();
+        IntWritable index = new IntWritable();
+
+        for (FileStatus status : fs.globStatus(new Path(dictionary, "part-*"))) {
+            SequenceFile.Reader reader = new SequenceFile.Reader(fs, status.getPath(), conf);
+
+            try {
+                while (reader.next(id, index)) {
+                    ids.add(id.get());
+                    indices.add(index.get());
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        // Placing each id at its index, given every index appears once
+        long[] placed = new long[ids.size()];
+        boolean[] seen = new boolean[ids.size()];
+
+        for (int i = 0; i < ids.size(); i++) {
+            int k = indices.get(i);
+
+            if (k < 0 || k >= placed.length || seen[k]) {
+                throw new IOException("Malformed vertex dictionary with index " + k + " of " + placed.length + " vertices");
+            }
+
+            placed[k] = ids.get(i);
+            seen[k] = true;
+        }
+
+        return new VertexDictionary(placed);
+    }
+
+    /**
+     * A method running a job waiting for its completion.
+     *
+     * @param job the job to run.
+     * @throws AbnormalExitException if the job exits abnormally.
+     */
+    private static void complete(Job job) throws Exception {
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' started");
+
+        if (!job.waitForCompletion(true)) {
+            throw new AbnormalExitException("Abnormal exit occurred running "
+                    + " sprint job with entry name '" + job.getJobName() + "'");
+        }
+
+        logger.info("Sprint job with entry name '" + job.getJobName() + "' finished");
+    }
+}
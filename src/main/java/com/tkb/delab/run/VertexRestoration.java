@@ -0,0 +1,102 @@
+package com.tkb.delab.run;
+
+import com.tkb.delab.util.AbnormalExitException;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.log4j.Logger;
+
+/**
+ * A map reduce sprint job entry, translating the results of any job entry run
+ * on a relabeled graph back into the original vertex ids, given the vertex
+ * dictionary persisted by the vertex compaction. The leading vertices and the
+ * vertices repeating them are translated by reduce side joins and sorted by id
+ * again, so each edge or triangle is given as a sorted tuple.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexRestoration extends Configured implements Tool {
+
+    private static final Logger logger = Logger.getLogger(VertexRestoration.class);
+
+    public static void main(String[] args) throws Exception {
+        int code = ToolRunner.run(new VertexRestoration(), args);
+
+        System.exit(code);
+    }
+
+    @Override
+    public int run(String[] args) throws Exception {
+        String name = this.getClass().getSimpleName();
+
+        if (args.length != 5) {
+            logger.error("Unable to run sprint job entry " + name + " with args " + Arrays.asList(args));
+            logger.error("Please check the documentation, https://github.com/tzeikob/dense-subgraph-miner");
+            logger.error("Usage: hadoop jar <jar-file> " + name + " [genericOptions] <dictionary> <input> <fields> <tasks> <output>\n");
+
+            System.out.println("Arguments required are");
+            System.out.println(" <dictionary> \tpath in DFS to the vertex dictionary");
+            System.out.println(" <input> \tpath in DFS to the results given by dense vertex indices");
+            System.out.println(" <fields> \tnumber of leading fields holding vertices, optionally followed by the number of fields repeating them, e.g. 3,2");
+            System.out.println(" <tasks> \tnumber of the reducer tasks used");
+            System.out.println(" <output> \tpath in DFS to save the results given by original vertex ids\n");
+            ToolRunner.printGenericCommandUsage(System.err);
+
+            return -1;
+        }
+
+        // Setting configuration parameters
+        Configuration conf = this.getConf();
+
+        String[] fields = args[2].split(",");
+
+        int exitCode = 0;
+
+        try {
+            long start = System.currentTimeMillis();
+
+            restore(conf, name, args[0], args[1], Integer.parseInt(fields[0]),
+                    fields.length > 1 ? Integer.parseInt(fields[1]) : 0, Integer.parseInt(args[3]), args[4]);
+
+            long end = System.currentTimeMillis();
+
+            logger.info("Sprint job with entry name '" + name + "' completed in "
+                    + new DecimalFormat(".###").format(((double) (end - start) / 1000 / 60))
+                    + " min (" + (end - start) + " ms)");
+        } catch (AbnormalExitException exc) {
+            logger.error(exc.getMessage(), exc);
+
+            exitCode = 1;
+
+            // Cleaning up the hdfs
+            FileSystem.get(conf).delete(new Path(args[4]), true);
+
+            return exitCode;
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * A method translating the leading vertex fields of each line, along with
+     * the fields repeating them, back into the original ids.
+     *
+     * @param conf the configuration of the entry.
+     * @param name the name of the job.
+     * @param dictionary the path to the dictionary.
+     * @param input the path to the results given by dense indices.
+     * @param fields the number of leading fields holding vertices.
+     * @param references the number of fields repeating leading vertices.
+     * @param tasks the number of the reducer tasks used.
+     * @param output the path to save the results given by original ids.
+     * @throws AbnormalExitException if any of the jobs exits abnormally.
+     */
+    static void restore(Configuration conf, String name, String dictionary, String input, int fields, int references, int tasks, String output) throws Exception {
+        VertexCompaction.translate(conf, name, dictionary, input, ",", fields, references, true, tasks, output);
+    }
+}
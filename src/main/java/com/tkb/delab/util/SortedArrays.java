@@ -0,0 +1,126 @@
+package com.tkb.delab.util;
+
+/**
+ * A library of operations on slices of sorted integer arrays.
+ *
+ * @author Akis Papadopoulos
+ */
+public final class SortedArrays {
+
+    // Size ratio above which merging switches to galloping
+    private static final int GALLOP_RATIO = 32;
+
+    /**
+     * A method intersecting two sorted slices of distinct values, storing the
+     * positions of each common value within both slices. The intersection is
+     * done by a linear merge, or by galloping the smaller slice through the
+     * larger one when their sizes are very skewed.
+     *
+     * @param a the first array.
+     * @param fromA the start of the first slice, inclusive.
+     * @param toA the end of the first slice, exclusive.
+     * @param b the second array.
+     * @param fromB the start of the second slice, inclusive.
+     * @param toB the end of the second slice, exclusive.
+     * @param pa where to store the positions of the common values within a.
+     * @param pb where to store the positions of the common values within b.
+     * @return the number of common values.
+     */
+    public static int intersect(int[] a, int fromA, int toA, int[] b, int fromB, int toB, int[] pa, int[] pb) {
+        int lenA = toA - fromA;
+        int lenB = toB - fromB;
+
+        if (lenA == 0 || lenB == 0) {
+            return 0;
+        }
+
+        if ((long) lenA * GALLOP_RATIO < lenB) {
+            return gallop(a, fromA, toA, b, fromB, toB, pa, pb);
+        } else if ((long) lenB * GALLOP_RATIO < lenA) {
+            return gallop(b, fromB, toB, a, fromA, toA, pb, pa);
+        }
+
+        int count = 0;
+
+        int i = fromA;
+        int j = fromB;
+
+        while (i < toA && j < toB) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                pa[count] = i++;
+                pb[count] = j++;
+
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * A method intersecting a small sorted slice with a much larger one, by
+     * searching each value of the small slice exponentially and then binary
+     * within the remainder of the large slice.
+     *
+     * @param s the small array.
+     * @param fromS the start of the small slice, inclusive.
+     * @param toS the end of the small slice, exclusive.
+     * @param l the large array.
+     * @param fromL the start of the large slice, inclusive.
+     * @param toL the end of the large slice, exclusive.
+     * @param ps where to store the positions within s.
+     * @param pl where to store the positions within l.
+     * @return the number of common values.
+     */
+    private static int gallop(int[] s, int fromS, int toS, int[] l, int fromL, int toL, int[] ps, int[] pl) {
+        int count = 0;
+
+        int j = fromL;
+
+        for (int i = fromS; i < toS && j < toL; i++) {
+            int x = s[i];
+
+            // Galloping until the value is bracketed
+            int step = 1;
+            int lo = j;
+            int hi = j;
+
+            while (hi < toL && l[hi] < x) {
+                lo = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+
+            if (hi > toL) {
+                hi = toL;
+            }
+
+            // Binary searching the first position not less than the value
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+
+                if (l[mid] < x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            j = lo;
+
+            if (j < toL && l[j] == x) {
+                ps[count] = i;
+                pl[count] = j;
+
+                count++;
+                j++;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tkb.delab.util;
+
+import java.io.IOException;
+
+/**
+ * A library parsing the vertex ids of the input lines into integers.
+ *
+ * @author Akis Papadopoulos
+ */
+public final class VertexIds {
+
+    /**
+     * A method parsing a vertex id into an integer. Ids beyond the integer
+     * range are not malformed input to be discarded, so instead of a number
+     * format exception an exception pointing to the vertex compaction is
+     * thrown, failing the task rather than silently dropping the edges.
+     *
+     * @param token the vertex id as text.
+     * @return the vertex id.
+     * @throws NumberFormatException if the token is not a number.
+     * @throws IOException if the token is a number beyond the integer range.
+     */
+    public static int parse(String token) throws IOException {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException exc) {
+            if (numeric(token)) {
+                throw new IOException("Vertex id " + token + " is beyond the integer range, "
+                        + "relabel the vertices with -D vertex.compaction.mode=id or the VertexCompaction job entry");
+            }
+
+            throw exc;
+        }
+    }
+
+    /**
+     * A method checking if a token is an optionally signed sequence of digits.
+     *
+     * @param token the token.
+     * @return true if the token is numeric, false otherwise.
+     */
+    private static boolean numeric(String token) {
+        int start = token.startsWith("-") || token.startsWith("+") ? 1 : 0;
+
+        if (token.length() <= start) {
+            return false;
+        }
+
+        for (int i = start; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,260 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import com.tkb.delab.model.VertexDictionary;
+import com.tkb.delab.run.EdgeUndirection;
+import com.tkb.delab.run.VertexCompaction;
+import com.tkb.delab.run.VertexRestoration;
+import gnu.trove.set.hash.THashSet;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.util.ToolRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A vertex compaction test case checking the vertex ids are relabeled into
+ * dense indices and the results are restored into sorted tuples of the
+ * original ids, running the jobs by the local runner.
+ *
+ * @author Akis Papadopoulos
+ */
+public class CompactionTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a random graph over vertices mapped to sparse long ids
+        Random random = new Random(17);
+
+        for (int i = 0; i < 600; i++) {
+            int v = random.nextInt(60);
+            int u = random.nextInt(60);
+
+            if (v != u) {
+                Edge edge = new Edge(v, u);
+                edge.sort();
+
+                edges.add(edge);
+            }
+        }
+
+        File input = folder.newFile("edges.txt");
+
+        PrintWriter writer = new PrintWriter(new FileWriter(input));
+
+        try {
+            for (Edge e : edges) {
+                writer.println(id(e.u) + "\t" + id(e.v));
+            }
+
+            // Adding a loop and a malformed line to be discarded
+            writer.println(id(7) + "\t" + id(7));
+            writer.println("x\t" + id(3));
+        } finally {
+            writer.close();
+        }
+
+        Configuration conf = configuration();
+
+        String output = new File(folder.getRoot(), "compacted").getPath();
+
+        assertEquals(0, ToolRunner.run(conf, new VertexCompaction(), new String[]{input.getPath(), "\t", "true", "1", output}));
+
+        // Checking the indices are dense and ordered by degree
+        VertexDictionary dictionary = VertexCompaction.load(conf, output + "/dictionary");
+
+        int n = dictionary.size();
+
+        int[] degrees = new int[n];
+
+        THashSet<Edge> compacted = new THashSet<Edge>();
+
+        for (String[] tokens : read(new File(output, "edges"))) {
+            Edge e = new Edge(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]));
+
+            assertTrue(e.v < e.u && e.v >= 0 && e.u < n);
+
+            degrees[e.v]++;
+            degrees[e.u]++;
+
+            compacted.add(e);
+        }
+
+        for (int i = 1; i < n; i++) {
+            assertTrue(degrees[i - 1] >= degrees[i]);
+        }
+
+        assertEquals(edges.size(), compacted.size());
+
+        // Checking the loaded dictionary translates the original edges the same way
+        for (Edge e : edges) {
+            Edge c = new Edge(dictionary.index(id(e.v)), dictionary.index(id(e.u)));
+            c.sort();
+
+            assertTrue(compacted.contains(c));
+        }
+
+        // Restoring the edges and the triangles along with their repeated vertices
+        File triangles = folder.newFile("triangles.txt");
+
+        writer = new PrintWriter(new FileWriter(triangles));
+
+        try {
+            for (Triangle t : new Forward().list(compacted)) {
+                writer.println(t.w + "," + t.v + "," + t.u + "," + t.u + "," + t.w + ",9");
+            }
+        } finally {
+            writer.close();
+        }
+
+        String restored = new File(folder.getRoot(), "restored").getPath();
+
+        assertEquals(0, ToolRunner.run(conf, new VertexRestoration(), new String[]{output + "/dictionary", output + "/edges", "2", "1", restored + "/edges"}));
+        assertEquals(0, ToolRunner.run(conf, new VertexRestoration(), new String[]{output + "/dictionary", triangles.getPath(), "3,2", "1", restored + "/triangles"}));
+
+        Set<String> expected = new HashSet<String>();
+
+        for (Edge e : edges) {
+            expected.add(id(e.v) + "," + id(e.u));
+        }
+
+        assertEquals(expected, lines(new File(restored, "edges")));
+
+        expected.clear();
+
+        for (Triangle t : new Forward().list(edges)) {
+            expected.add(id(t.v) + "," + id(t.u) + "," + id(t.w));
+        }
+
+        Set<String> found = new HashSet<String>();
+
+        for (String[] tokens : read(new File(restored, "triangles"))) {
+            long[] vertices = {Long.parseLong(tokens[0]), Long.parseLong(tokens[1]), Long.parseLong(tokens[2])};
+
+            // Checking the triangle and its edge are sorted tuples of ids
+            assertTrue(vertices[0] < vertices[1] && vertices[1] < vertices[2]);
+            assertTrue(Long.parseLong(tokens[3]) < Long.parseLong(tokens[4]));
+            assertTrue(Arrays.asList(tokens[0], tokens[1], tokens[2]).containsAll(Arrays.asList(tokens[3], tokens[4])));
+            assertEquals("9", tokens[5]);
+
+            found.add(tokens[0] + "," + tokens[1] + "," + tokens[2]);
+        }
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        File input = folder.newFile("overflow.txt");
+
+        PrintWriter writer = new PrintWriter(new FileWriter(input));
+
+        try {
+            writer.println("1,2");
+            writer.println("2," + id(3));
+        } finally {
+            writer.close();
+        }
+
+        // Checking ids beyond the integer range fail the entry given no compaction
+        String output = new File(folder.getRoot(), "overflow").getPath();
+
+        assertTrue(ToolRunner.run(configuration(), new EdgeUndirection(), new String[]{input.getPath(), ",", "1", "1", output}) != 0);
+    }
+
+    /**
+     * A method mapping a vertex into a sparse id beyond the integer range,
+     * keeping the order of the vertices.
+     *
+     * @param v the vertex.
+     * @return the sparse id.
+     */
+    private static long id(int v) {
+        return 5000000000L + 1000003L * v;
+    }
+
+    /**
+     * A method creating a configuration running the jobs by the local runner.
+     *
+     * @return the configuration.
+     */
+    private Configuration configuration() {
+        Configuration conf = new Configuration();
+
+        conf.set("fs.default.name", "file:///");
+        conf.set("mapred.job.tracker", "local");
+        conf.set("hadoop.tmp.dir", new File(folder.getRoot(), "tmp").getPath());
+
+        return conf;
+    }
+
+    /**
+     * A method reading the comma separated fields of the lines of all the
+     * part files within a folder.
+     *
+     * @param dir the folder.
+     * @return the fields of each line.
+     * @throws IOException if a file can't be read.
+     */
+    private static List<String[]> read(File dir) throws IOException {
+        List<String[]> records = new ArrayList<String[]>();
+
+        for (String line : lines(dir)) {
+            records.add(line.split(","));
+        }
+
+        return records;
+    }
+
+    /**
+     * A method reading the lines of all the part files within a folder.
+     *
+     * @param dir the folder.
+     * @return the lines.
+     * @throws IOException if a file can't be read.
+     */
+    private static Set<String> lines(File dir) throws IOException {
+        Set<String> lines = new HashSet<String>();
+
+        for (File file : dir.listFiles()) {
+            if (!file.getName().startsWith("part-")) {
+                continue;
+            }
+
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+
+            try {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,75 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.NodeIterator;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A compressed graph test case checking the compressed sparse row triangulators
+ * against their hash based counterparts.
+ *
+ * @author Akis Papadopoulos
+ */
+public class CompressedGraphTestCase extends TriangulationTestCase {
+
+    @Test
+    public void testGraphStructure() {
+        CompressedGraph graph = new CompressedGraph(undirected.getEdges());
+
+        assertTrue("Graph " + undirected + " should have 4 vertices.", graph.size() == 4);
+        assertTrue("Graph " + undirected + " should have 6 edges.", graph.volume() == 12);
+
+        for (int i = 0; i < graph.size(); i++) {
+            assertTrue("Vertex " + graph.id(i) + " should have degree 3.", graph.degree(i) == 3);
+        }
+
+        CompressedGraph loops = new CompressedGraph(new int[]{1, 1, 1, 2, 2, 1, 2, 3});
+
+        assertTrue("Loops and duplicates should be discarded.", loops.volume() == 4);
+        assertTrue("Vertices 1 and 2 should be adjacent.", loops.contains(0, 1));
+        assertTrue("Vertices 1 and 3 should not be adjacent.", !loops.contains(0, 2));
+    }
+
+    @Test
+    public void testGraphsOfFourVertices() {
+        GraphDefinition[] graphs = {trivial, disconnected, directed, undirected, cycle, wheel, star};
+
+        for (GraphDefinition definition : graphs) {
+            CompressedGraph graph = new CompressedGraph(definition.getEdges());
+            int size = definition.getNumberOfTriangles();
+
+            assertTrue("Graph " + definition + " should have " + size + " triangles.", new Forward().list(graph).size() == size);
+            assertTrue("Graph " + definition + " should have " + size + " triangles.", new NodeIterator().list(graph).size() == size);
+        }
+    }
+
+    @Test
+    public void testRandomGraph() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        Random random = new Random(7L);
+
+        while (edges.size() < 400) {
+            Edge edge = new Edge(random.nextInt(60), random.nextInt(60));
+
+            if (edge.v != edge.u) {
+                edge.sort();
+                edges.add(edge);
+            }
+        }
+
+        THashSet<Triangle> expected = new Forward().list(edges);
+
+        CompressedGraph graph = new CompressedGraph(edges);
+
+        assertEquals(expected, new Forward().list(graph));
+        assertEquals(expected, new NodeIterator().list(graph));
+    }
+}
@@ -0,0 +1,74 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.Enumerator;
+import com.tkb.delab.alg.UnionFindEnumerator;
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.THashSet;
+import gnu.trove.set.hash.TIntHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A subgraph enumerator test case checking the connected subgraphs found by
+ * the union find enumerator.
+ *
+ * @author Akis Papadopoulos
+ */
+public class EnumeratorTestCase {
+
+    private final Enumerator enumerator = new UnionFindEnumerator();
+
+    @Test
+    public void testEmptyEdgeSet() {
+        assertTrue(enumerator.enumerate(new THashSet<Edge>()).isEmpty());
+    }
+
+    @Test
+    public void testConnectedSubgraphs() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a path, a triangle and a star joined late by a bridge
+        edges.add(new Edge(1, 2));
+        edges.add(new Edge(2, 3));
+        edges.add(new Edge(3, 4));
+
+        edges.add(new Edge(10, 11));
+        edges.add(new Edge(11, 12));
+        edges.add(new Edge(10, 12));
+
+        edges.add(new Edge(20, 21));
+        edges.add(new Edge(20, 22));
+        edges.add(new Edge(20, 23));
+        edges.add(new Edge(4, 23));
+
+        TIntObjectHashMap<THashSet<Edge>> subgraphs = enumerator.enumerate(edges);
+
+        assertEquals(2, subgraphs.size());
+
+        int total = 0;
+
+        for (THashSet<Edge> subgraph : subgraphs.valueCollection()) {
+            // Collecting the vertices of the subgraph
+            TIntHashSet vertices = new TIntHashSet();
+
+            for (Edge e : subgraph) {
+                vertices.add(e.v);
+                vertices.add(e.u);
+            }
+
+            if (vertices.contains(10)) {
+                assertEquals(3, subgraph.size());
+                assertEquals(3, vertices.size());
+            } else {
+                assertEquals(7, subgraph.size());
+                assertEquals(8, vertices.size());
+            }
+
+            total += subgraph.size();
+        }
+
+        assertEquals(edges.size(), total);
+    }
+}
@@ -0,0 +1,188 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.BinaryEstimator;
+import com.tkb.delab.alg.EdgeDensityEstimator;
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.IncrementalBinaryEstimator;
+import com.tkb.delab.alg.ParallelEstimator;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.SequentialEstimator;
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * An edge density estimator test case on a clique of 5 vertices sharing a
+ * vertex with a single triangle, where the clique edges have lambda 3 and the
+ * triangle edges have lambda 1.
+ *
+ * @author Akis Papadopoulos
+ */
+public class EstimatorTestCase {
+
+    private THashSet<Triangle> triangles;
+
+    @Before
+    public void init() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        for (int v = 1; v <= 5; v++) {
+            for (int u = v + 1; u <= 5; u++) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        edges.add(new Edge(5, 6));
+        edges.add(new Edge(5, 7));
+        edges.add(new Edge(6, 7));
+
+        triangles = new Forward().list(edges);
+    }
+
+    @Test
+    public void testEdgeKey() {
+        long key = EdgeKey.of(7, -3);
+
+        assertEquals(key, EdgeKey.of(-3, 7));
+        assertEquals(-3, EdgeKey.v(key));
+        assertEquals(7, EdgeKey.u(key));
+        assertTrue(EdgeKey.of(1, 9) < EdgeKey.of(2, 3));
+    }
+
+    @Test
+    public void testEdgeIndex() {
+        EdgeIndex index = new EdgeIndex(triangles);
+
+        assertEquals(13, index.size());
+        assertEquals(11, index.triangles());
+        assertEquals(-1, index.id(1, 6));
+
+        int[] support = index.support();
+
+        assertEquals(3, support[index.id(2, 1)]);
+        assertEquals(1, support[index.id(6, 7)]);
+    }
+
+    @Test
+    public void testBinaryEstimator() {
+        check(new BinaryEstimator(50));
+    }
+
+    @Test
+    public void testSequentialEstimator() {
+        check(new SequentialEstimator(50));
+    }
+
+    @Test
+    public void testIncrementalBinaryEstimator() {
+        check(new IncrementalBinaryEstimator(50));
+
+        THashSet<Triangle> sample = randomTriangles();
+
+        // Checking the same bounds are given for any number of iterations
+        for (int iterations = 1; iterations <= 8; iterations++) {
+            THashMap<Edge, AugmentedRange> expected = new BinaryEstimator(iterations).estimate(sample);
+            THashMap<Edge, AugmentedRange> lambdas = new IncrementalBinaryEstimator(iterations).estimate(sample);
+
+            for (Edge e : expected.keySet()) {
+                assertEquals(expected.get(e).lower, lambdas.get(e).lower);
+                assertEquals(expected.get(e).upper, lambdas.get(e).upper);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEstimator() {
+        check(new ParallelEstimator(50, 3));
+
+        THashSet<Triangle> sample = randomTriangles();
+
+        // Checking the same bounds are given for any number of iterations
+        for (int iterations = 1; iterations <= 8; iterations++) {
+            THashMap<Edge, AugmentedRange> expected = new BinaryEstimator(iterations).estimate(sample);
+            THashMap<Edge, AugmentedRange> lambdas = new ParallelEstimator(iterations, 4).estimate(sample);
+
+            for (Edge e : expected.keySet()) {
+                assertEquals(expected.get(e).lower, lambdas.get(e).lower);
+                assertEquals(expected.get(e).upper, lambdas.get(e).upper);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEstimatorInterrupted() {
+        THashSet<Triangle> sample = randomTriangles();
+
+        // Checking an interrupted estimation fails instead of giving partial bounds
+        Thread.currentThread().interrupt();
+
+        try {
+            new ParallelEstimator(50, 4).estimate(sample);
+
+            fail("An interrupted estimation should fail");
+        } catch (IllegalStateException exc) {
+            // Checking the interrupt status is kept
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void testPeelingEstimator() {
+        check(new PeelingEstimator());
+    }
+
+    @Test
+    public void testPeelingIsExact() {
+        THashSet<Triangle> sample = randomTriangles();
+
+        // Sequential estimation converges to the exact lambda given enough iterations
+        THashMap<Edge, AugmentedRange> expected = new SequentialEstimator(Integer.MAX_VALUE).estimate(sample);
+        THashMap<Edge, AugmentedRange> lambdas = new PeelingEstimator().estimate(sample);
+
+        assertEquals(expected.size(), lambdas.size());
+
+        for (Edge e : expected.keySet()) {
+            assertEquals(expected.get(e).upper, lambdas.get(e).upper);
+            assertEquals(lambdas.get(e).lower, lambdas.get(e).upper);
+        }
+    }
+
+    private THashSet<Triangle> randomTriangles() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        Random random = new Random(5L);
+
+        for (int i = 0; i < 1500; i++) {
+            Edge edge = new Edge(random.nextInt(120), random.nextInt(120));
+
+            if (edge.v != edge.u) {
+                edge.sort();
+                edges.add(edge);
+            }
+        }
+
+        return new Forward().list(edges);
+    }
+
+    private void check(EdgeDensityEstimator estimator) {
+        THashMap<Edge, AugmentedRange> lambdas = estimator.estimate(triangles);
+
+        assertEquals(13, lambdas.size());
+
+        for (Edge e : lambdas.keySet()) {
+            int expected = e.u <= 5 ? 3 : 1;
+
+            assertEquals("Edge " + e + " should have lambda " + expected + ".", expected, lambdas.get(e).upper);
+        }
+    }
+}
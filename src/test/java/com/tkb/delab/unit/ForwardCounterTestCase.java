@@ -0,0 +1,94 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.ForwardCounter;
+import com.tkb.delab.alg.TriangleCounter;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import com.tkb.delab.model.TriangleSupport;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A forward counter test case on various type graphs of 4 vertices, checking
+ * the per edge and per vertex counts against the listed triangles.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ForwardCounterTestCase extends TriangulationTestCase {
+
+    private final TriangleCounter counter = new ForwardCounter();
+
+    @Test
+    public void testSmallGraphs() {
+        GraphDefinition[] graphs = {trivial, disconnected, directed, undirected, cycle, wheel, star};
+
+        for (GraphDefinition graph : graphs) {
+            long total = counter.count(graph.getEdges()).total;
+
+            assertTrue("Graph " + graph + " should have " + graph.getNumberOfTriangles() + " triangles.",
+                    total == graph.getNumberOfTriangles());
+        }
+    }
+
+    @Test
+    public void testRandomGraph() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        Random random = new Random(7L);
+
+        for (int i = 0; i < 3000; i++) {
+            Edge edge = new Edge(random.nextInt(200), random.nextInt(200));
+
+            if (edge.v != edge.u) {
+                edge.sort();
+                edges.add(edge);
+            }
+        }
+
+        // Counting the listed triangles per edge and per vertex
+        THashMap<Edge, Integer> expected = new THashMap<Edge, Integer>();
+        TIntIntHashMap vertices = new TIntIntHashMap();
+
+        THashSet<Triangle> triangles = new Forward().list(edges);
+
+        for (Triangle t : triangles) {
+            Edge[] sides = {new Edge(t.v, t.u), new Edge(t.u, t.w), new Edge(t.v, t.w)};
+
+            for (Edge side : sides) {
+                Integer count = expected.get(side);
+
+                expected.put(side, count == null ? 1 : count + 1);
+            }
+
+            vertices.adjustOrPutValue(t.v, 1, 1);
+            vertices.adjustOrPutValue(t.u, 1, 1);
+            vertices.adjustOrPutValue(t.w, 1, 1);
+        }
+
+        TriangleSupport support = counter.count(edges);
+
+        CompressedGraph o = support.graph;
+
+        assertEquals(triangles.size(), support.total);
+        assertEquals(edges.size(), o.volume());
+
+        for (int u = 0; u < o.size(); u++) {
+            for (int p = o.offset(u); p < o.offset(u) + o.degree(u); p++) {
+                int v = o.neighbor(p);
+
+                Integer count = expected.get(new Edge(Math.min(o.id(u), o.id(v)), Math.max(o.id(u), o.id(v))));
+
+                assertEquals(count == null ? 0 : count.intValue(), support.edges[p]);
+            }
+
+            assertEquals(vertices.get(o.id(u)), support.vertices[u]);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.tkb.delab.unit;
 
 import com.tkb.delab.model.Edge;
 import gnu.trove.set.hash.THashSet;
+import java.util.Random;
 
 /**
  * A ground truth graph definition given the list of the edges and the number of
@@ -32,6 +33,31 @@ public class GraphDefinition {
         return numberOfTriangles;
     }
 
+    /**
+     * A method creating a random edge set, each edge sorted by vertex.
+     *
+     * @param n the number of vertices.
+     * @param m the number of edges.
+     * @param seed the random seed.
+     * @return the edge set.
+     */
+    public static THashSet<Edge> random(int n, int m, long seed) {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        Random random = new Random(seed);
+
+        while (edges.size() < m) {
+            int v = random.nextInt(n);
+            int u = random.nextInt(n);
+
+            if (v != u) {
+                edges.add(new Edge(Math.min(v, u), Math.max(v, u)));
+            }
+        }
+
+        return edges;
+    }
+
     @Override
     public String toString() {
         return edges.toString();
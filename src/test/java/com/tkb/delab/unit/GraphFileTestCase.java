@@ -0,0 +1,192 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.ForwardCounter;
+import com.tkb.delab.alg.NodeIterator;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.TriangleIndexer;
+import com.tkb.delab.io.GraphFile;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.LambdaBounds;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A graph file test case checking the graphs written in binary form are loaded
+ * back with the same structure and triangles.
+ *
+ * @author Akis Papadopoulos
+ */
+public class GraphFileTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMapping() throws IOException {
+        THashSet<Edge> edges = GraphDefinition.random(300, 3000, 5L);
+
+        CompressedGraph graph = new CompressedGraph(edges);
+
+        THashSet<Triangle> triangles = new CompactForward().list(graph);
+
+        for (boolean delta : new boolean[]{false, true}) {
+            File file = folder.newFile("graph-" + delta + ".bin");
+
+            GraphFile.write(graph, file, delta);
+
+            CompressedGraph loaded = GraphFile.map(file);
+
+            same(graph, loaded);
+
+            assertEquals(triangles, new CompactForward().list(loaded));
+            assertEquals(triangles, new Forward().list(loaded));
+            assertEquals(triangles, new NodeIterator().list(loaded));
+            assertEquals(triangles.size(), new ForwardCounter().count(loaded).total);
+        }
+
+        // Checking delta encoding takes less space on dense ids
+        long plain = new File(folder.getRoot(), "graph-false.bin").length();
+        long delta = new File(folder.getRoot(), "graph-true.bin").length();
+
+        assertTrue("Delta encoded file of " + delta + " bytes should be smaller than " + plain + " bytes.", delta < plain);
+    }
+
+    @Test
+    public void testStreams() throws IOException {
+        CompressedGraph graph = new CompressedGraph(GraphDefinition.random(100, 700, 9L));
+
+        for (boolean delta : new boolean[]{false, true}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            GraphFile.write(graph, new DataOutputStream(bytes), delta);
+
+            same(graph, GraphFile.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }
+
+        // Checking an empty graph
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GraphFile.write(new CompressedGraph(new int[0]), new DataOutputStream(bytes), false);
+
+        assertEquals(0, GraphFile.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).size());
+    }
+
+    @Test
+    public void testEstimation() throws IOException {
+        THashSet<Edge> edges = GraphDefinition.random(60, 500, 13L);
+
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(new CompressedGraph(edges), file, false);
+
+        // Indexing the triangles of the mapped graph as they are found
+        TriangleIndexer indexer = new TriangleIndexer();
+
+        new CompactForward().list(GraphFile.map(file), indexer);
+
+        EdgeIndex index = indexer.getIndex();
+
+        EdgeIndex expected = new EdgeIndex(new Forward().list(edges));
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected.triangles(), index.triangles());
+
+        PeelingEstimator estimator = new PeelingEstimator();
+
+        LambdaBounds bounds = estimator.estimate(index);
+        LambdaBounds reference = estimator.estimate(expected);
+
+        for (int e = 0; e < expected.size(); e++) {
+            long key = expected.key(e);
+
+            int f = index.id(EdgeKey.v(key), EdgeKey.u(key));
+
+            assertEquals(reference.lower[e], bounds.lower[f]);
+            assertEquals(reference.upper[e], bounds.upper[f]);
+        }
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        File file = folder.newFile("graph.bin");
+
+        GraphFile.write(new CompressedGraph(GraphDefinition.random(20, 50, 1L)), file, false);
+
+        // Truncating the neighbors
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        try {
+            raf.setLength(raf.length() - 4);
+        } finally {
+            raf.close();
+        }
+
+        try {
+            GraphFile.map(file);
+
+            fail("Truncated file should not be loaded.");
+        } catch (IOException exc) {
+        }
+
+        // Breaking the magic number
+        raf = new RandomAccessFile(file, "rw");
+
+        try {
+            raf.writeInt(0);
+        } finally {
+            raf.close();
+        }
+
+        try {
+            GraphFile.map(file);
+
+            fail("File without magic number should not be loaded.");
+        } catch (IOException exc) {
+        }
+    }
+
+    /**
+     * A method asserting two graphs hold the same structure.
+     *
+     * @param expected the expected graph.
+     * @param actual the actual graph.
+     */
+    private static void same(CompressedGraph expected, CompressedGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.volume(), actual.volume());
+
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.id(v), actual.id(v));
+            assertEquals(expected.offset(v), actual.offset(v));
+            assertEquals(expected.degree(v), actual.degree(v));
+        }
+
+        for (int p = 0; p < expected.volume(); p++) {
+            assertEquals(expected.neighbor(p), actual.neighbor(p));
+        }
+
+        for (int v = 0; v < expected.size(); v++) {
+            for (int u = 0; u < expected.size(); u += 7) {
+                assertEquals(expected.contains(v, u), actual.contains(v, u));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.EdgeSink;
+import com.tkb.delab.alg.ErdosRenyiGenerator;
+import com.tkb.delab.alg.GraphGenerator;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.PlantedGenerator;
+import com.tkb.delab.alg.PowerLawGenerator;
+import com.tkb.delab.alg.RmatGenerator;
+import com.tkb.delab.alg.TriangleIndexer;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.EdgeIndex;
+import com.tkb.delab.model.LambdaBounds;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.hash.TLongHashSet;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A graph generator test case checking the generated graphs are reproducible,
+ * of the expected size and, given planted cliques, of the expected density.
+ *
+ * @author Akis Papadopoulos
+ */
+public class GraphGeneratorTestCase {
+
+    @Test
+    public void testErdosRenyi() {
+        GraphGenerator generator = new ErdosRenyiGenerator(2000, 0.01, 7L);
+
+        int[] ends = generate(generator, 4);
+
+        // Checking the pairs are distinct and no loops are given
+        TLongHashSet pairs = new TLongHashSet();
+
+        for (int k = 0; k < ends.length; k += 2) {
+            assertTrue(ends[k] < ends[k + 1] && ends[k] >= 0 && ends[k + 1] < 2000);
+            assertTrue(pairs.add(((long) ends[k] << 32) | ends[k + 1]));
+        }
+
+        // Expecting about 19990 edges
+        assertTrue("Unexpected number of edges " + ends.length / 2, Math.abs(ends.length / 2 - 19990) < 1000);
+
+        assertArrayEquals(ends, generate(new ErdosRenyiGenerator(2000, 0.01, 7L), 4));
+    }
+
+    @Test
+    public void testComplete() {
+        int[] ends = generate(new ErdosRenyiGenerator(30, 1.0, 1L), 7);
+
+        assertEquals(30 * 29, ends.length);
+    }
+
+    @Test
+    public void testRmat() {
+        GraphGenerator generator = new RmatGenerator(10, 5000, 0.57, 0.19, 0.19, 3L);
+
+        int[] ends = generate(generator, 3);
+
+        assertEquals(1024, generator.vertices());
+        assertEquals(10000, ends.length);
+
+        for (int v : ends) {
+            assertTrue(v >= 0 && v < 1024);
+        }
+
+        assertArrayEquals(ends, generate(new RmatGenerator(10, 5000, 0.57, 0.19, 0.19, 3L), 3));
+    }
+
+    @Test
+    public void testPowerLaw() {
+        GraphGenerator generator = new PowerLawGenerator(1000, 8000, 2.5, 5L);
+
+        int[] ends = generate(generator, 2);
+
+        assertEquals(16000, ends.length);
+
+        int[] degrees = new int[1000];
+
+        for (int k = 0; k < ends.length; k += 2) {
+            assertTrue(ends[k] != ends[k + 1]);
+
+            degrees[ends[k]]++;
+            degrees[ends[k + 1]]++;
+        }
+
+        // Expecting the first vertices to be the hubs
+        assertTrue("Vertex 0 should be a hub, given degree " + degrees[0], degrees[0] > 10 * 16);
+    }
+
+    @Test
+    public void testPlanted() {
+        int[] sizes = {6, 10, 15};
+
+        PlantedGenerator generator = new PlantedGenerator(new ErdosRenyiGenerator(500, 0.01, 9L), sizes, 9L);
+
+        TriangleIndexer indexer = new TriangleIndexer();
+
+        new CompactForward().list(new CompressedGraph(generate(generator, 3)), indexer);
+
+        EdgeIndex index = indexer.getIndex();
+
+        LambdaBounds bounds = new PeelingEstimator().estimate(index);
+
+        // Checking the edges of each clique lie within its truss
+        TLongHashSet vertices = new TLongHashSet();
+
+        for (int k = 0; k < sizes.length; k++) {
+            int[] clique = generator.clique(k);
+
+            assertEquals(sizes[k], clique.length);
+
+            for (int i = 0; i < clique.length; i++) {
+                assertTrue("Cliques should be disjoint.", vertices.add(clique[i]));
+
+                for (int j = i + 1; j < clique.length; j++) {
+                    int e = index.id(clique[i], clique[j]);
+
+                    assertTrue(e >= 0);
+                    assertTrue(bounds.upper[e] >= sizes[k] - 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * A method generating all the chunks of a graph.
+     *
+     * @param generator the graph generator.
+     * @param chunks the number of chunks.
+     * @return the edge endpoints, two per edge.
+     */
+    private static int[] generate(GraphGenerator generator, int chunks) {
+        final TIntArrayList ends = new TIntArrayList();
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            generator.generate(chunk, chunks, new EdgeSink() {
+                @Override
+                public void edge(int v, int u) {
+                    ends.add(v);
+                    ends.add(u);
+                }
+            });
+        }
+
+        return ends.toArray();
+    }
+}
@@ -0,0 +1,93 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.HierarchyBuilder;
+import com.tkb.delab.alg.HierarchySink;
+import com.tkb.delab.model.DisjointSet;
+import com.tkb.delab.model.EdgeKey;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A subgraph hierarchy test case checking the disjoint set forest and the
+ * nested subgraphs found by the hierarchy builder.
+ *
+ * @author Akis Papadopoulos
+ */
+public class HierarchyTestCase {
+
+    @Test
+    public void testDisjointSet() {
+        DisjointSet set = new DisjointSet(6);
+
+        set.union(0, 1);
+        set.union(2, 3);
+        set.union(1, 3);
+
+        assertEquals(set.find(0), set.find(2));
+        assertTrue(set.find(0) != set.find(4));
+        assertTrue(set.find(4) != set.find(5));
+    }
+
+    @Test
+    public void testHierarchy() {
+        final TLongIntHashMap edges = new TLongIntHashMap();
+        final TIntIntHashMap parents = new TIntIntHashMap();
+        final TIntIntHashMap levels = new TIntIntHashMap();
+
+        HierarchyBuilder builder = new HierarchyBuilder(new HierarchySink() {
+            @Override
+            public void edge(int v, int u, int lambda, int node) {
+                edges.put(EdgeKey.of(v, u), node);
+            }
+
+            @Override
+            public void node(int node, int lambda, int parent) {
+                levels.put(node, lambda);
+                parents.put(node, parent);
+            }
+        });
+
+        // Adding a clique at level 3, a triangle at level 2 and the bridges at level 1
+        builder.level(3, new int[]{1, 2, 1, 3, 1, 4, 2, 3, 2, 4, 3, 4}, 12);
+        builder.level(2, new int[]{5, 6, 6, 7, 5, 7}, 6);
+        builder.level(1, new int[]{4, 5, 7, 8}, 4);
+        builder.finish();
+
+        assertEquals(3, parents.size());
+
+        int clique = edges.get(EdgeKey.of(1, 2));
+        int triangle = edges.get(EdgeKey.of(5, 6));
+        int top = edges.get(EdgeKey.of(4, 5));
+
+        assertEquals(clique, edges.get(EdgeKey.of(3, 4)));
+        assertEquals(triangle, edges.get(EdgeKey.of(5, 7)));
+        assertEquals(top, edges.get(EdgeKey.of(7, 8)));
+
+        assertEquals(3, levels.get(clique));
+        assertEquals(2, levels.get(triangle));
+        assertEquals(1, levels.get(top));
+
+        assertEquals(top, parents.get(clique));
+        assertEquals(top, parents.get(triangle));
+        assertEquals(-1, parents.get(top));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreasingLevels() {
+        HierarchyBuilder builder = new HierarchyBuilder(new HierarchySink() {
+            @Override
+            public void edge(int v, int u, int lambda, int node) {
+            }
+
+            @Override
+            public void node(int node, int lambda, int parent) {
+            }
+        });
+
+        builder.level(1, new int[]{1, 2}, 2);
+        builder.level(2, new int[]{2, 3}, 2);
+    }
+}
@@ -0,0 +1,175 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.run.EdgeUndirection;
+import com.tkb.delab.run.LocalEstimation;
+import com.tkb.delab.run.LocalPipeline;
+import com.tkb.delab.run.SubgraphEnumeration;
+import com.tkb.delab.run.Triangulation;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.util.ToolRunner;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A local pipeline test case on a clique of 5 vertices sharing a vertex with a
+ * single triangle, given as a directed graph, checking the results are written
+ * in the same form and with the same values the map reduce job entries give,
+ * run by the local runner.
+ *
+ * @author Akis Papadopoulos
+ */
+public class LocalPipelineTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File input;
+
+    private Configuration conf;
+
+    @Before
+    public void init() throws IOException {
+        input = folder.newFile("graph.txt");
+
+        PrintWriter writer = new PrintWriter(new FileWriter(input));
+
+        try {
+            // Writing each edge in both directions
+            for (int v = 1; v <= 5; v++) {
+                for (int u = v + 1; u <= 5; u++) {
+                    writer.println(v + "\t" + u);
+                    writer.println(u + "\t" + v);
+                }
+            }
+
+            writer.println("5\t6");
+            writer.println("7\t5");
+            writer.println("6\t7");
+        } finally {
+            writer.close();
+        }
+
+        conf = new Configuration();
+
+        conf.set("fs.default.name", "file:///");
+        conf.set("mapred.job.tracker", "local");
+        conf.set("hadoop.tmp.dir", new File(folder.getRoot(), "tmp").getPath());
+    }
+
+    @Test
+    public void testPipeline() throws Exception {
+        String local = path("local");
+        String mr = path("mr");
+
+        assertEquals(0, ToolRunner.run(conf, new LocalPipeline(), new String[]{input.getPath(), "\t", "2", local}));
+
+        // Running the matching map reduce job entries one after the other
+        assertEquals(0, ToolRunner.run(conf, new EdgeUndirection(), new String[]{input.getPath(), "\t", "3", "1", mr + "/undirected"}));
+        assertEquals(0, ToolRunner.run(conf, new Triangulation(), new String[]{mr + "/undirected", ",", "3", "true", "1", mr + "/triangles"}));
+        assertEquals(0, ToolRunner.run(conf, new LocalEstimation(), new String[]{mr + "/undirected", ",", "3", "true", "1", mr + "/estimation"}));
+        assertEquals(0, ToolRunner.run(conf, new SubgraphEnumeration(), new String[]{mr + "/estimation/lambda", "1", mr + "/hierarchy"}));
+
+        Set<String> undirected = lines(new File(local, "undirected"), "part-");
+
+        assertEquals(13, undirected.size());
+        assertEquals(lines(new File(mr, "undirected"), "part-"), undirected);
+
+        Set<String> triangles = lines(new File(local, "triangles"), "part-");
+
+        assertEquals(11, triangles.size());
+        assertEquals(lines(new File(mr, "triangles"), "part-"), triangles);
+
+        // Checking the clique edges have lambda 3 and the triangle edges lambda 1
+        Set<String> lambda = lines(new File(local, "lambda"), "part-");
+
+        assertEquals(33, lambda.size());
+        assertEquals(lines(new File(mr, "estimation/lambda"), "part-"), lambda);
+
+        for (String line : lambda) {
+            String[] tokens = line.split(",");
+
+            String value = Integer.parseInt(tokens[0]) == 5 ? "1" : "3";
+
+            assertEquals(7, tokens.length);
+            assertEquals(value, tokens[5]);
+            assertEquals(value, tokens[6]);
+        }
+
+        // Checking the clique nested in the subgraph of the triangle, each forming a single node
+        Set<String> edges = lines(new File(local, "hierarchy"), "edges-");
+        Set<String> tree = lines(new File(local, "hierarchy"), "tree-");
+
+        assertEquals(13, edges.size());
+        assertEquals(lines(new File(mr, "hierarchy"), "edges-"), edges);
+
+        assertEquals(2, tree.size());
+        assertEquals(lines(new File(mr, "hierarchy"), "tree-"), tree);
+    }
+
+    @Test
+    public void testExistingOutput() throws Exception {
+        File output = folder.newFolder("existing");
+        File file = new File(output, "keep");
+
+        assertTrue(file.createNewFile());
+
+        // Checking the entry exits abnormally leaving the output as is
+        assertEquals(1, ToolRunner.run(conf, new LocalPipeline(), new String[]{input.getPath(), "\t", "2", output.getPath()}));
+        assertTrue(file.exists());
+    }
+
+    /**
+     * A method returning a path within the temporary folder.
+     *
+     * @param name the name of the path.
+     * @return the path.
+     */
+    private String path(String name) {
+        return new File(folder.getRoot(), name).getPath();
+    }
+
+    /**
+     * A method reading the lines of all the files with the given prefix
+     * within a folder.
+     *
+     * @param dir the folder.
+     * @param prefix the prefix of the files.
+     * @return the lines.
+     * @throws IOException if a file can't be read.
+     */
+    private static Set<String> lines(File dir, String prefix) throws IOException {
+        Set<String> lines = new HashSet<String>();
+
+        for (File file : dir.listFiles()) {
+            if (!file.getName().startsWith(prefix)) {
+                continue;
+            }
+
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+
+            try {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        return lines;
+    }
+}
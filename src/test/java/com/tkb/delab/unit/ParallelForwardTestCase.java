@@ -0,0 +1,141 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.ParallelForward;
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.TriangleSink;
+import com.tkb.delab.alg.Triangulator;
+import com.tkb.delab.model.Edge;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A parallel forward triangulation test case on graphs of various types.
+ *
+ * @author Akis Papadopoulos
+ */
+public class ParallelForwardTestCase extends TriangulationTestCase {
+
+    private final Triangulator triangulator = new ParallelForward(4);
+
+    @Test
+    public void testTrivialGraph() {
+        THashSet<Edge> edges = trivial.getEdges();
+        int size = trivial.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + trivial + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testDisconnectedGraph() {
+        THashSet<Edge> edges = disconnected.getEdges();
+        int size = disconnected.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + disconnected + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testDirectedGraph() {
+        THashSet<Edge> edges = directed.getEdges();
+        int size = directed.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + directed + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testUndirectedGraph() {
+        THashSet<Edge> edges = undirected.getEdges();
+        int size = undirected.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + undirected + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testCycleGraph() {
+        THashSet<Edge> edges = cycle.getEdges();
+        int size = cycle.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + cycle + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testWheelGraph() {
+        THashSet<Edge> edges = wheel.getEdges();
+        int size = wheel.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + wheel + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testStarGraph() {
+        THashSet<Edge> edges = star.getEdges();
+        int size = star.getNumberOfTriangles();
+
+        THashSet triangles = triangulator.list(edges);
+
+        assertTrue("Graph " + star + " should have " + size + " triangles.", triangles.size() == size);
+    }
+
+    @Test
+    public void testSkewedGraph() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a dense clique attached to a sparse random periphery
+        for (int v = 0; v < 80; v++) {
+            for (int u = v + 1; u < 80; u++) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        Random random = new Random(11L);
+
+        for (int i = 0; i < 2000; i++) {
+            Edge edge = new Edge(random.nextInt(1000), 80 + random.nextInt(920));
+
+            if (edge.v != edge.u) {
+                edge.sort();
+                edges.add(edge);
+            }
+        }
+
+        assertEquals(new Forward().list(edges), triangulator.list(edges));
+    }
+
+    @Test(expected = IllegalStateException.class, timeout = 10000)
+    public void testFailingSink() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a clique of more triangles than the chunks a queue may hold
+        for (int v = 0; v < 120; v++) {
+            for (int u = v + 1; u < 120; u++) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        // Expecting the failure of the sink to end the listing
+        triangulator.list(edges, new TriangleSink() {
+            private int count = 0;
+
+            @Override
+            public void triangle(int v, int u, int w) {
+                if (++count > 10) {
+                    throw new IllegalStateException("Sink failed");
+                }
+            }
+        });
+    }
+}
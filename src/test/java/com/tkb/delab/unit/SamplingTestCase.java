@@ -0,0 +1,61 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.model.EdgeKey;
+import com.tkb.delab.model.TriangleEstimate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * An edge sampling test case checking the draws of the edges and the scaled
+ * triangle estimates.
+ *
+ * @author Akis Papadopoulos
+ */
+public class SamplingTestCase {
+
+    @Test
+    public void testUniformDraws() {
+        // Checking the draw is the same no matter the order of the vertices
+        assertEquals(EdgeKey.uniform(EdgeKey.of(3, 8), 11L), EdgeKey.uniform(EdgeKey.of(8, 3), 11L), 0.0);
+
+        // Checking about a tenth of the edges are kept
+        int kept = 0;
+
+        for (int v = 0; v < 200; v++) {
+            for (int u = v + 1; u < 200; u++) {
+                double x = EdgeKey.uniform(EdgeKey.of(v, u), 7L);
+
+                assertTrue(x >= 0 && x < 1);
+
+                if (x < 0.1) {
+                    kept++;
+                }
+            }
+        }
+
+        assertEquals(0.1, kept / 19900.0, 0.01);
+    }
+
+    @Test
+    public void testFullSample() {
+        TriangleEstimate estimate = new TriangleEstimate(120, 40, 1);
+
+        assertEquals(120, estimate.estimate, 1e-9);
+        assertEquals(120, estimate.lower, 1e-9);
+        assertEquals(120, estimate.upper, 1e-9);
+    }
+
+    @Test
+    public void testScaledSample() {
+        TriangleEstimate estimate = new TriangleEstimate(100, 0, 0.5);
+
+        // Scaling by 1 / p^3 with variance 800 (8 - 1)
+        assertEquals(800, estimate.estimate, 1e-9);
+        assertEquals(800 - 1.96 * Math.sqrt(5600), estimate.lower, 1e-9);
+        assertEquals(800 + 1.96 * Math.sqrt(5600), estimate.upper, 1e-9);
+
+        // Checking the shared pairs widen the bounds
+        assertTrue(new TriangleEstimate(100, 50, 0.5).upper > estimate.upper);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.NodeIterator;
+import com.tkb.delab.alg.ReservoirEstimator;
+import com.tkb.delab.io.EdgeReader;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A streaming test case checking the edge reader and the reservoir estimates
+ * against the exact triangle counts of a random edge stream.
+ *
+ * @author Akis Papadopoulos
+ */
+public class StreamingTestCase {
+
+    private List<Edge> stream;
+
+    private THashSet<Triangle> triangles;
+
+    @Before
+    public void init() {
+        Random random = new Random(13);
+
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        stream = new ArrayList<Edge>();
+
+        while (edges.size() < 2000) {
+            int v = random.nextInt(100);
+            int u = random.nextInt(100);
+
+            if (v < u && edges.add(new Edge(v, u))) {
+                stream.add(new Edge(v, u));
+            }
+        }
+
+        triangles = new NodeIterator().list(edges);
+    }
+
+    @Test
+    public void testEdgeReader() throws IOException {
+        EdgeReader reader = new EdgeReader(new StringReader("1\t2\n3\t3\nx\t4\n5\t6\t7\n\n8\t9\n"), "\t");
+
+        Edge edge = new Edge(0, 0);
+
+        assertTrue(reader.next(edge));
+        assertEquals(new Edge(1, 2), edge);
+
+        assertTrue(reader.next(edge));
+        assertEquals(new Edge(8, 9), edge);
+
+        assertFalse(reader.next(edge));
+
+        reader.close();
+    }
+
+    @Test
+    public void testFullReservoir() {
+        ReservoirEstimator estimator = new ReservoirEstimator(stream.size(), true, 1L);
+
+        for (Edge e : stream) {
+            estimator.add(e.v, e.u);
+        }
+
+        assertEquals(triangles.size(), estimator.global(), 1e-9);
+
+        // Counting the exact triangles of a vertex
+        int count = 0;
+
+        for (Triangle t : triangles) {
+            if (t.v == 7 || t.u == 7 || t.w == 7) {
+                count++;
+            }
+        }
+
+        assertEquals(count, estimator.local().get(7), 1e-9);
+    }
+
+    @Test
+    public void testUnbiased() {
+        double sum = 0;
+
+        int runs = 50;
+
+        for (int seed = 0; seed < runs; seed++) {
+            ReservoirEstimator estimator = new ReservoirEstimator(500, false, seed);
+
+            for (Edge e : stream) {
+                estimator.add(e.v, e.u);
+            }
+
+            assertEquals(stream.size(), estimator.time());
+
+            sum += estimator.global();
+        }
+
+        assertEquals(triangles.size(), sum / runs, 0.05 * triangles.size());
+    }
+}
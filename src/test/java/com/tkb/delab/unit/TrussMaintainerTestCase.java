@@ -0,0 +1,151 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.TrussMaintainer;
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A truss maintainer test case checking the maintained lambda values against
+ * the exact values recomputed from scratch after each update.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TrussMaintainerTestCase {
+
+    @Test
+    public void testClique() {
+        TrussMaintainer truss = new TrussMaintainer();
+
+        // Building a clique of 5 vertices edge by edge
+        for (int v = 1; v <= 5; v++) {
+            for (int u = v + 1; u <= 5; u++) {
+                assertTrue(truss.insert(v, u));
+            }
+        }
+
+        assertFalse(truss.insert(2, 1));
+        assertEquals(10, truss.size());
+        assertEquals(3, truss.lambda(1, 2));
+        assertEquals(3, truss.support(1, 2));
+
+        // Breaking the clique into a clique of 4 vertices and a vertex
+        for (int u = 1; u <= 3; u++) {
+            assertTrue(truss.delete(5, u));
+        }
+
+        assertEquals(2, truss.lambda(1, 2));
+        assertEquals(0, truss.lambda(4, 5));
+        assertEquals(-1, truss.lambda(1, 5));
+    }
+
+    @Test
+    public void testUpdates() {
+        Random random = new Random(17);
+
+        TrussMaintainer truss = new TrussMaintainer();
+
+        THashSet<Edge> edges = new THashSet<Edge>();
+        List<Edge> list = new ArrayList<Edge>();
+
+        // Bootstrapping from the exact values of a random graph
+        while (edges.size() < 600) {
+            int v = random.nextInt(40);
+            int u = random.nextInt(40);
+
+            if (v < u && edges.add(new Edge(v, u))) {
+                list.add(new Edge(v, u));
+            }
+        }
+
+        THashMap<Edge, AugmentedRange> lambdas = exact(edges);
+
+        for (Edge e : edges) {
+            truss.load(e.v, e.u, lambdas.containsKey(e) ? lambdas.get(e).upper : 0);
+        }
+
+        // Applying random insertions and deletions
+        for (int step = 0; step < 300; step++) {
+            if (random.nextBoolean()) {
+                int v = random.nextInt(40);
+                int u = random.nextInt(40);
+
+                if (v < u && edges.add(new Edge(v, u))) {
+                    list.add(new Edge(v, u));
+
+                    assertTrue(truss.insert(v, u));
+                }
+            } else {
+                Edge e = list.remove(random.nextInt(list.size()));
+
+                edges.remove(e);
+
+                assertTrue(truss.delete(e.v, e.u));
+            }
+
+            lambdas = exact(edges);
+
+            for (Edge e : edges) {
+                int expected = lambdas.containsKey(e) ? lambdas.get(e).upper : 0;
+
+                assertEquals(expected, truss.lambda(e.v, e.u));
+            }
+        }
+
+        assertEquals(edges.size(), truss.size());
+    }
+
+    @Test
+    public void testSettle() {
+        Random random = new Random(23);
+
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        while (edges.size() < 500) {
+            int v = random.nextInt(35);
+            int u = random.nextInt(35);
+
+            if (v < u) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        THashMap<Edge, AugmentedRange> lambdas = exact(edges);
+
+        // Loading loose upper bounds as given by an unconverged estimation
+        TrussMaintainer truss = new TrussMaintainer();
+
+        for (Edge e : edges) {
+            truss.load(e.v, e.u, lambdas.containsKey(e) ? lambdas.get(e).upper + random.nextInt(4) : 0);
+        }
+
+        assertTrue(truss.settle() > 0);
+
+        for (Edge e : edges) {
+            assertEquals(lambdas.containsKey(e) ? lambdas.get(e).upper : 0, truss.lambda(e.v, e.u));
+        }
+
+        // Checking exact values are kept as they are
+        assertEquals(0, truss.settle());
+    }
+
+    /**
+     * A method computing the exact lambda values from scratch.
+     *
+     * @param edges edge set graph induced by.
+     * @return the lambda values of the edges within a triangle.
+     */
+    private THashMap<Edge, AugmentedRange> exact(THashSet<Edge> edges) {
+        return new PeelingEstimator().estimate(new CompactForward().list(edges));
+    }
+}
@@ -0,0 +1,88 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.PeelingEstimator;
+import com.tkb.delab.alg.TrussPruner;
+import com.tkb.delab.model.AugmentedRange;
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A truss pruner test case checking the remaining edges form the k-truss of
+ * the graph.
+ *
+ * @author Akis Papadopoulos
+ */
+public class TrussPrunerTestCase {
+
+    @Test
+    public void testTails() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a clique of 5 vertices sharing a vertex with a triangle
+        for (int v = 1; v <= 5; v++) {
+            for (int u = v + 1; u <= 5; u++) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        edges.add(new Edge(5, 6));
+        edges.add(new Edge(6, 7));
+        edges.add(new Edge(5, 7));
+
+        // Attaching a tail, a square and a separate edge
+        edges.add(new Edge(7, 8));
+        edges.add(new Edge(8, 9));
+        edges.add(new Edge(1, 10));
+        edges.add(new Edge(10, 11));
+        edges.add(new Edge(11, 12));
+        edges.add(new Edge(12, 1));
+        edges.add(new Edge(20, 21));
+
+        assertEquals(13, new TrussPruner(2).prune(edges).size());
+        assertEquals(13, new TrussPruner(3).prune(edges).size());
+        assertEquals(10, new TrussPruner(4).prune(edges).size());
+        assertEquals(10, new TrussPruner(5).prune(edges).size());
+        assertTrue(new TrussPruner(6).prune(edges).isEmpty());
+    }
+
+    @Test
+    public void testTruss() {
+        Random random = new Random(7);
+
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        while (edges.size() < 1500) {
+            int v = random.nextInt(120);
+            int u = random.nextInt(120);
+
+            if (v < u) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        // Peeling gives the exact lambda, the truss number minus two
+        THashMap<Edge, AugmentedRange> lambdas = new PeelingEstimator().estimate(new CompactForward().list(edges));
+
+        for (int k = 3; k <= 6; k++) {
+            THashSet<Edge> truss = new TrussPruner(k).prune(edges);
+
+            int expected = 0;
+
+            for (Edge e : lambdas.keySet()) {
+                if (lambdas.get(e).upper >= k - 2) {
+                    assertTrue(truss.contains(e));
+
+                    expected++;
+                }
+            }
+
+            assertEquals(expected, truss.size());
+        }
+    }
+}
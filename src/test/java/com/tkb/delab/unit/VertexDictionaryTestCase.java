@@ -0,0 +1,101 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import com.tkb.delab.model.VertexDictionary;
+import gnu.trove.set.hash.THashSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * A vertex dictionary test case checking the compaction of vertex ids into
+ * dense indices and their restoration.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexDictionaryTestCase {
+
+    @Test
+    public void testOrder() {
+        long[] ids = {9000000000L, 5L, 77L, 12L};
+        int[] degrees = {2, 2, 3, 1};
+
+        // Ordering the vertices by id
+        VertexDictionary dictionary = VertexDictionary.of(ids, degrees, false);
+
+        assertEquals(4, dictionary.size());
+        assertEquals(5L, dictionary.id(0));
+        assertEquals(12L, dictionary.id(1));
+        assertEquals(77L, dictionary.id(2));
+        assertEquals(9000000000L, dictionary.id(3));
+        assertEquals(3, dictionary.index(9000000000L));
+        assertEquals(-1, dictionary.index(13L));
+
+        // Ordering the vertices by degree, ties by id
+        dictionary = VertexDictionary.of(ids, degrees, true);
+
+        assertEquals(77L, dictionary.id(0));
+        assertEquals(5L, dictionary.id(1));
+        assertEquals(9000000000L, dictionary.id(2));
+        assertEquals(12L, dictionary.id(3));
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        VertexDictionary dictionary = new VertexDictionary(new long[]{42L, -7L, Long.MAX_VALUE});
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        dictionary.write(new DataOutputStream(bytes));
+
+        VertexDictionary copy = VertexDictionary.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(dictionary.size(), copy.size());
+
+        for (int i = 0; i < dictionary.size(); i++) {
+            assertEquals(dictionary.id(i), copy.id(i));
+            assertEquals(i, copy.index(dictionary.id(i)));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a random graph over sparse vertex ids
+        Random random = new Random(17);
+
+        for (int i = 0; i < 600; i++) {
+            int v = 1000 * random.nextInt(60);
+            int u = 1000 * random.nextInt(60);
+
+            if (v != u) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        THashSet<Triangle> triangles = new Forward().list(edges);
+
+        for (boolean degree : new boolean[]{false, true}) {
+            VertexDictionary dictionary = VertexDictionary.of(edges, degree);
+
+            THashSet<Edge> compacted = dictionary.compact(edges);
+
+            // Checking the indices are dense
+            for (Edge e : compacted) {
+                assertEquals(true, e.v >= 0 && e.v < dictionary.size());
+                assertEquals(true, e.u >= 0 && e.u < dictionary.size());
+            }
+
+            assertEquals(edges, dictionary.restore(compacted));
+            assertEquals(triangles, dictionary.restoreTriangles(new Forward().list(compacted)));
+        }
+    }
+}
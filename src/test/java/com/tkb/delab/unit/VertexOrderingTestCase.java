@@ -0,0 +1,179 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.CompactForward;
+import com.tkb.delab.alg.Forward;
+import com.tkb.delab.alg.ForwardCounter;
+import com.tkb.delab.alg.NodeIterator;
+import com.tkb.delab.alg.VertexOrdering;
+import com.tkb.delab.model.CompressedGraph;
+import com.tkb.delab.model.Edge;
+import com.tkb.delab.model.Triangle;
+import gnu.trove.set.hash.THashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A vertex ordering test case checking the reordered graphs keep the same
+ * structure and triangles.
+ *
+ * @author Akis Papadopoulos
+ */
+public class VertexOrderingTestCase {
+
+    private static final int[] MODES = {
+        VertexOrdering.NONE, VertexOrdering.DEGREE, VertexOrdering.BFS, VertexOrdering.COMMUNITY
+    };
+
+    @Test
+    public void testPermutation() {
+        CompressedGraph graph = new CompressedGraph(GraphDefinition.random(50, 300, 3L));
+
+        for (int mode : MODES) {
+            int[] order = new VertexOrdering(mode).order(graph);
+
+            // Checking each vertex appears exactly once
+            boolean[] seen = new boolean[graph.size()];
+
+            for (int v : order) {
+                assertTrue("Vertex " + v + " should appear once in mode " + mode + ".", !seen[v]);
+
+                seen[v] = true;
+            }
+
+            assertEquals(graph.size(), order.length);
+
+            CompressedGraph reordered = new VertexOrdering(mode).apply(graph);
+
+            assertEquals(graph.size(), reordered.size());
+            assertEquals(graph.volume(), reordered.volume());
+
+            // Checking each neighborhood is sorted and holds the same ids
+            for (int r = 0; r < reordered.size(); r++) {
+                int v = order[r];
+
+                assertEquals(graph.id(v), reordered.id(r));
+                assertEquals(graph.degree(v), reordered.degree(r));
+
+                for (int p = reordered.offset(r) + 1; p < reordered.offset(r) + reordered.degree(r); p++) {
+                    assertTrue(reordered.neighbor(p - 1) < reordered.neighbor(p));
+                }
+
+                for (int p = graph.offset(v); p < graph.offset(v) + graph.degree(v); p++) {
+                    int u = graph.neighbor(p);
+
+                    assertTrue(reordered.contains(r, position(order, u)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTriangles() {
+        THashSet<Edge> edges = GraphDefinition.random(80, 900, 11L);
+
+        THashSet<Triangle> triangles = new Forward().list(edges);
+
+        for (int mode : MODES) {
+            CompressedGraph reordered = new VertexOrdering(mode).apply(new CompressedGraph(edges));
+
+            assertEquals(triangles, new Forward().list(reordered));
+            assertEquals(triangles, new CompactForward().list(reordered));
+            assertEquals(triangles, new NodeIterator().list(reordered));
+            assertEquals(triangles.size(), new ForwardCounter().count(reordered).total);
+        }
+    }
+
+    @Test
+    public void testOrientation() {
+        CompressedGraph graph = new CompressedGraph(GraphDefinition.random(60, 400, 5L));
+
+        for (int mode : MODES) {
+            CompressedGraph reordered = new VertexOrdering(mode).apply(graph);
+
+            CompressedGraph o = reordered.orient();
+
+            assertEquals(reordered.size(), o.size());
+            assertEquals(reordered.volume(), 2 * o.volume());
+
+            // Checking the oriented graph keeps the order of the reordered graph
+            for (int r = 0; r < o.size(); r++) {
+                assertEquals(reordered.id(r), o.id(r));
+
+                for (int p = o.offset(r); p < o.offset(r) + o.degree(r); p++) {
+                    int u = o.neighbor(p);
+
+                    assertTrue(reordered.contains(r, u));
+                    assertTrue(reordered.degree(u) > reordered.degree(r)
+                            || (reordered.degree(u) == reordered.degree(r) && u < r));
+
+                    if (p > o.offset(r)) {
+                        assertTrue(o.neighbor(p - 1) < u);
+                    }
+                }
+            }
+        }
+
+        // Checking different orders give different oriented layouts
+        CompressedGraph none = new VertexOrdering(VertexOrdering.NONE).apply(graph).orient();
+        CompressedGraph bfs = new VertexOrdering(VertexOrdering.BFS).apply(graph).orient();
+
+        boolean moved = false;
+
+        for (int r = 0; r < none.size(); r++) {
+            moved |= none.id(r) != bfs.id(r);
+        }
+
+        assertTrue("The bfs order should be kept by the oriented graph.", moved);
+    }
+
+    @Test
+    public void testCommunities() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building two cliques with interleaved ids joined by a single edge
+        for (int v = 0; v < 12; v += 2) {
+            for (int u = v + 2; u < 12; u += 2) {
+                edges.add(new Edge(v, u));
+                edges.add(new Edge(v + 1, u + 1));
+            }
+        }
+
+        edges.add(new Edge(10, 11));
+
+        CompressedGraph graph = new CompressedGraph(edges);
+
+        int[] order = new VertexOrdering(VertexOrdering.COMMUNITY).order(graph);
+
+        // Checking the vertices of each clique are placed next to each other
+        for (int r = 1; r < order.length; r++) {
+            if (r != order.length / 2) {
+                assertEquals(graph.id(order[r - 1]) % 2, graph.id(order[r]) % 2);
+            }
+        }
+
+        // Checking the degree order is non increasing
+        order = new VertexOrdering(VertexOrdering.DEGREE).order(graph);
+
+        for (int r = 1; r < order.length; r++) {
+            assertTrue(graph.degree(order[r - 1]) >= graph.degree(order[r]));
+        }
+    }
+
+    /**
+     * A method finding the position of a vertex within an order.
+     *
+     * @param order the vertex indices in order.
+     * @param v the vertex index.
+     * @return the position of the vertex.
+     */
+    private static int position(int[] order, int v) {
+        for (int r = 0; r < order.length; r++) {
+            if (order[r] == v) {
+                return r;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.alg.NodeIterator;
+import com.tkb.delab.alg.WedgeSampler;
+import com.tkb.delab.model.Edge;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import gnu.trove.set.hash.THashSet;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * A wedge sampler test case checking the estimated clustering coefficients
+ * against the exact ones.
+ *
+ * @author Akis Papadopoulos
+ */
+public class WedgeSamplerTestCase {
+
+    @Test
+    public void testCliqueAndStar() {
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        // Building a clique of 5 vertices with a star attached to a vertex
+        for (int v = 1; v <= 5; v++) {
+            for (int u = v + 1; u <= 5; u++) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        for (int u = 11; u <= 14; u++) {
+            edges.add(new Edge(10, u));
+        }
+
+        edges.add(new Edge(5, 10));
+
+        TIntDoubleHashMap coefficients = new WedgeSampler(100, 3L).clustering(edges);
+
+        assertEquals(1.0, coefficients.get(1), 0.0);
+        assertEquals(0.6, coefficients.get(5), 0.0);
+        assertEquals(0.0, coefficients.get(10), 0.0);
+        assertEquals(6, coefficients.size());
+    }
+
+    @Test
+    public void testTransitivity() {
+        Random random = new Random(11);
+
+        THashSet<Edge> edges = new THashSet<Edge>();
+
+        while (edges.size() < 3000) {
+            int v = random.nextInt(150);
+            int u = random.nextInt(150);
+
+            if (v < u) {
+                edges.add(new Edge(v, u));
+            }
+        }
+
+        // Counting the exact triangles and wedges
+        long triangles = new NodeIterator().list(edges).size();
+
+        int[] degrees = new int[150];
+
+        for (Edge e : edges) {
+            degrees[e.v]++;
+            degrees[e.u]++;
+        }
+
+        long wedges = 0;
+
+        for (int d : degrees) {
+            wedges += (long) d * (d - 1) / 2;
+        }
+
+        double exact = 3.0 * triangles / wedges;
+
+        assertEquals(exact, new WedgeSampler(40000, 5L).transitivity(edges), 0.01);
+        assertEquals(triangles, new WedgeSampler(40000, 5L).triangles(edges), 0.03 * triangles);
+    }
+}
@@ -0,0 +1,133 @@
+package com.tkb.delab.unit;
+
+import com.tkb.delab.io.RankedVertex;
+import com.tkb.delab.io.Sequence;
+import com.tkb.delab.io.SupportRecordWritable;
+import com.tkb.delab.io.TaggedVertex;
+import java.io.IOException;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparator;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * A writable test case checking the records read back are equal to the ones
+ * written.
+ *
+ * @author Akis Papadopoulos
+ */
+public class WritableTestCase {
+
+    @Test
+    public void testSupportRecord() throws IOException {
+        SupportRecordWritable record = new SupportRecordWritable(2, 7, 1, 5, 9, 1);
+
+        SupportRecordWritable read = new SupportRecordWritable();
+
+        DataInputBuffer in = roundTrip(record);
+
+        read.readFields(in);
+
+        assertEquals(record, read);
+        assertEquals(24, in.getLength());
+        assertEquals("2,7,1,5,9,1", read.toString());
+    }
+
+    @Test
+    public void testSequenceReuse() throws IOException {
+        Sequence<IntWritable> read = new Sequence<IntWritable>();
+
+        // Reading a longer, a shorter and an empty sequence into the same one
+        read.readFields(roundTrip(new Sequence<IntWritable>(new IntWritable(1), new IntWritable(2), new IntWritable(3))));
+
+        assertEquals("1,2,3", read.toString());
+
+        read.readFields(roundTrip(new Sequence<IntWritable>(new IntWritable(4), new IntWritable(5))));
+
+        assertEquals("4,5", read.toString());
+
+        read.readFields(roundTrip(new Sequence<IntWritable>()));
+
+        assertEquals(0, read.size());
+    }
+
+    @Test
+    public void testSequenceUnknownClass() throws IOException {
+        DataOutputBuffer out = new DataOutputBuffer();
+
+        out.writeInt(1);
+        out.writeUTF("com.tkb.delab.io.Missing");
+        out.writeInt(1);
+
+        DataInputBuffer in = new DataInputBuffer();
+
+        in.reset(out.getData(), out.getLength());
+
+        try {
+            new Sequence<IntWritable>().readFields(in);
+
+            fail("Reading an unknown item class should fail.");
+        } catch (IOException exc) {
+        }
+    }
+
+    /**
+     * A method writing a record into a buffer, returning the buffer to read
+     * it back from.
+     *
+     * @param record the record.
+     * @return the input buffer holding the record.
+     * @throws IOException if the record can't be written.
+     */
+    @Test
+    public void testVertexComparators() throws IOException {
+        TaggedVertex[] tagged = {new TaggedVertex(-3L, 1), new TaggedVertex(9000000000L, 0), new TaggedVertex(9000000000L, 1), new TaggedVertex(7L, 0)};
+
+        WritableComparator comparator = WritableComparator.get(TaggedVertex.class);
+        WritableComparator grouping = new TaggedVertex.GroupingComparator();
+
+        // Checking the raw comparisons agree with the natural order
+        for (TaggedVertex a : tagged) {
+            for (TaggedVertex b : tagged) {
+                assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(compare(comparator, a, b)));
+                assertEquals(Long.signum(Long.valueOf(a.id).compareTo(b.id)), Integer.signum(compare(grouping, a, b)));
+            }
+        }
+
+        RankedVertex[] ranked = {new RankedVertex(-5, 12L), new RankedVertex(-5, -1L), new RankedVertex(0, 3L), new RankedVertex(-7, 9000000000L)};
+
+        comparator = WritableComparator.get(RankedVertex.class);
+
+        for (RankedVertex a : ranked) {
+            for (RankedVertex b : ranked) {
+                assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(compare(comparator, a, b)));
+            }
+        }
+    }
+
+    private static int compare(WritableComparator comparator, Writable a, Writable b) throws IOException {
+        DataOutputBuffer x = new DataOutputBuffer();
+        DataOutputBuffer y = new DataOutputBuffer();
+
+        a.write(x);
+        b.write(y);
+
+        return comparator.compare(x.getData(), 0, x.getLength(), y.getData(), 0, y.getLength());
+    }
+
+    private static DataInputBuffer roundTrip(Writable record) throws IOException {
+        DataOutputBuffer out = new DataOutputBuffer();
+
+        record.write(out);
+
+        DataInputBuffer in = new DataInputBuffer();
+
+        in.reset(out.getData(), out.getLength());
+
+        return in;
+    }
+}